@@ -0,0 +1,80 @@
+package com.flashodds.backend;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import com.flashodds.backend.domain.OddsRow;
+
+/**
+ * Deterministic boards for the benchmarks: four sports, six books and three two-way markets per
+ * event, so every row count has the same shape as a real board of that size.
+ */
+public final class BenchmarkBoards {
+
+    public static final Instant NOW = Instant.parse("2025-06-05T00:00:00Z");
+
+    private static final List<String> SPORTS = List.of("nfl", "nba", "nhl", "mlb");
+    private static final List<String> BOOKS = List.of("FlashBet", "NorthStar", "EdgePlay", "Book04", "Book05", "Book06");
+    private static final List<String> MARKETS = List.of("h2h", "spreads", "totals");
+
+    private BenchmarkBoards() {
+    }
+
+    public static List<OddsRow> board(int rows) {
+        var random = new SplittableRandom(42);
+        var board = new ArrayList<OddsRow>(rows);
+        for (int i = 0; i < rows; i++) {
+            int outcome = i % 2;
+            var market = MARKETS.get(i / 2 % MARKETS.size());
+            var book = BOOKS.get(i / 6 % BOOKS.size());
+            int event = i / 36;
+            var sport = SPORTS.get(event % SPORTS.size());
+            var line = switch (market) {
+                case "spreads" -> outcome == 0 ? -3.5 : 3.5;
+                case "totals" -> 47.5;
+                default -> null;
+            };
+            board.add(new OddsRow(
+                    sport + ":ev" + event + ":" + book.toLowerCase() + ":" + market + ":" + (outcome == 0 ? "home" : "away"),
+                    sport,
+                    "Home " + event + " vs Away " + event,
+                    market,
+                    line,
+                    random.nextBoolean() ? random.nextInt(-300, -100) : random.nextInt(100, 300),
+                    book,
+                    NOW.plusSeconds(3_600L + event * 60L),
+                    NOW,
+                    Map.of("league", sport.toUpperCase(), "source", "benchmark")));
+        }
+        return board;
+    }
+
+    /** The board a second later with about {@code ratio} of its rows repriced. */
+    public static List<OddsRow> moved(List<OddsRow> board, double ratio) {
+        var random = new SplittableRandom(7);
+        var later = NOW.plusSeconds(1);
+        var moved = new ArrayList<OddsRow>(board.size());
+        for (var row : board) {
+            if (random.nextDouble() < ratio) {
+                int price = row.price() == 100 ? -101 : row.price() - 1;
+                moved.add(new OddsRow(row.id(), row.sport(), row.event(), row.market(), row.line(), price,
+                        row.book(), row.startsAt(), later, row.extra()));
+            } else {
+                moved.add(row);
+            }
+        }
+        return moved;
+    }
+
+    public static Map<String, OddsRow> index(List<OddsRow> rows) {
+        var index = new HashMap<String, OddsRow>(rows.size() * 2);
+        for (var row : rows) {
+            index.put(row.id(), row);
+        }
+        return index;
+    }
+}
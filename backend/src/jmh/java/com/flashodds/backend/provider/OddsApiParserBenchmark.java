@@ -0,0 +1,88 @@
+package com.flashodds.backend.provider;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import com.flashodds.backend.domain.OddsRow;
+
+/**
+ * Mapping a The Odds API {@code /odds} response into rows: the payload is fed to
+ * {@link OddsApiStreamParser} in network-sized chunks, as {@link TheOddsApiProvider} receives it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OddsApiParserBenchmark {
+
+    private static final int CHUNK = 8 * 1024;
+    private static final int BOOKS = 6;
+
+    /** Events in the payload; each carries 6 books x 3 markets x 2 outcomes = 36 rows. */
+    @Param({"25", "250", "2500"})
+    int events;
+
+    private final DefaultDataBufferFactory buffers = DefaultDataBufferFactory.sharedInstance;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        var json = new StringBuilder("[");
+        for (int event = 0; event < events; event++) {
+            json.append(event == 0 ? "" : ",")
+                    .append("{\"id\":\"evt").append(event).append("\",\"sport_key\":\"basketball_nba\",")
+                    .append("\"commence_time\":\"2025-06-05T0").append(event % 10).append(":00:00Z\",")
+                    .append("\"home_team\":\"Home ").append(event).append("\",\"away_team\":\"Away ").append(event)
+                    .append("\",\"bookmakers\":[");
+            for (int book = 0; book < BOOKS; book++) {
+                var home = -110 - (event + book) % 40;
+                json.append(book == 0 ? "" : ",")
+                        .append("{\"key\":\"book").append(book).append("\",\"title\":\"Book ").append(book)
+                        .append("\",\"last_update\":\"2025-06-04T23:59:00Z\",\"markets\":[")
+                        .append("{\"key\":\"h2h\",\"outcomes\":[")
+                        .append("{\"name\":\"Home ").append(event).append("\",\"price\":").append(home).append("},")
+                        .append("{\"name\":\"Away ").append(event).append("\",\"price\":").append(-home - 20)
+                        .append("}]},{\"key\":\"spreads\",\"outcomes\":[")
+                        .append("{\"name\":\"Home ").append(event).append("\",\"price\":-110,\"point\":-3.5},")
+                        .append("{\"name\":\"Away ").append(event).append("\",\"price\":-110,\"point\":3.5}]},")
+                        .append("{\"key\":\"totals\",\"outcomes\":[")
+                        .append("{\"name\":\"Over\",\"price\":-105,\"point\":221.5},")
+                        .append("{\"name\":\"Under\",\"price\":-115,\"point\":221.5}]}]}");
+            }
+            json.append("]}");
+        }
+        payload = json.append("]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<OddsRow> mapEvents() {
+        var rows = new ArrayList<OddsRow>();
+        try (var parser = new OddsApiStreamParser("basketball_nba", Instant.now())) {
+            for (int offset = 0; offset < payload.length; offset += CHUNK) {
+                var length = Math.min(CHUNK, payload.length - offset);
+                rows.addAll(parser.feed(buffers.wrap(ByteBuffer.wrap(payload, offset, length).slice())));
+            }
+            rows.addAll(parser.finish());
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,64 @@
+package com.flashodds.backend.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.flashodds.backend.BenchmarkBoards;
+import com.flashodds.backend.domain.FrameTrace;
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.SubscriptionFilter;
+
+/** Indexing a fetched board and building the snapshot frame that is kept for late joiners. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OddsServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int rows;
+
+    private List<OddsRow> fetched;
+    private Map<String, OddsRow> board;
+    private SubscriptionFilter oneSport;
+
+    @Setup
+    public void setUp() {
+        fetched = BenchmarkBoards.board(rows);
+        board = BenchmarkBoards.index(fetched);
+        oneSport = new SubscriptionFilter(Set.of("nba"), Set.of(), Set.of(), Set.of());
+    }
+
+    @Benchmark
+    public Map<String, OddsRow> indexRows() {
+        return OddsService.indexRows(fetched, SubscriptionFilter.ALL);
+    }
+
+    @Benchmark
+    public Map<String, OddsRow> indexScopedRows() {
+        return OddsService.indexRows(fetched, oneSport);
+    }
+
+    @Benchmark
+    public OddsFrame buildSnapshot() {
+        return OddsService.buildSnapshot(1, Instant.now(), board, FrameTrace.NONE);
+    }
+}
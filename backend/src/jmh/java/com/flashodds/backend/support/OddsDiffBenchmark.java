@@ -0,0 +1,60 @@
+package com.flashodds.backend.support;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.flashodds.backend.BenchmarkBoards;
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.OddsRowChange;
+
+/** Diffing a refreshed board against the previous one, as every refresh does. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OddsDiffBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int rows;
+
+    @Param({"0.01", "0.1", "1.0"})
+    double changeRatio;
+
+    private Map<String, OddsRow> previous;
+    private Map<String, OddsRow> fresh;
+    private DiffThresholds thresholds;
+
+    @Setup
+    public void setUp() {
+        var board = BenchmarkBoards.board(rows);
+        previous = BenchmarkBoards.index(board);
+        fresh = BenchmarkBoards.index(BenchmarkBoards.moved(board, changeRatio));
+        // Every move is a single point, so these thresholds suppress them after the field comparison.
+        thresholds = new DiffThresholds(5, 0.5);
+    }
+
+    @Benchmark
+    public List<OddsRowChange> exact() {
+        return OddsDiffCalculator.diff(previous, fresh, DiffThresholds.EXACT);
+    }
+
+    @Benchmark
+    public List<OddsRowChange> thresholds() {
+        return OddsDiffCalculator.diff(previous, fresh, thresholds);
+    }
+}
@@ -0,0 +1,84 @@
+package com.flashodds.backend.web;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.flashodds.backend.BenchmarkBoards;
+import com.flashodds.backend.config.JacksonConfig;
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.support.OddsDiffCalculator;
+import com.flashodds.backend.web.dto.OddsFrameDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Turning the delta frame of a refresh into its wire form: mapping to the DTO, and the whole
+ * {@link OddsFrameEncoder} path, for clients with and without patches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FrameEncodingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int rows;
+
+    @Param({"0.01", "0.1", "1.0"})
+    double changeRatio;
+
+    private final OddsMapper mapper = new OddsMapper();
+    private final OddsFrameEncoder encoder =
+            new OddsFrameEncoder(mapper, new JacksonConfig().objectMapper(), new SimpleMeterRegistry());
+    private OddsFrame frame;
+
+    @Setup
+    public void setUp() {
+        var board = BenchmarkBoards.board(rows);
+        var changes = OddsDiffCalculator.diff(BenchmarkBoards.index(board),
+                BenchmarkBoards.index(BenchmarkBoards.moved(board, changeRatio)));
+        frame = new OddsFrame(OddsFrameType.DELTA, 2, Instant.now(), changes);
+    }
+
+    @Benchmark
+    public OddsFrameDto toDto() {
+        return mapper.toDto(frame, false);
+    }
+
+    @Benchmark
+    public OddsFrameDto toPatchDto() {
+        return mapper.toDto(frame, true);
+    }
+
+    // A fresh frame identity per call, so the encoder's per-frame cache misses and serializes.
+    @Benchmark
+    public int encode() {
+        return encoder.encode(frame.withRows(frame.rows()), false).size();
+    }
+
+    @Benchmark
+    public int encodePatches() {
+        return encoder.encode(frame.withRows(frame.rows()), true).size();
+    }
+
+    // What every subscriber after the first pays for the same frame.
+    @Benchmark
+    public int encodeCached() {
+        return encoder.encode(frame, true).size();
+    }
+}
@@ -0,0 +1,179 @@
+package com.flashodds.backend.load;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The backend under test, started as a separate JVM on a free port with the synthetic mock
+ * provider, so its CPU and heap are its own and can be read back from the actuator metrics.
+ * Tick history and rate limiting are switched off: the first would measure the disk, the second
+ * would turn most of the subscribers away. CPU comes from the operating system, so it is
+ * measured even when the server is too busy to answer; the rest is polled from the actuator with
+ * the JDK client, off the subscribers' event loops.
+ */
+final class BackendProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Process process;
+    private final URI base;
+    private final Path log;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BackendProcess(Process process, URI base, Path log) {
+        this.process = process;
+        this.base = base;
+        this.log = log;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+    }
+
+    static BackendProcess start(LoadOptions options) throws IOException, InterruptedException {
+        int port;
+        try (var socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        var refresh = options.refresh().toMillis() + "ms";
+        var command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xms" + options.heap(),
+                "-Xmx" + options.heap(),
+                "--add-modules", "jdk.incubator.vector",
+                "-cp", System.getProperty("java.class.path"),
+                "com.flashodds.backend.FlashOddsApplication",
+                "--server.port=" + port,
+                "--app.odds.provider=mock",
+                "--app.odds.mock.events=" + options.events(),
+                "--app.odds.mock.books=" + options.books(),
+                "--app.odds.mock.churn=" + options.churn(),
+                "--app.odds.refresh-seconds=" + refresh,
+                "--app.odds.schedule.min-interval=" + refresh,
+                "--app.odds.schedule.max-interval=" + refresh,
+                "--app.history.enabled=false",
+                "--bucket4j.enabled=false",
+                "--logging.level.root=WARN"));
+        var log = options.serverLog().toAbsolutePath();
+        Files.createDirectories(log.getParent());
+        var process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        var backend = new BackendProcess(process, URI.create("http://127.0.0.1:" + port), log);
+        try {
+            backend.awaitHealthy();
+        } catch (IOException | InterruptedException | RuntimeException ex) {
+            backend.close();
+            throw ex;
+        }
+        return backend;
+    }
+
+    URI base() {
+        return base;
+    }
+
+    long pid() {
+        return process.pid();
+    }
+
+    /** CPU time the server process has used so far. */
+    Duration cpuTime() {
+        return process.info().totalCpuDuration().orElse(Duration.ZERO);
+    }
+
+    /** Current server-side numbers; a metric that cannot be read in time is NaN. */
+    CompletableFuture<ServerSample> sample() {
+        var heap = metric("jvm.memory.used", "area:heap");
+        var websockets = metric("flashodds.connections.websocket", null);
+        var sse = metric("flashodds.connections.sse", null);
+        var conflated = metric("flashodds.streams.conflated", null);
+        var resnapshots = metric("flashodds.streams.resnapshot", null);
+        return CompletableFuture.allOf(heap, websockets, sse, conflated, resnapshots)
+                .thenApply(done -> new ServerSample(heap.join(), websockets.join(), sse.join(), conflated.join(),
+                        resnapshots.join()));
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private void awaitHealthy() throws IOException, InterruptedException {
+        var deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("Backend exited with " + process.exitValue() + "; see " + log);
+            }
+            var health = get("/actuator/health").join();
+            if (health != null && "UP".equals(health.path("status").asText())) {
+                return;
+            }
+            Thread.sleep(500);
+        }
+        throw new IOException("Backend did not report UP within " + STARTUP_TIMEOUT + "; see " + log);
+    }
+
+    private CompletableFuture<Double> metric(String name, String tag) {
+        return get("/actuator/metrics/" + name + (tag == null ? "" : "?tag=" + tag)).thenApply(body -> {
+            if (body != null) {
+                for (var measurement : body.path("measurements")) {
+                    var statistic = measurement.path("statistic").asText();
+                    if (statistic.equals("VALUE") || statistic.equals("COUNT")) {
+                        return measurement.path("value").asDouble();
+                    }
+                }
+            }
+            return Double.NaN;
+        });
+    }
+
+    private CompletableFuture<JsonNode> get(String path) {
+        var request = HttpRequest.newBuilder(base.resolve(path)).timeout(REQUEST_TIMEOUT).GET().build();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    try {
+                        return response.statusCode() == 200 ? objectMapper.readTree(response.body()) : null;
+                    } catch (IOException ex) {
+                        return null;
+                    }
+                })
+                .exceptionally(error -> null);
+    }
+
+    /**
+     * @param heapUsed    heap in use, in bytes
+     * @param conflated   subscriber queues folded so far
+     * @param resnapshots subscriber queues replaced by a snapshot so far
+     */
+    record ServerSample(
+            double heapUsed,
+            double websockets,
+            double sse,
+            double conflated,
+            double resnapshots) {
+
+        static final ServerSample UNKNOWN =
+                new ServerSample(Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+    }
+}
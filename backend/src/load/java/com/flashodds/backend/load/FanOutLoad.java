@@ -0,0 +1,211 @@
+package com.flashodds.backend.load;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Fan-out load harness: boots the backend against a synthetic board, opens WebSocket and SSE
+ * subscribers over the ramp, and reports delivery latency, throughput, skipped frames and server
+ * CPU and heap every interval, then a summary of the measurement window. Everything runs on this
+ * machine; see {@link LoadOptions} for the knobs.
+ */
+public final class FanOutLoad {
+
+    private static final PrintStream out = System.out;
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+    private final LoadOptions options;
+    private final FrameStats stats = new FrameStats();
+    private final Map<FrameStats.Transport, Histogram> window = new EnumMap<>(FrameStats.Transport.class);
+    private final List<BackendProcess.ServerSample> samples = new ArrayList<>();
+
+    // A saturated server answers its metrics late; reports show the newest sample that arrived.
+    private volatile BackendProcess.ServerSample server = BackendProcess.ServerSample.UNKNOWN;
+    private CompletableFuture<?> sampling = CompletableFuture.completedFuture(null);
+
+    private long lastFrames;
+    private long lastBytes;
+    private long lastSkipped;
+    private long lastNanos;
+    private Duration lastCpu;
+    private long windowNanos;
+    private Duration windowCpu;
+    private double maxCpu;
+    private boolean measuring;
+    private long windowFrames;
+    private long windowBytes;
+    private long windowSkipped;
+    private long windowResnapshots;
+    private long windowErrors;
+
+    private FanOutLoad(LoadOptions options) {
+        this.options = options;
+        for (var transport : FrameStats.Transport.values()) {
+            window.put(transport, new Histogram(TimeUnit.MINUTES.toMicros(10), 3));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new FanOutLoad(LoadOptions.parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        out.printf("Starting backend: %,d rows (%d events x %d books x 24), %s refresh, churn %.3f/s%n",
+                options.rows(), options.events(), options.books(), options.refresh(), options.churn());
+        try (var backend = BackendProcess.start(options);
+                var subscribers = new Subscribers(backend.base(), options.patches(), stats)) {
+            out.printf("Backend pid %d on %s, log in %s%n", backend.pid(), backend.base(), options.serverLog());
+            out.printf("Opening %,d ws and %,d sse subscribers over %s, then measuring for %s%n%n",
+                    options.websockets(), options.sse(), options.ramp(), options.duration());
+            out.printf("%6s %7s %7s %9s %8s %8s %8s %8s %8s %8s %7s %6s %5s %9s%n",
+                    "time", "ws", "sse", "frames/s", "MB/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms",
+                    "skipped", "resnap", "err", "cpu heap");
+
+            var reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "load-report");
+                thread.setDaemon(true);
+                return thread;
+            });
+            var started = System.nanoTime();
+            lastNanos = started;
+            lastCpu = backend.cpuTime();
+            var interval = options.interval().toMillis();
+            reporter.scheduleAtFixedRate(() -> report(backend, started), interval, interval, TimeUnit.MILLISECONDS);
+
+            open(subscribers);
+            reporter.submit(() -> startWindow(backend)).get();
+            Thread.sleep(options.duration().toMillis());
+            reporter.shutdown();
+            reporter.awaitTermination(1, TimeUnit.MINUTES);
+            summary(backend);
+        }
+    }
+
+    /** Opens the subscribers evenly over the ramp, interleaving the two transports. */
+    private void open(Subscribers subscribers) {
+        var total = options.subscribers();
+        var spacing = options.ramp().toNanos() / total;
+        var start = System.nanoTime();
+        int websockets = 0;
+        int sse = 0;
+        for (int i = 0; i < total; i++) {
+            LockSupport.parkNanos(start + i * spacing - System.nanoTime());
+            // Keep both transports at the same share of their target while ramping.
+            if (sse >= options.sse() || (websockets < options.websockets()
+                    && (long) websockets * options.sse() <= (long) sse * options.websockets())) {
+                subscribers.websocket();
+                websockets++;
+            } else {
+                subscribers.sse();
+                sse++;
+            }
+        }
+    }
+
+    private void startWindow(BackendProcess backend) {
+        measuring = true;
+        windowNanos = System.nanoTime();
+        windowCpu = backend.cpuTime();
+        for (var transport : FrameStats.Transport.values()) {
+            stats.intervalLatency(transport);
+        }
+        windowFrames = stats.frames();
+        windowBytes = stats.bytes();
+        windowSkipped = stats.skipped();
+        windowResnapshots = stats.resnapshots();
+        windowErrors = stats.errors();
+        samples.clear();
+    }
+
+    private void report(BackendProcess backend, long started) {
+        var now = System.nanoTime();
+        var seconds = (now - lastNanos) / 1e9;
+        var frames = stats.frames();
+        var bytes = stats.bytes();
+        var skipped = stats.skipped();
+        var cpuTime = backend.cpuTime();
+        var cpu = cpuTime.minus(lastCpu).toNanos() / (double) (now - lastNanos) / CORES;
+        var latency = new Histogram(TimeUnit.MINUTES.toMicros(10), 3);
+        for (var transport : FrameStats.Transport.values()) {
+            var interval = stats.intervalLatency(transport);
+            latency.add(interval);
+            if (measuring) {
+                window.get(transport).add(interval);
+            }
+        }
+        if (sampling.isDone()) {
+            sampling = backend.sample().thenAccept(sample -> server = sample);
+        }
+        var server = this.server;
+        if (measuring) {
+            samples.add(server);
+            maxCpu = Math.max(maxCpu, cpu);
+        }
+        out.printf("%5ds %7d %7d %9.0f %8.1f %8s %8s %8s %8s %8s %7d %6d %5d %4.0f%% %5s%n",
+                TimeUnit.NANOSECONDS.toSeconds(now - started),
+                stats.open(FrameStats.Transport.WS),
+                stats.open(FrameStats.Transport.SSE),
+                (frames - lastFrames) / seconds,
+                (bytes - lastBytes) / seconds / 1e6,
+                millis(latency, 50), millis(latency, 90), millis(latency, 99), millis(latency, 99.9),
+                latency.getTotalCount() == 0 ? "-" : String.format("%.1f", latency.getMaxValue() / 1000.0),
+                skipped - lastSkipped,
+                stats.resnapshots(),
+                stats.errors(),
+                cpu * 100,
+                Double.isNaN(server.heapUsed()) ? "-" : String.format("%.0fM", server.heapUsed() / 1e6));
+        lastFrames = frames;
+        lastBytes = bytes;
+        lastSkipped = skipped;
+        lastNanos = now;
+        lastCpu = cpuTime;
+    }
+
+    private void summary(BackendProcess backend) {
+        var seconds = options.duration().toNanos() / 1e9;
+        var frames = stats.frames() - windowFrames;
+        out.printf("%nSummary over %s with %,d ws and %,d sse subscribers on %,d rows%n",
+                options.duration(), stats.open(FrameStats.Transport.WS), stats.open(FrameStats.Transport.SSE),
+                options.rows());
+        out.printf("  frames      %,d (%,.0f/s), %.1f MB/s%n",
+                frames, frames / seconds, (stats.bytes() - windowBytes) / seconds / 1e6);
+        out.printf("  skipped     %,d frames folded by the server, %,d resnapshots, %,d errors%n",
+                stats.skipped() - windowSkipped, stats.resnapshots() - windowResnapshots,
+                stats.errors() - windowErrors);
+        for (var transport : FrameStats.Transport.values()) {
+            var latency = window.get(transport);
+            out.printf("  %-4s ms     p50 %s  p90 %s  p99 %s  p99.9 %s  max %s  (%,d deltas)%n",
+                    transport.name().toLowerCase(), millis(latency, 50), millis(latency, 90), millis(latency, 99),
+                    millis(latency, 99.9),
+                    latency.getTotalCount() == 0 ? "-" : String.format("%.1f", latency.getMaxValue() / 1000.0),
+                    latency.getTotalCount());
+        }
+        var cpu = backend.cpuTime().minus(windowCpu).toNanos()
+                / (double) (System.nanoTime() - windowNanos) / CORES;
+        var heap = samples.stream().mapToDouble(BackendProcess.ServerSample::heapUsed).filter(Double::isFinite).max();
+        var last = samples.isEmpty() ? BackendProcess.ServerSample.UNKNOWN : samples.getLast();
+        out.printf("  server      cpu avg %.0f%% max %.0f%% of %d cores, heap max %s%n",
+                cpu * 100, maxCpu * 100, CORES,
+                heap.isPresent() ? String.format("%.0f MB", heap.getAsDouble() / 1e6) : "unknown");
+        if (!Double.isNaN(last.websockets())) {
+            out.printf("              %.0f ws / %.0f sse open, %.0f conflations, %.0f resnapshots%n",
+                    last.websockets(), last.sse(), last.conflated(), last.resnapshots());
+        }
+    }
+
+    private static String millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0
+                ? "-"
+                : String.format("%.1f", histogram.getValueAtPercentile(percentile) / 1000.0);
+    }
+}
@@ -0,0 +1,192 @@
+package com.flashodds.backend.load;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * What the subscribers received. Delivery latency is measured from the newest {@code updatedAt}
+ * among a delta's rows, which the synthetic feed stamps when the provider is fetched, to the
+ * moment the frame is read off the socket; server and subscribers share one clock. Sequence gaps
+ * on a subscriber are frames the server folded away because that subscriber fell behind.
+ */
+final class FrameStats {
+
+    enum Transport {
+        WS, SSE
+    }
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Map<Transport, Recorder> latency = new EnumMap<>(Transport.class);
+    private final Map<Transport, AtomicInteger> open = new EnumMap<>(Transport.class);
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder resnapshots = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    FrameStats() {
+        for (var transport : Transport.values()) {
+            latency.put(transport, new Recorder(HIGHEST_MICROS, 3));
+            open.put(transport, new AtomicInteger());
+        }
+    }
+
+    Connection connection(Transport transport) {
+        return new Connection(transport);
+    }
+
+    int open(Transport transport) {
+        return open.get(transport).get();
+    }
+
+    long frames() {
+        return frames.sum();
+    }
+
+    long bytes() {
+        return bytes.sum();
+    }
+
+    long skipped() {
+        return skipped.sum();
+    }
+
+    long resnapshots() {
+        return resnapshots.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    /** Latency recorded since the previous call, in microseconds. */
+    Histogram intervalLatency(Transport transport) {
+        return latency.get(transport).getIntervalHistogram();
+    }
+
+    /** One subscriber. Not thread-safe: each connection's frames arrive on one event loop. */
+    final class Connection {
+
+        private final Transport transport;
+        private long lastSequence = -1;
+        private String lastStamp;
+        private long lastStampMicros;
+        private byte[] scratch = new byte[64 * 1024];
+        private boolean opened;
+
+        private Connection(Transport transport) {
+            this.transport = transport;
+        }
+
+        void opened() {
+            if (!opened) {
+                opened = true;
+                open.get(transport).incrementAndGet();
+            }
+        }
+
+        void closed(Throwable error) {
+            if (opened) {
+                opened = false;
+                open.get(transport).decrementAndGet();
+            }
+            if (error != null) {
+                errors.increment();
+            }
+        }
+
+        void received(int count) {
+            bytes.add(count);
+        }
+
+        /** A buffer the caller may copy a frame into before calling {@link #frame}. */
+        byte[] scratch(int length) {
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            return scratch;
+        }
+
+        void frame(byte[] data, int offset, int length) {
+            var receivedMicros = micros(Instant.now());
+            String type = null;
+            long sequence = -1;
+            long newest = Long.MIN_VALUE;
+            try (var parser = JSON.createParser(data, offset, length)) {
+                int depth = 0;
+                tokens:
+                for (var token = parser.nextToken(); token != null; token = parser.nextToken()) {
+                    switch (token) {
+                        case START_OBJECT, START_ARRAY -> depth++;
+                        case END_OBJECT, END_ARRAY -> depth--;
+                        case FIELD_NAME -> {
+                            var name = parser.currentName();
+                            if (depth == 1 && name.equals("type")) {
+                                parser.nextToken();
+                                type = parser.getText();
+                            } else if (depth == 1 && name.equals("seq")) {
+                                parser.nextToken();
+                                sequence = parser.getLongValue();
+                                // Snapshots carry no latency sample; skip parsing the whole board.
+                                if ("snapshot".equals(type)) {
+                                    break tokens;
+                                }
+                            } else if (name.equals("updatedAt") && parser.nextToken() == JsonToken.VALUE_STRING) {
+                                newest = Math.max(newest, stampMicros(parser.getText()));
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                }
+            } catch (IOException | DateTimeParseException ex) {
+                errors.increment();
+                return;
+            }
+            if (type == null || type.equals("ping")) {
+                return;
+            }
+            frames.increment();
+            if (type.equals("snapshot")) {
+                if (lastSequence >= 0) {
+                    resnapshots.increment();
+                }
+            } else {
+                if (lastSequence >= 0 && sequence > lastSequence + 1) {
+                    skipped.add(sequence - lastSequence - 1);
+                }
+                if (newest != Long.MIN_VALUE) {
+                    latency.get(transport).recordValue(Math.clamp(receivedMicros - newest, 0, HIGHEST_MICROS));
+                }
+            }
+            lastSequence = Math.max(lastSequence, sequence);
+        }
+
+        // The rows of one refresh share their stamp, so most frames parse it once.
+        private long stampMicros(String stamp) {
+            if (!stamp.equals(lastStamp)) {
+                lastStampMicros = micros(Instant.parse(stamp));
+                lastStamp = stamp;
+            }
+            return lastStampMicros;
+        }
+    }
+
+    private static long micros(Instant instant) {
+        return TimeUnit.SECONDS.toMicros(instant.getEpochSecond()) + instant.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,90 @@
+package com.flashodds.backend.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Harness settings, given as {@code key=value} arguments, e.g.
+ * {@code ws=2000 sse=2000 events=250 duration=2m}.
+ *
+ * @param websockets  WebSocket subscribers on {@code /ws/odds}
+ * @param sse         SSE subscribers on {@code /api/odds/stream}
+ * @param events      synthetic events per sport; the board has events x books x 24 rows
+ * @param books       synthetic books per event
+ * @param churn       share of (event, book, market) prices that move per second
+ * @param refresh     refresh interval of every (sport, market) slice
+ * @param ramp        time over which the subscribers are opened
+ * @param duration    measurement time once every subscriber is open
+ * @param interval    reporting interval
+ * @param heap        server heap, as for {@code -Xmx}
+ * @param patches     whether subscribers opt into patch changes
+ * @param serverLog   where the server's output goes
+ */
+record LoadOptions(
+        int websockets,
+        int sse,
+        int events,
+        int books,
+        double churn,
+        Duration refresh,
+        Duration ramp,
+        Duration duration,
+        Duration interval,
+        String heap,
+        boolean patches,
+        Path serverLog) {
+
+    private static final Set<String> KEYS = Set.of(
+            "ws", "sse", "events", "books", "churn", "refresh", "ramp", "duration", "interval", "heap", "patches", "log");
+
+    LoadOptions {
+        if (websockets < 0 || sse < 0 || websockets + sse == 0) {
+            throw new IllegalArgumentException("Open at least one ws or sse subscriber");
+        }
+        if (events < 1 || books < 1) {
+            throw new IllegalArgumentException("events and books must be positive");
+        }
+    }
+
+    static LoadOptions parse(String... args) {
+        var values = new HashMap<String, String>();
+        for (var arg : args) {
+            var split = arg.indexOf('=');
+            var key = split < 0 ? arg : arg.substring(0, split);
+            if (split < 0 || !KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unknown argument " + arg + "; expected key=value with key one of " + KEYS);
+            }
+            values.put(key, arg.substring(split + 1));
+        }
+        return new LoadOptions(
+                Integer.parseInt(values.getOrDefault("ws", "1000")),
+                Integer.parseInt(values.getOrDefault("sse", "1000")),
+                Integer.parseInt(values.getOrDefault("events", "100")),
+                Integer.parseInt(values.getOrDefault("books", "3")),
+                Double.parseDouble(values.getOrDefault("churn", "0.02")),
+                duration(values, "refresh", "1s"),
+                duration(values, "ramp", "20s"),
+                duration(values, "duration", "60s"),
+                duration(values, "interval", "5s"),
+                values.getOrDefault("heap", "1g"),
+                Boolean.parseBoolean(values.getOrDefault("patches", "false")),
+                Path.of(values.getOrDefault("log", "target/load-server.log")));
+    }
+
+    int subscribers() {
+        return websockets + sse;
+    }
+
+    int rows() {
+        return events * books * 24;
+    }
+
+    private static Duration duration(Map<String, String> values, String key, String fallback) {
+        return DurationStyle.detectAndParse(values.getOrDefault(key, fallback));
+    }
+}
@@ -0,0 +1,144 @@
+package com.flashodds.backend.load;
+
+import java.net.URI;
+import java.util.Arrays;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.WebsocketClientSpec;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Opens stream subscribers against the backend over Reactor Netty: WebSocket subscribers on
+ * {@code /ws/odds} with the JSON protocol and SSE subscribers on {@code /api/odds/stream}, each
+ * on its own unpooled connection and subscribed to the whole board.
+ */
+final class Subscribers implements AutoCloseable {
+
+    /** Large enough for a snapshot of a few hundred thousand rows. */
+    private static final int MAX_FRAME = 256 * 1024 * 1024;
+
+    private final FrameStats stats;
+    private final LoopResources loops;
+    private final HttpClient client;
+    private final String query;
+    private final Disposable.Composite connections = Disposables.composite();
+
+    Subscribers(URI base, boolean patches, FrameStats stats) {
+        this.stats = stats;
+        this.loops = LoopResources.create("load", Math.max(2, Runtime.getRuntime().availableProcessors() / 2), true);
+        this.client = HttpClient.create(ConnectionProvider.newConnection())
+                .runOn(loops)
+                .baseUrl(base.toString());
+        this.query = patches ? "?patches=true" : "";
+    }
+
+    void websocket() {
+        var connection = stats.connection(FrameStats.Transport.WS);
+        connections.add(client
+                .websocket(WebsocketClientSpec.builder().maxFramePayloadLength(MAX_FRAME).build())
+                .uri("/ws/odds" + query)
+                .handle((in, out) -> {
+                    connection.opened();
+                    return in.aggregateFrames(MAX_FRAME)
+                            .receiveFrames()
+                            .doOnNext(frame -> {
+                                if (frame instanceof TextWebSocketFrame text) {
+                                    connection.received(text.content().readableBytes());
+                                    frame(connection, text.content());
+                                }
+                            });
+                })
+                .subscribe(null, error -> connection.closed(error), () -> connection.closed(null)));
+    }
+
+    void sse() {
+        var connection = stats.connection(FrameStats.Transport.SSE);
+        var events = new EventSplitter(connection);
+        connections.add(client
+                .headers(headers -> headers.set(HttpHeaderNames.ACCEPT, "text/event-stream"))
+                .get()
+                .uri("/api/odds/stream" + query)
+                .response((response, body) -> {
+                    if (response.status().code() != 200) {
+                        return Mono.error(new IllegalStateException("SSE subscribe failed with " + response.status()));
+                    }
+                    connection.opened();
+                    return body.doOnNext(events::feed);
+                })
+                .subscribe(null, error -> connection.closed(error), () -> connection.closed(null)));
+    }
+
+    @Override
+    public void close() {
+        connections.dispose();
+        loops.disposeLater().block();
+    }
+
+    private static void frame(FrameStats.Connection connection, ByteBuf content) {
+        int length = content.readableBytes();
+        if (content.hasArray()) {
+            connection.frame(content.array(), content.arrayOffset() + content.readerIndex(), length);
+        } else {
+            var bytes = connection.scratch(length);
+            content.getBytes(content.readerIndex(), bytes, 0, length);
+            connection.frame(bytes, 0, length);
+        }
+    }
+
+    /** Reassembles SSE events from body chunks and hands each event's data line on as a frame. */
+    private static final class EventSplitter {
+
+        private final FrameStats.Connection connection;
+        private byte[] buffer = new byte[64 * 1024];
+        private int length;
+        private int scanned;
+
+        EventSplitter(FrameStats.Connection connection) {
+            this.connection = connection;
+        }
+
+        void feed(ByteBuf chunk) {
+            int count = chunk.readableBytes();
+            connection.received(count);
+            if (buffer.length < length + count) {
+                buffer = Arrays.copyOf(buffer, Math.max(length + count, buffer.length * 2));
+            }
+            chunk.getBytes(chunk.readerIndex(), buffer, length, count);
+            length += count;
+
+            int start = 0;
+            for (int i = Math.max(scanned, 1); i < length; i++) {
+                if (buffer[i] == '\n' && buffer[i - 1] == '\n') {
+                    event(start, i - 1);
+                    start = i + 1;
+                    i++;
+                }
+            }
+            System.arraycopy(buffer, start, buffer, 0, length - start);
+            length -= start;
+            scanned = length;
+        }
+
+        private void event(int from, int to) {
+            for (int line = from; line < to; ) {
+                int end = line;
+                while (end < to && buffer[end] != '\n') {
+                    end++;
+                }
+                if (end - line > 5 && buffer[line] == 'd' && buffer[line + 1] == 'a' && buffer[line + 2] == 't'
+                        && buffer[line + 3] == 'a' && buffer[line + 4] == ':') {
+                    connection.frame(buffer, line + 5, end - line - 5);
+                    return;
+                }
+                line = end + 1;
+            }
+        }
+    }
+}
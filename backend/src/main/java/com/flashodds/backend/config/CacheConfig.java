@@ -1,23 +1,45 @@
 package com.flashodds.backend.config;
 
-import java.time.Duration;
-
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 
 @Configuration
 public class CacheConfig {
 
+    /**
+     * Provider results per OddsQuery. Async so concurrent callers share one in-flight fetch
+     * (Caffeine never expires a pending future); completed results live for {@code fetch-ttl},
+     * which defaults to zero: coalescing only.
+     */
+    public static final String FETCH_CACHE = "oddsFetches";
+
+    /**
+     * Encoded REST bodies per (resource, version, view). A body can be the whole board and every
+     * version and query gets its own entry, so the cache is bounded by bytes, not entries.
+     */
+    public static final String RESPONSE_CACHE = "oddsResponses";
+    static final long RESPONSE_CACHE_BYTES = DataSize.ofMegabytes(64).toBytes();
+
     @Bean
     public CacheManager cacheManager(OddsProperties properties) {
         var manager = new CaffeineCacheManager();
         manager.setCaffeine(Caffeine.newBuilder()
                 .maximumSize(5000)
                 .expireAfterWrite(properties.cacheTtlSeconds()));
+        manager.registerCustomCache(FETCH_CACHE, Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(properties.fetchTtl())
+                .buildAsync());
+        manager.registerCustomCache(RESPONSE_CACHE, Caffeine.newBuilder()
+                .maximumWeight(RESPONSE_CACHE_BYTES)
+                .weigher((Object key, Object value) -> value instanceof byte[] bytes ? bytes.length : 1)
+                .expireAfterWrite(properties.cacheTtlSeconds())
+                .build());
         return manager;
     }
 }
@@ -0,0 +1,34 @@
+package com.flashodds.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * The on-disk tick log. Segments of {@code segmentSize} are memory-mapped and rolled when full;
+ * whole segments are deleted once the log exceeds {@code retentionSize} or they are older than
+ * {@code retentionAge}. A checkpoint of the full board is written at the start of every segment
+ * and every {@code checkpointInterval}.
+ */
+@ConfigurationProperties(prefix = "app.history")
+public record HistoryProperties(
+        boolean enabled,
+        String directory,
+        DataSize segmentSize,
+        DataSize retentionSize,
+        Duration retentionAge,
+        Duration checkpointInterval,
+        @Min(1) int queueCapacity) {
+
+    public HistoryProperties {
+        directory = directory == null || directory.isBlank() ? "data/ticks" : directory;
+        segmentSize = segmentSize == null ? DataSize.ofMegabytes(64) : segmentSize;
+        retentionSize = retentionSize == null ? DataSize.ofGigabytes(1) : retentionSize;
+        retentionAge = retentionAge == null ? Duration.ofDays(7) : retentionAge;
+        checkpointInterval = checkpointInterval == null ? Duration.ofMinutes(5) : checkpointInterval;
+        queueCapacity = queueCapacity <= 0 ? 1_024 : queueCapacity;
+    }
+}
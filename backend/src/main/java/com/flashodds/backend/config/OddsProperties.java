@@ -8,9 +8,12 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.convert.DurationUnit;
 import org.springframework.util.unit.DataSize;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.PositiveOrZero;
 import org.hibernate.validator.constraints.time.DurationMin;
 
 @ConfigurationProperties(prefix = "app.odds")
@@ -23,7 +26,16 @@ public record OddsProperties(
         boolean enrichmentEnabled,
         @DurationUnit(ChronoUnit.SECONDS) @DurationMin(seconds = 5) Duration refreshSeconds,
         @DurationUnit(ChronoUnit.SECONDS) @DurationMin(seconds = 1) Duration cacheTtlSeconds,
-        DataSize maxPayloadSize) {
+        DataSize maxPayloadSize,
+        @DurationUnit(ChronoUnit.SECONDS) Duration fetchTtl,
+        @Valid Diff diff,
+        @Valid Schedule schedule,
+        @Valid Budget budget,
+        @Valid Composite composite,
+        @Valid Opportunities opportunities,
+        @Valid LineHistory lineHistory,
+        @Valid Replay replay,
+        @Valid Mock mock) {
 
     public OddsProperties {
         sports = sports == null ? List.of() : List.copyOf(sports);
@@ -31,5 +43,126 @@ public record OddsProperties(
         refreshSeconds = refreshSeconds == null ? Duration.ofSeconds(15) : refreshSeconds;
         cacheTtlSeconds = cacheTtlSeconds == null ? Duration.ofSeconds(60) : cacheTtlSeconds;
         maxPayloadSize = maxPayloadSize == null ? DataSize.ofMegabytes(2) : maxPayloadSize;
+        fetchTtl = fetchTtl == null || fetchTtl.isNegative() ? Duration.ZERO : fetchTtl;
+        diff = diff == null ? new Diff(0, 0.0) : diff;
+        schedule = schedule == null ? new Schedule(null, null, 0.0, null) : schedule;
+        budget = budget == null ? new Budget(0, 0) : budget;
+        composite = composite == null ? new Composite(null, null, null) : composite;
+        opportunities = opportunities == null ? new Opportunities(0.0, 0.0) : opportunities;
+        lineHistory = lineHistory == null ? new LineHistory(0) : lineHistory;
+        replay = replay == null ? new Replay(null, 1.0, true) : replay;
+        mock = mock == null ? new Mock(0, 0, 0.0, 0L, null, null) : mock;
+    }
+
+    public record Diff(
+            @PositiveOrZero int priceThreshold,
+            @PositiveOrZero double lineThreshold) {
+    }
+
+    /**
+     * Bounds for the per (sport, market) refresh cadence. A slice is polled at {@code maxInterval}
+     * when quiet and far from its next start, and approaches {@code minInterval} as its change rate
+     * rises or its next event comes within {@code horizon}.
+     */
+    public record Schedule(
+            Duration minInterval,
+            Duration maxInterval,
+            @PositiveOrZero double smoothing,
+            Duration horizon) {
+
+        public Schedule {
+            minInterval = minInterval == null ? Duration.ofSeconds(5) : minInterval;
+            maxInterval = maxInterval == null ? Duration.ofSeconds(60) : maxInterval;
+            if (maxInterval.compareTo(minInterval) < 0) {
+                maxInterval = minInterval;
+            }
+            smoothing = smoothing <= 0 || smoothing > 1 ? 0.3 : smoothing;
+            horizon = horizon == null ? Duration.ofHours(6) : horizon;
+        }
+    }
+
+    /**
+     * Provider credit budget. {@code reserve} credits are kept for priority (live or about to
+     * start) fetches; {@code resetDay} is the day of month (UTC) the quota renews.
+     */
+    public record Budget(
+            @PositiveOrZero int reserve,
+            @PositiveOrZero int resetDay) {
+
+        public Budget {
+            resetDay = resetDay < 1 || resetDay > 31 ? 1 : resetDay;
+        }
+    }
+
+    /**
+     * Settings for {@code provider: composite}. {@code providers} are fetched in parallel and
+     * listed in priority order; a fetch waits at most {@code deadline} for any one of them, and a
+     * row older than {@code maxAge} loses to a fresher one from a lower-priority provider.
+     */
+    public record Composite(
+            List<String> providers,
+            Duration deadline,
+            Duration maxAge) {
+
+        public Composite {
+            providers = providers == null ? List.of() : providers.stream().filter(name -> !name.isBlank()).toList();
+            deadline = deadline == null || !deadline.isPositive() ? Duration.ofSeconds(3) : deadline;
+            maxAge = maxAge == null || !maxAge.isPositive() ? Duration.ofMinutes(2) : maxAge;
+        }
+    }
+
+    /**
+     * Thresholds for the opportunity stream, as fractions of the stake: an arbitrage opens when
+     * its guaranteed return exceeds {@code minArbitrageEdge}, a positive-EV price when its
+     * expected return against the no-vig consensus exceeds {@code minExpectedValue}.
+     */
+    public record Opportunities(
+            @PositiveOrZero double minArbitrageEdge,
+            @PositiveOrZero double minExpectedValue) {
+    }
+
+    /** Moves kept per row before the oldest half is dropped. */
+    public record LineHistory(@Min(2) int maxPoints) {
+
+        public LineHistory {
+            maxPoints = maxPoints == 0 ? 512 : maxPoints;
+        }
+    }
+
+    /**
+     * The tick log capture the {@code replay} provider plays back; {@code directory} has no default
+     * and is required when replaying. Recorded time runs {@code speed} times faster than wall time;
+     * 0 advances one recorded frame per refresh round instead.
+     */
+    public record Replay(
+            String directory,
+            @PositiveOrZero double speed,
+            boolean loop) {
+
+        public Replay {
+            directory = directory == null || directory.isBlank() ? null : directory;
+        }
+    }
+
+    /**
+     * Synthetic load for the {@code mock} provider. With {@code events} above zero it generates
+     * that many events per requested sport, each quoted by {@code books} books in every market,
+     * instead of the four fixed demo events. {@code churn} is the fraction of a slice's markets
+     * whose price moves per second; events start within {@code horizon} and are replaced by a new
+     * one {@code eventDuration} after they start.
+     */
+    public record Mock(
+            @PositiveOrZero int events,
+            @PositiveOrZero int books,
+            @PositiveOrZero double churn,
+            long seed,
+            Duration horizon,
+            Duration eventDuration) {
+
+        public Mock {
+            books = books == 0 ? 3 : books;
+            horizon = horizon == null ? Duration.ofHours(48) : horizon;
+            eventDuration = eventDuration == null ? Duration.ofHours(3) : eventDuration;
+        }
     }
 }
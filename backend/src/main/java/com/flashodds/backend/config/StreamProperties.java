@@ -0,0 +1,18 @@
+package com.flashodds.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.validation.constraints.Min;
+
+@ConfigurationProperties(prefix = "app.stream")
+public record StreamProperties(
+        @Min(1) int resumeWindow,
+        @Min(1) int queueCapacity,
+        @Min(1) int conflationLimit) {
+
+    public StreamProperties {
+        resumeWindow = resumeWindow <= 0 ? 256 : resumeWindow;
+        queueCapacity = queueCapacity <= 0 ? 16 : queueCapacity;
+        conflationLimit = conflationLimit <= 0 ? 5_000 : conflationLimit;
+    }
+}
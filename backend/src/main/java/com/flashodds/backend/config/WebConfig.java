@@ -29,6 +29,7 @@ public class WebConfig implements WebFluxConfigurer {
         registry.addMapping("/api/**")
                 .allowedOrigins(allowedOrigins.toArray(String[]::new))
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                .exposedHeaders("ETag", "X-Next-Cursor")
                 .allowCredentials(true)
                 .maxAge(3600);
         registry.addMapping("/ws/**")
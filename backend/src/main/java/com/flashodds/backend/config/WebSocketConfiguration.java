@@ -9,15 +9,18 @@ import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
 import org.springframework.web.reactive.socket.server.support.WebSocketHandlerAdapter;
 
 import com.flashodds.backend.web.OddsWebSocketHandler;
+import com.flashodds.backend.web.OpportunityWebSocketHandler;
 
 @Configuration
 public class WebSocketConfiguration {
 
     @Bean
-    public HandlerMapping oddsWebSocketMapping(OddsWebSocketHandler handler) {
+    public HandlerMapping oddsWebSocketMapping(
+            OddsWebSocketHandler handler,
+            OpportunityWebSocketHandler opportunityHandler) {
         var mapping = new SimpleUrlHandlerMapping();
         mapping.setOrder(-1);
-        mapping.setUrlMap(Map.of("/ws/odds", handler));
+        mapping.setUrlMap(Map.of("/ws/odds", handler, "/ws/opportunities", opportunityHandler));
         return mapping;
     }
 
@@ -0,0 +1,20 @@
+package com.flashodds.backend.domain;
+
+/**
+ * When a frame passed each stage of the refresh path up to the diff, as
+ * {@link System#nanoTime()} readings: the provider fetch was started and answered, and the board
+ * was diffed. Routing is timed once the frame has been routed, and delivery when a subscriber's
+ * connection takes it. Only frames a refresh emits are traced; snapshots rebuilt for late joiners
+ * and frames created elsewhere carry {@link #NONE}.
+ */
+public record FrameTrace(
+        long fetchStarted,
+        long fetched,
+        long diffed) {
+
+    public static final FrameTrace NONE = new FrameTrace(0, 0, 0);
+
+    public boolean isTraced() {
+        return diffed != 0;
+    }
+}
@@ -0,0 +1,42 @@
+package com.flashodds.backend.domain;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Best price and consensus across books for one outcome of one event market. For markets with a
+ * line (spreads, totals) the consensus line is the line most books quote, and the best price is
+ * taken among the quotes at that line so prices for different lines are never compared.
+ *
+ * @param key            {@code sport:event:market:outcome}, lower-cased
+ * @param bestBooks      every book quoting {@code bestPrice}
+ * @param consensusPrice American odds of the books' mean implied probability
+ */
+public record MarketSummary(
+        String key,
+        String sport,
+        String event,
+        String market,
+        String outcome,
+        Integer bestPrice,
+        List<String> bestBooks,
+        Integer consensusPrice,
+        Double consensusLine,
+        int books,
+        Instant updatedAt) {
+
+    public MarketSummary {
+        bestBooks = bestBooks == null ? List.of() : List.copyOf(bestBooks);
+    }
+
+    public boolean matches(SubscriptionFilter filter) {
+        return filter == null
+                || (accepts(filter.sports(), sport) && accepts(filter.markets(), market)
+                        && accepts(filter.events(), event));
+    }
+
+    private static boolean accepts(Set<String> allowed, String value) {
+        return allowed.isEmpty() || allowed.contains(SubscriptionFilter.key(value));
+    }
+}
@@ -0,0 +1,36 @@
+package com.flashodds.backend.domain;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A batch of best-price changes. A SNAPSHOT carries every summary; a DELTA carries the summaries
+ * that changed at {@code sequence} and the keys of outcomes no book quotes any more. Like
+ * row REMOVEs, removed keys are not filtered; removing an unknown key is a no-op for clients.
+ */
+public record MarketSummaryFrame(
+        OddsFrameType type,
+        long sequence,
+        Instant timestamp,
+        List<MarketSummary> summaries,
+        List<String> removed) {
+
+    public MarketSummaryFrame {
+        timestamp = timestamp == null ? Instant.now() : timestamp;
+        summaries = summaries == null ? List.of() : List.copyOf(summaries);
+        removed = removed == null ? List.of() : List.copyOf(removed);
+    }
+
+    public boolean hasChanges() {
+        return !summaries.isEmpty() || !removed.isEmpty();
+    }
+
+    public MarketSummaryFrame filter(SubscriptionFilter filter) {
+        if (filter == null || filter.matchesAll()) {
+            return this;
+        }
+        return new MarketSummaryFrame(type, sequence, timestamp,
+                summaries.stream().filter(summary -> summary.matches(filter)).toList(),
+                removed);
+    }
+}
@@ -5,11 +5,23 @@ import java.util.List;
 
 public record OddsFrame(
         OddsFrameType type,
+        long sequence,
         Instant timestamp,
-        List<OddsRowChange> rows) {
+        List<OddsRowChange> rows,
+        FrameTrace trace) {
 
     public OddsFrame {
         timestamp = timestamp == null ? Instant.now() : timestamp;
         rows = rows == null ? List.of() : List.copyOf(rows);
+        trace = trace == null ? FrameTrace.NONE : trace;
+    }
+
+    public OddsFrame(OddsFrameType type, long sequence, Instant timestamp, List<OddsRowChange> rows) {
+        this(type, sequence, timestamp, rows, FrameTrace.NONE);
+    }
+
+    /** This frame narrowed to {@code changes}, keeping its sequence, timestamp and trace. */
+    public OddsFrame withRows(List<OddsRowChange> changes) {
+        return new OddsFrame(type, sequence, timestamp, changes, trace);
     }
 }
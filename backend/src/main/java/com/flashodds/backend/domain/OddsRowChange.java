@@ -1,30 +1,94 @@
 package com.flashodds.backend.domain;
 
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
+/**
+ * A change to one row. UPSERT and PATCH always carry the complete new row; PATCH additionally
+ * names the fields that moved so opted-in clients can be sent just those.
+ */
 public record OddsRowChange(
         OddsRowChange.Operation op,
         OddsRow row,
-        String id) {
+        String id,
+        Set<Field> fields) {
 
     public OddsRowChange {
-        if (op == Operation.UPSERT && row == null) {
-            throw new IllegalArgumentException("UPSERT changes require a row payload");
+        if (op != Operation.REMOVE && row == null) {
+            throw new IllegalArgumentException(op + " changes require a row payload");
         }
         if (op == Operation.REMOVE && (id == null || id.isBlank())) {
             throw new IllegalArgumentException("REMOVE changes require an id");
         }
-        if (op == Operation.UPSERT && (id == null || id.isBlank())) {
+        if (op != Operation.REMOVE && (id == null || id.isBlank())) {
             id = row.id();
         }
+        if (op == Operation.PATCH && (fields == null || fields.isEmpty())) {
+            throw new IllegalArgumentException("PATCH changes require at least one field");
+        }
+        fields = op == Operation.PATCH ? Set.copyOf(fields) : Set.of();
+    }
+
+    public OddsRowChange(Operation op, OddsRow row, String id) {
+        this(op, row, id, Set.of());
+    }
+
+    public static OddsRowChange patch(OddsRow prior, OddsRow fresh) {
+        var changed = EnumSet.noneOf(Field.class);
+        for (var field : Field.values()) {
+            if (!Objects.equals(field.value(prior), field.value(fresh))) {
+                changed.add(field);
+            }
+        }
+        return new OddsRowChange(Operation.PATCH, fresh, fresh.id(), changed);
+    }
+
+    /** The same change as a full-row UPSERT, for clients that did not opt into patches. */
+    public OddsRowChange asUpsert() {
+        return op == Operation.PATCH ? new OddsRowChange(Operation.UPSERT, row, id) : this;
     }
 
     public enum Operation {
         UPSERT,
+        PATCH,
         REMOVE;
 
         public boolean isUpsert() {
             return this == UPSERT;
         }
+
+        public boolean isRemove() {
+            return this == REMOVE;
+        }
+    }
+
+    /**
+     * Fields a PATCH may carry. Sport, market, book and event are routing dimensions and never
+     * patched; a change to any of them is sent as an UPSERT.
+     */
+    public enum Field {
+        PRICE("price", OddsRow::price),
+        LINE("line", OddsRow::line),
+        STARTS_AT("startsAt", OddsRow::startsAt),
+        UPDATED_AT("updatedAt", OddsRow::updatedAt),
+        EXTRA("extra", OddsRow::extra);
+
+        private final String jsonName;
+        private final Function<OddsRow, Object> accessor;
+
+        Field(String jsonName, Function<OddsRow, Object> accessor) {
+            this.jsonName = jsonName;
+            this.accessor = accessor;
+        }
+
+        public String jsonName() {
+            return jsonName;
+        }
+
+        public Object value(OddsRow row) {
+            return accessor.apply(row);
+        }
     }
 }
@@ -0,0 +1,43 @@
+package com.flashodds.backend.domain;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A price worth acting on. An ARBITRAGE takes the best price of every outcome of a market and
+ * {@code edge} is the guaranteed return on the combined stake; a POSITIVE_EV is a single best
+ * price that beats the no-vig consensus and {@code edge} is its expected return per unit staked.
+ */
+public record Opportunity(
+        String id,
+        Kind kind,
+        String sport,
+        String event,
+        String market,
+        List<Leg> legs,
+        double edge,
+        Instant detectedAt) {
+
+    public Opportunity {
+        legs = legs == null ? List.of() : List.copyOf(legs);
+    }
+
+    public boolean matches(SubscriptionFilter filter) {
+        return filter == null
+                || ((filter.sports().isEmpty() || filter.sports().contains(SubscriptionFilter.key(sport)))
+                        && (filter.markets().isEmpty() || filter.markets().contains(SubscriptionFilter.key(market)))
+                        && (filter.events().isEmpty() || filter.events().contains(SubscriptionFilter.key(event))));
+    }
+
+    public enum Kind {
+        ARBITRAGE,
+        POSITIVE_EV
+    }
+
+    public record Leg(
+            String outcome,
+            String book,
+            Integer price,
+            Double line) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.flashodds.backend.domain;
+
+/**
+ * An opportunity appearing, changing (its legs or edge moved) or going away. CLOSE carries the
+ * opportunity as it was last seen.
+ */
+public record OpportunityEvent(
+        Type type,
+        long sequence,
+        Opportunity opportunity) {
+
+    public enum Type {
+        OPEN,
+        UPDATE,
+        CLOSE
+    }
+}
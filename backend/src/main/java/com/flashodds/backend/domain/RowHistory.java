@@ -0,0 +1,23 @@
+package com.flashodds.backend.domain;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Price and line moves of one row, oldest first. A point is recorded whenever an emitted frame
+ * moves either; timestamps are truncated to the second.
+ */
+public record RowHistory(
+        String id,
+        List<Point> points) {
+
+    public RowHistory {
+        points = points == null ? List.of() : List.copyOf(points);
+    }
+
+    public record Point(
+            Instant timestamp,
+            Integer price,
+            Double line) {
+    }
+}
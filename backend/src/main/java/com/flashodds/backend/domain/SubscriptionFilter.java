@@ -0,0 +1,127 @@
+package com.flashodds.backend.domain;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * What a stream subscriber wants to see. An empty dimension matches everything; values are
+ * compared case-insensitively. The {@code events} dimension matches {@link OddsRow#event()}.
+ */
+public record SubscriptionFilter(
+        Set<String> sports,
+        Set<String> markets,
+        Set<String> books,
+        Set<String> events) {
+
+    public static final SubscriptionFilter ALL = new SubscriptionFilter(Set.of(), Set.of(), Set.of(), Set.of());
+
+    public SubscriptionFilter {
+        sports = normalize(sports);
+        markets = normalize(markets);
+        books = normalize(books);
+        events = normalize(events);
+    }
+
+    public static SubscriptionFilter of(
+            Collection<String> sports,
+            Collection<String> markets,
+            Collection<String> books,
+            Collection<String> events) {
+        return new SubscriptionFilter(toSet(sports), toSet(markets), toSet(books), toSet(events));
+    }
+
+    public static String key(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    public boolean matchesAll() {
+        return sports.isEmpty() && markets.isEmpty() && books.isEmpty() && events.isEmpty();
+    }
+
+    public boolean matches(OddsRow row) {
+        return accepts(sports, row.sport())
+                && accepts(markets, row.market())
+                && accepts(books, row.book())
+                && accepts(events, row.event());
+    }
+
+    /** Whether every row {@code other} selects is selected by this filter too. */
+    public boolean includes(SubscriptionFilter other) {
+        return covers(sports, other.sports)
+                && covers(markets, other.markets)
+                && covers(books, other.books)
+                && covers(events, other.events);
+    }
+
+    /**
+     * This filter with the values {@code other} names taken out of the dimensions that list
+     * them, or null when that leaves a listed dimension empty: it would otherwise turn into a
+     * wildcard and select everything. Dimensions that already match everything are unchanged.
+     */
+    public SubscriptionFilter without(SubscriptionFilter other) {
+        var narrowed = new SubscriptionFilter(
+                difference(sports, other.sports),
+                difference(markets, other.markets),
+                difference(books, other.books),
+                difference(events, other.events));
+        if (emptied(sports, narrowed.sports) || emptied(markets, narrowed.markets)
+                || emptied(books, narrowed.books) || emptied(events, narrowed.events)) {
+            return null;
+        }
+        return narrowed;
+    }
+
+    /**
+     * The part of {@code frame} this filter lets through. Returns the frame itself when nothing
+     * is filtered out, so unfiltered subscribers keep sharing one encoded copy. REMOVE changes
+     * without a row payload are always let through; removing an unknown id is a no-op for clients.
+     */
+    public OddsFrame apply(OddsFrame frame) {
+        if (frame == null || matchesAll()) {
+            return frame;
+        }
+        List<OddsRowChange> kept = frame.rows().stream()
+                .filter(change -> change.row() == null || matches(change.row()))
+                .toList();
+        if (kept.size() == frame.rows().size()) {
+            return frame;
+        }
+        return frame.withRows(kept);
+    }
+
+    private static boolean accepts(Set<String> allowed, String value) {
+        return allowed.isEmpty() || allowed.contains(key(value));
+    }
+
+    private static Set<String> normalize(Set<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Set.of();
+        }
+        return values.stream()
+                .filter(value -> value != null && !value.isBlank())
+                .map(value -> key(value.trim()))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static Set<String> toSet(Collection<String> values) {
+        return values == null ? Set.of() : new LinkedHashSet<>(values);
+    }
+
+    private static boolean covers(Set<String> allowed, Set<String> other) {
+        return allowed.isEmpty() || (!other.isEmpty() && allowed.containsAll(other));
+    }
+
+    private static boolean emptied(Set<String> before, Set<String> after) {
+        return !before.isEmpty() && after.isEmpty();
+    }
+
+    private static Set<String> difference(Set<String> left, Set<String> right) {
+        var remaining = new LinkedHashSet<>(left);
+        remaining.removeAll(right);
+        return remaining;
+    }
+}
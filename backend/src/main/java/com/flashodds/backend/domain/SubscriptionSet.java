@@ -0,0 +1,118 @@
+package com.flashodds.backend.domain;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What a WebSocket subscriber follows: the union of one or more filters. Dimensions within a
+ * filter are ANDed, filters are ORed, so adding {@code sport=nba} and then {@code market=h2h}
+ * follows every NBA row plus every h2h row. {@link #NONE} follows nothing.
+ *
+ * <ul>
+ *   <li>{@link #plus} adds a filter, unless one already present includes it; filters the new one
+ *       includes are dropped. It never narrows what is followed.
+ *   <li>{@link #minus} takes the named values out of every filter that lists them, per dimension.
+ *       A filter left with an empty dimension is dropped rather than widened to everything, and a
+ *       dimension that matches everything is left alone: only values that were listed can be
+ *       removed. A filter naming nothing removes everything.
+ * </ul>
+ */
+public record SubscriptionSet(List<SubscriptionFilter> filters) {
+
+    public static final SubscriptionSet NONE = new SubscriptionSet(List.of());
+
+    public SubscriptionSet {
+        filters = List.copyOf(filters);
+    }
+
+    public static SubscriptionSet of(SubscriptionFilter filter) {
+        return new SubscriptionSet(List.of(filter));
+    }
+
+    public boolean isEmpty() {
+        return filters.isEmpty();
+    }
+
+    public boolean matches(OddsRow row) {
+        for (var filter : filters) {
+            if (filter.matches(row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public SubscriptionSet plus(SubscriptionFilter added) {
+        if (filters.stream().anyMatch(filter -> filter.includes(added))) {
+            return this;
+        }
+        var next = new ArrayList<SubscriptionFilter>();
+        for (var filter : filters) {
+            if (!added.includes(filter)) {
+                next.add(filter);
+            }
+        }
+        next.add(added);
+        return new SubscriptionSet(next);
+    }
+
+    public SubscriptionSet minus(SubscriptionFilter removed) {
+        if (removed.matchesAll()) {
+            return NONE;
+        }
+        var next = new ArrayList<SubscriptionFilter>();
+        for (var filter : filters) {
+            var narrowed = filter.without(removed);
+            if (narrowed != null) {
+                next.add(narrowed);
+            }
+        }
+        return new SubscriptionSet(next);
+    }
+
+    /**
+     * The narrowest single filter that selects every row of this set, which is what streams are
+     * routed by; {@link #apply} then drops what no member selects. Null for {@link #NONE}.
+     */
+    public SubscriptionFilter envelope() {
+        if (filters.isEmpty()) {
+            return null;
+        }
+        if (filters.size() == 1) {
+            return filters.getFirst();
+        }
+        return new SubscriptionFilter(
+                envelope(filters.stream().map(SubscriptionFilter::sports).toList()),
+                envelope(filters.stream().map(SubscriptionFilter::markets).toList()),
+                envelope(filters.stream().map(SubscriptionFilter::books).toList()),
+                envelope(filters.stream().map(SubscriptionFilter::events).toList()));
+    }
+
+    /**
+     * The part of a frame routed by {@link #envelope()} that this set selects. Single-filter sets
+     * return the frame itself, so they keep sharing the routed frame and its encoding.
+     */
+    public OddsFrame apply(OddsFrame frame) {
+        if (filters.size() <= 1) {
+            return filters.isEmpty() ? frame.withRows(List.of()) : frame;
+        }
+        var kept = frame.rows().stream()
+                .filter(change -> change.row() == null || matches(change.row()))
+                .toList();
+        return kept.size() == frame.rows().size() ? frame : frame.withRows(kept);
+    }
+
+    // A wildcard in any member makes the whole dimension a wildcard.
+    private static Set<String> envelope(List<Set<String>> values) {
+        var merged = new LinkedHashSet<String>();
+        for (var set : values) {
+            if (set.isEmpty()) {
+                return Set.of();
+            }
+            merged.addAll(set);
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,46 @@
+package com.flashodds.backend.history;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Sequential reader over a tick log directory written by {@link TickLog}, typically one copied
+ * from another host. Segments are read in order, one mapped at a time.
+ */
+public final class TickCapture {
+
+    private final List<Path> files;
+    private int nextFile;
+    private TickSegment.Reader reader;
+
+    private TickCapture(List<Path> files) {
+        this.files = files;
+    }
+
+    public static TickCapture open(Path directory) throws IOException {
+        List<Path> files;
+        try (var listing = Files.list(directory)) {
+            files = listing.filter(TickSegment::isSegment).sorted().toList();
+        }
+        if (files.isEmpty()) {
+            throw new IOException("No tick log segments in " + directory.toAbsolutePath());
+        }
+        return new TickCapture(files);
+    }
+
+    /** The next record, or null once every segment has been read. */
+    public TickRecord next() throws IOException {
+        while (true) {
+            var record = reader == null ? null : reader.next();
+            if (record != null) {
+                return record;
+            }
+            if (nextFile == files.size()) {
+                return null;
+            }
+            reader = TickSegment.open(files.get(nextFile++)).reader();
+        }
+    }
+}
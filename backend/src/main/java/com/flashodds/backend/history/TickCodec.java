@@ -0,0 +1,182 @@
+package com.flashodds.backend.history;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.OddsRowChange;
+import com.flashodds.backend.support.VarintOutput;
+
+/**
+ * Record encoding of the tick log. Every record carries its own string table, so a record can be
+ * decoded from its offset alone and range reads can start anywhere the time index points.
+ *
+ * <pre>
+ * record  := kind:u8 seq:uvarint ts:uvarint strings changes      (kind 1 checkpoint, 2 delta)
+ * strings := count:uvarint { length:uvarint utf8[length] }       (handle = index + 1, 0 = null)
+ * changes := count:uvarint { op:u8 id:uvarint [row] }            (op 1 upsert, 2 remove)
+ * row     := sport event market book:uvarint flags:u8 price:svarint? line:svarint?
+ *            startsAt:svarint updatedAt:svarint extra:uvarint { key value:uvarint }
+ * </pre>
+ *
+ * {@code ts} is epoch millis; {@code startsAt} and {@code updatedAt} are millis relative to it.
+ * Lines are stored in hundredths, {@code extra} values as strings. PATCH changes are stored as
+ * upserts, since they carry the full row anyway.
+ */
+final class TickCodec {
+
+    private static final int KIND_CHECKPOINT = 1;
+    private static final int KIND_DELTA = 2;
+    private static final int OP_UPSERT = 1;
+    private static final int OP_REMOVE = 2;
+    private static final int HAS_PRICE = 1;
+    private static final int HAS_LINE = 2;
+    private static final int HAS_STARTS_AT = 4;
+    private static final int HAS_UPDATED_AT = 8;
+
+    private TickCodec() {
+    }
+
+    static byte[] encode(TickRecord.Kind kind, long sequence, Instant timestamp, List<OddsRowChange> changes) {
+        var handles = new LinkedHashMap<String, Integer>();
+        for (var change : changes) {
+            handle(handles, change.id());
+            if (!change.op().isRemove()) {
+                var row = change.row();
+                handle(handles, row.sport());
+                handle(handles, row.event());
+                handle(handles, row.market());
+                handle(handles, row.book());
+                row.extra().forEach((key, value) -> {
+                    handle(handles, key);
+                    handle(handles, String.valueOf(value));
+                });
+            }
+        }
+
+        var ts = timestamp.toEpochMilli();
+        var out = new VarintOutput(64 + changes.size() * 24);
+        out.writeByte(kind == TickRecord.Kind.CHECKPOINT ? KIND_CHECKPOINT : KIND_DELTA);
+        out.writeUnsigned(sequence);
+        out.writeUnsigned(ts);
+        out.writeUnsigned(handles.size());
+        for (var value : handles.keySet()) {
+            out.writeString(value);
+        }
+        out.writeUnsigned(changes.size());
+        for (var change : changes) {
+            out.writeByte(change.op().isRemove() ? OP_REMOVE : OP_UPSERT);
+            out.writeUnsigned(handles.get(change.id()));
+            if (change.op().isRemove()) {
+                continue;
+            }
+            var row = change.row();
+            out.writeUnsigned(ref(handles, row.sport()));
+            out.writeUnsigned(ref(handles, row.event()));
+            out.writeUnsigned(ref(handles, row.market()));
+            out.writeUnsigned(ref(handles, row.book()));
+            int flags = (row.price() != null ? HAS_PRICE : 0)
+                    | (row.line() != null ? HAS_LINE : 0)
+                    | (row.startsAt() != null ? HAS_STARTS_AT : 0)
+                    | (row.updatedAt() != null ? HAS_UPDATED_AT : 0);
+            out.writeByte(flags);
+            if (row.price() != null) {
+                out.writeSigned(row.price());
+            }
+            if (row.line() != null) {
+                out.writeSigned(Math.round(row.line() * 100));
+            }
+            if (row.startsAt() != null) {
+                out.writeSigned(row.startsAt().toEpochMilli() - ts);
+            }
+            if (row.updatedAt() != null) {
+                out.writeSigned(row.updatedAt().toEpochMilli() - ts);
+            }
+            out.writeUnsigned(row.extra().size());
+            for (var entry : row.extra().entrySet()) {
+                out.writeUnsigned(handles.get(entry.getKey()));
+                out.writeUnsigned(handles.get(String.valueOf(entry.getValue())));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    static TickRecord decode(ByteBuffer in) {
+        var kind = in.get() == KIND_CHECKPOINT ? TickRecord.Kind.CHECKPOINT : TickRecord.Kind.DELTA;
+        var sequence = readUnsigned(in);
+        var ts = readUnsigned(in);
+        var strings = new String[(int) readUnsigned(in) + 1];
+        for (int i = 1; i < strings.length; i++) {
+            var utf8 = new byte[(int) readUnsigned(in)];
+            in.get(utf8);
+            strings[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+        int count = (int) readUnsigned(in);
+        var changes = new ArrayList<OddsRowChange>(count);
+        for (int i = 0; i < count; i++) {
+            int op = in.get();
+            var id = strings[(int) readUnsigned(in)];
+            if (op == OP_REMOVE) {
+                changes.add(new OddsRowChange(OddsRowChange.Operation.REMOVE, null, id));
+                continue;
+            }
+            var sport = strings[(int) readUnsigned(in)];
+            var event = strings[(int) readUnsigned(in)];
+            var market = strings[(int) readUnsigned(in)];
+            var book = strings[(int) readUnsigned(in)];
+            int flags = in.get();
+            Integer price = (flags & HAS_PRICE) != 0 ? (int) readSigned(in) : null;
+            Double line = (flags & HAS_LINE) != 0 ? readSigned(in) / 100.0 : null;
+            var startsAt = (flags & HAS_STARTS_AT) != 0 ? Instant.ofEpochMilli(ts + readSigned(in)) : null;
+            var updatedAt = (flags & HAS_UPDATED_AT) != 0 ? Instant.ofEpochMilli(ts + readSigned(in)) : null;
+            int extraCount = (int) readUnsigned(in);
+            Map<String, Object> extra = extraCount == 0 ? Map.of() : new HashMap<>(extraCount * 2);
+            for (int e = 0; e < extraCount; e++) {
+                extra.put(strings[(int) readUnsigned(in)], strings[(int) readUnsigned(in)]);
+            }
+            var row = new OddsRow(id, sport, event, market, line, price, book, startsAt, updatedAt, extra);
+            changes.add(new OddsRowChange(OddsRowChange.Operation.UPSERT, row, id));
+        }
+        return new TickRecord(kind, sequence, Instant.ofEpochMilli(ts), changes);
+    }
+
+    /** Timestamp (epoch millis) of the record at {@code in}'s position, without decoding the rest. */
+    static long timestamp(ByteBuffer in) {
+        in.get();
+        readUnsigned(in);
+        return readUnsigned(in);
+    }
+
+    private static void handle(Map<String, Integer> handles, String value) {
+        if (value != null) {
+            handles.putIfAbsent(value, handles.size() + 1);
+        }
+    }
+
+    private static int ref(Map<String, Integer> handles, String value) {
+        return value == null ? 0 : handles.get(value);
+    }
+
+    private static long readUnsigned(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long readSigned(ByteBuffer in) {
+        var raw = readUnsigned(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+}
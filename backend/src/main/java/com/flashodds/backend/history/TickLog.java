@@ -0,0 +1,294 @@
+package com.flashodds.backend.history;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.flashodds.backend.config.HistoryProperties;
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.OddsRowChange;
+import com.flashodds.backend.service.OddsService;
+import com.flashodds.backend.support.OddsReadModel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Append-only history of every frame {@link OddsService} emits, in memory-mapped segments on
+ * local disk (see {@link TickCodec} for the record format).
+ *
+ * <p>Frames are queued off the refresh path and written by a single thread. Each segment starts
+ * with a checkpoint of the full board, and another is written every checkpoint interval, so a
+ * board can be rebuilt from any segment on its own. If the queue overflows, the writer drops the
+ * frames it missed and checkpoints the current read model instead.
+ */
+@Component
+public class TickLog {
+
+    private static final Logger log = LoggerFactory.getLogger(TickLog.class);
+    /** Every this many deltas get a time-index entry, besides every checkpoint. */
+    private static final int INDEX_EVERY = 64;
+
+    private final HistoryProperties properties;
+    private final OddsService oddsService;
+    private final Path directory;
+    private final List<TickSegment> segments = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean gap = new AtomicBoolean(true);
+    private final Counter checkpoints;
+    private final Counter deltas;
+    private final Counter dropped;
+
+    // Writer thread only.
+    private final Map<String, OddsRow> board = new HashMap<>();
+    private TickSegment active;
+    private long lastSequence = -1;
+    private long lastCheckpoint;
+    private int unindexed;
+
+    private ScheduledExecutorService writer;
+    private Disposable subscription;
+
+    public TickLog(HistoryProperties properties, OddsService oddsService, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.oddsService = oddsService;
+        this.directory = Path.of(properties.directory());
+        this.checkpoints = meterRegistry.counter("flashodds.history.records", "kind", "checkpoint");
+        this.deltas = meterRegistry.counter("flashodds.history.records", "kind", "delta");
+        this.dropped = meterRegistry.counter("flashodds.history.dropped");
+        Gauge.builder("flashodds.history.bytes", this, TickLog::bytes)
+                .description("Disk used by tick log segments and their indexes")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.enabled()) {
+            return;
+        }
+        Files.createDirectories(directory);
+        try (var files = Files.list(directory)) {
+            for (var file : files.filter(TickSegment::isSegment)
+                    .sorted()
+                    .toList()) {
+                segments.add(TickSegment.open(file));
+            }
+        }
+        enforceRetention();
+        writer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("tick-log").daemon().factory());
+        // A quiet board never rolls a segment, so old ones are also aged out on a timer.
+        var every = properties.checkpointInterval().toMillis();
+        writer.scheduleWithFixedDelay(this::expire, every, every, TimeUnit.MILLISECONDS);
+        subscription = oddsService.journal()
+                .onBackpressureBuffer(properties.queueCapacity(), frame -> {
+                    gap.set(true);
+                    dropped.increment();
+                }, BufferOverflowStrategy.DROP_LATEST)
+                .publishOn(Schedulers.fromExecutorService(writer, "tick-log"))
+                .subscribe(this::write, error -> log.error("Tick log writer stopped", error));
+        log.info("Tick log in {} ({} existing segments)", directory.toAbsolutePath(), segments.size());
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (subscription == null) {
+            return;
+        }
+        subscription.dispose();
+        writer.submit(() -> {
+            if (active != null) {
+                active.seal();
+            }
+            return null;
+        }).get(10, TimeUnit.SECONDS);
+        writer.shutdown();
+    }
+
+    /** Records whose timestamp falls in {@code [from, to]}, in order. */
+    public Flux<TickRecord> read(Instant from, Instant to) {
+        return read(from, to, false);
+    }
+
+    /**
+     * Like {@link #read}, but starting at the last checkpoint at or before {@code from}, so the
+     * board as of {@code from} can be rebuilt from the records alone.
+     */
+    public Flux<TickRecord> replay(Instant from, Instant to) {
+        return read(from, to, true);
+    }
+
+    long bytes() {
+        return segments.stream().mapToLong(TickSegment::bytes).sum();
+    }
+
+    private Flux<TickRecord> read(Instant from, Instant to, boolean fromCheckpoint) {
+        return Flux.<TickRecord>create(sink -> {
+            var fromMillis = from.toEpochMilli();
+            var toMillis = to.toEpochMilli();
+            var snapshot = List.copyOf(segments);
+            // The last segment starting at or before from; it may hold records before from.
+            int first = 0;
+            for (int i = 0; i < snapshot.size(); i++) {
+                if (snapshot.get(i).firstTimestamp() <= fromMillis) {
+                    first = i;
+                }
+            }
+            try {
+                for (int i = first; i < snapshot.size(); i++) {
+                    var segment = snapshot.get(i);
+                    if (segment.firstTimestamp() > toMillis) {
+                        break;
+                    }
+                    int offset = TickSegment.HEADER;
+                    long lowerBound = fromMillis;
+                    if (i == first) {
+                        var checkpoint = fromCheckpoint ? segment.lastCheckpointAtOrBefore(fromMillis) : null;
+                        offset = checkpoint != null ? checkpoint.offset() : segment.seek(fromMillis);
+                        lowerBound = checkpoint != null ? checkpoint.timestamp() : fromMillis;
+                    }
+                    segment.read(offset, lowerBound, toMillis, record -> {
+                        sink.next(record);
+                        return !sink.isCancelled();
+                    });
+                    if (sink.isCancelled()) {
+                        return;
+                    }
+                }
+                sink.complete();
+            } catch (IOException ex) {
+                sink.error(new UncheckedIOException(ex));
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private void write(OddsFrame frame) {
+        try {
+            if (frame.type() == OddsFrameType.SNAPSHOT) {
+                gap.set(false);
+                board.clear();
+                apply(frame.rows());
+                checkpoint(frame.sequence(), frame.timestamp());
+                return;
+            }
+            if (gap.getAndSet(false)) {
+                resync();
+            }
+            if (frame.sequence() <= lastSequence) {
+                return;
+            }
+            apply(frame.rows());
+            var record = TickCodec.encode(TickRecord.Kind.DELTA, frame.sequence(), frame.timestamp(), frame.rows());
+            var ts = frame.timestamp().toEpochMilli();
+            var indexed = ++unindexed >= INDEX_EVERY;
+            if (active == null || !active.append(record, frame.sequence(), ts, false, indexed)) {
+                // Out of room: the next segment opens with a checkpoint that already includes this frame.
+                checkpoint(frame.sequence(), frame.timestamp());
+                return;
+            }
+            if (indexed) {
+                unindexed = 0;
+            }
+            lastSequence = frame.sequence();
+            deltas.increment();
+            if (ts - lastCheckpoint >= properties.checkpointInterval().toMillis()) {
+                checkpoint(frame.sequence(), frame.timestamp());
+            }
+        } catch (IOException ex) {
+            log.warn("Could not append frame {} to the tick log", frame.sequence(), ex);
+            gap.set(true);
+        }
+    }
+
+    /** Checkpoints the read model, covering any frames that were dropped from the queue. */
+    private void resync() throws IOException {
+        var model = oddsService.readModel().blockOptional().orElse(OddsReadModel.EMPTY);
+        board.clear();
+        for (var row : model.rows()) {
+            board.put(row.id(), row);
+        }
+        checkpoint(model.version(), Instant.now());
+    }
+
+    private void apply(List<OddsRowChange> changes) {
+        for (var change : changes) {
+            if (change.op().isRemove()) {
+                board.remove(change.id());
+            } else {
+                board.put(change.id(), change.row());
+            }
+        }
+    }
+
+    private void checkpoint(long sequence, Instant timestamp) throws IOException {
+        var rows = new ArrayList<OddsRowChange>(board.size());
+        for (var row : board.values()) {
+            rows.add(new OddsRowChange(OddsRowChange.Operation.UPSERT, row, row.id()));
+        }
+        var record = TickCodec.encode(TickRecord.Kind.CHECKPOINT, sequence, timestamp, rows);
+        var ts = timestamp.toEpochMilli();
+        if (active == null || !active.append(record, sequence, ts, true, true)) {
+            roll(record.length);
+            active.append(record, sequence, ts, true, true);
+        }
+        lastSequence = sequence;
+        lastCheckpoint = ts;
+        unindexed = 0;
+        checkpoints.increment();
+    }
+
+    private void roll(int recordSize) throws IOException {
+        if (active != null) {
+            active.seal();
+        }
+        var capacity = (int) Math.max(properties.segmentSize().toBytes(), TickSegment.HEADER + recordSize + 8L);
+        active = TickSegment.create(directory, capacity);
+        segments.add(active);
+        enforceRetention();
+    }
+
+    private void expire() {
+        try {
+            enforceRetention();
+        } catch (IOException ex) {
+            log.warn("Could not delete expired tick log segments", ex);
+        }
+    }
+
+    private void enforceRetention() throws IOException {
+        var total = bytes();
+        var cutoff = Instant.now().minus(properties.retentionAge()).toEpochMilli();
+        while (segments.size() > 1) {
+            var oldest = segments.getFirst();
+            // Everything in a segment is older than the cutoff once the next one starts before it.
+            if (total <= properties.retentionSize().toBytes() && segments.get(1).firstTimestamp() >= cutoff) {
+                break;
+            }
+            segments.remove(0);
+            total -= oldest.bytes();
+            oldest.delete();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.flashodds.backend.history;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.flashodds.backend.domain.OddsRowChange;
+
+/**
+ * One entry of the tick log: a CHECKPOINT holds every row of the board as of {@code sequence}
+ * (as upserts), a DELTA the changes of one frame.
+ */
+public record TickRecord(
+        Kind kind,
+        long sequence,
+        Instant timestamp,
+        List<OddsRowChange> changes) {
+
+    public TickRecord {
+        changes = changes == null ? List.of() : List.copyOf(changes);
+    }
+
+    public enum Kind {
+        CHECKPOINT,
+        DELTA
+    }
+}
@@ -0,0 +1,282 @@
+package com.flashodds.backend.history;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * One file of the tick log plus its sparse time index ({@code .idx} sidecar). The log file is
+ * preallocated and memory-mapped while active; records are {@code length:u32 body} and a zero
+ * length marks the end. On seal the file is truncated to what was written; a segment a crashed
+ * run never sealed is truncated the same way when it is next opened.
+ *
+ * <p>A single writer appends; readers may read concurrently up to the committed position.
+ */
+final class TickSegment {
+
+    static final int HEADER = 16;
+    private static final Pattern FILE_NAME = Pattern.compile("ticks-\\d{20}\\.log");
+    private static final int MAGIC = 0x464F544C; // "FOTL"
+    private static final int VERSION = 1;
+    private static final int INDEX_ENTRY = 21;
+
+    private final Path file;
+    private final Path indexFile;
+    private final List<IndexEntry> index = new CopyOnWriteArrayList<>();
+
+    private MappedByteBuffer buffer;
+    private FileChannel indexChannel;
+    private volatile int committed;
+    private volatile long size;
+
+    private TickSegment(Path file) {
+        this.file = file;
+        this.indexFile = file.resolveSibling(file.getFileName().toString().replace(".log", ".idx"));
+    }
+
+    /**
+     * A new, empty segment named after its creation time in epoch millis, so segments sort
+     * chronologically across restarts.
+     */
+    static TickSegment create(Path directory, int capacity) throws IOException {
+        var created = System.currentTimeMillis();
+        var file = directory.resolve(String.format("ticks-%020d.log", created));
+        while (Files.exists(file)) {
+            file = directory.resolve(String.format("ticks-%020d.log", ++created));
+        }
+        var segment = new TickSegment(file);
+        try (var raf = new RandomAccessFile(segment.file.toFile(), "rw")) {
+            raf.setLength(capacity);
+            segment.buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+        segment.buffer.putInt(0, MAGIC);
+        segment.buffer.putInt(4, VERSION);
+        segment.buffer.putLong(8, created);
+        segment.committed = HEADER;
+        segment.size = capacity;
+        segment.indexChannel = FileChannel.open(segment.indexFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return segment;
+    }
+
+    static boolean isSegment(Path file) {
+        return FILE_NAME.matcher(file.getFileName().toString()).matches();
+    }
+
+    /** A segment left by an earlier run; its index is loaded from the sidecar. */
+    static TickSegment open(Path file) throws IOException {
+        var segment = new TickSegment(file);
+        var end = truncateAtEnd(file);
+        segment.size = Files.size(file);
+        segment.committed = (int) segment.size;
+        if (Files.exists(segment.indexFile)) {
+            var bytes = ByteBuffer.wrap(Files.readAllBytes(segment.indexFile));
+            while (bytes.remaining() >= INDEX_ENTRY) {
+                var entry = new IndexEntry(bytes.getLong(), bytes.getLong(), bytes.getInt(), bytes.get() != 0);
+                if (entry.offset() < end) {
+                    segment.index.add(entry);
+                }
+            }
+        }
+        return segment;
+    }
+
+    /**
+     * Walks the records to the end marker and cuts the file there, so an unsealed segment stops
+     * holding its preallocated size. A torn last record is dropped and overwritten by the marker.
+     * Returns the marker's offset.
+     */
+    private static long truncateAtEnd(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var size = channel.size();
+            var length = ByteBuffer.allocate(4);
+            long position = HEADER;
+            while (position + 4 <= size) {
+                channel.read(length.clear(), position);
+                int recordLength = length.getInt(0);
+                if (recordLength <= 0 || position + 4 + recordLength > size) {
+                    break;
+                }
+                position += 4 + recordLength;
+            }
+            if (position + 4 < size) {
+                channel.write(ByteBuffer.allocate(4), position);
+                channel.truncate(position + 4);
+            }
+            return position;
+        }
+    }
+
+    /**
+     * Appends one encoded record, indexing it when asked. Returns false, writing nothing, when the
+     * segment has no room left.
+     */
+    boolean append(byte[] record, long sequence, long timestamp, boolean checkpoint, boolean indexed)
+            throws IOException {
+        int position = committed;
+        // Keep four zero bytes after every record as the end marker.
+        if ((long) position + 4 + record.length + 4 > buffer.capacity()) {
+            return false;
+        }
+        buffer.put(position + 4, record);
+        buffer.putInt(position, record.length);
+        committed = position + 4 + record.length;
+        if (indexed) {
+            var entry = new IndexEntry(timestamp, sequence, position, checkpoint);
+            var bytes = ByteBuffer.allocate(INDEX_ENTRY)
+                    .putLong(entry.timestamp())
+                    .putLong(entry.sequence())
+                    .putInt(entry.offset())
+                    .put((byte) (checkpoint ? 1 : 0))
+                    .flip();
+            indexChannel.write(bytes);
+            index.add(entry);
+        }
+        return true;
+    }
+
+    void seal() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        buffer.force();
+        indexChannel.force(false);
+        indexChannel.close();
+        var length = committed + 4L;
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        }
+        size = length;
+        buffer = null;
+        indexChannel = null;
+    }
+
+    boolean isActive() {
+        return buffer != null;
+    }
+
+    /** Epoch millis of the first record, or {@code Long.MAX_VALUE} while the segment is empty. */
+    long firstTimestamp() {
+        return index.isEmpty() ? Long.MAX_VALUE : index.getFirst().timestamp();
+    }
+
+    long bytes() {
+        return size + (long) index.size() * INDEX_ENTRY;
+    }
+
+    IndexEntry lastCheckpointAtOrBefore(long timestamp) {
+        IndexEntry found = null;
+        for (var entry : index) {
+            if (entry.timestamp() > timestamp) {
+                break;
+            }
+            if (entry.checkpoint()) {
+                found = entry;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Records from {@code offset} on whose timestamp is at least {@code fromMillis}, until one is
+     * later than {@code toMillis} or {@code visitor} returns false.
+     */
+    void read(int offset, long fromMillis, long toMillis, Predicate<TickRecord> visitor) throws IOException {
+        var view = view();
+        if (view == null) {
+            return;
+        }
+        int limit = buffer != null ? committed : view.limit();
+        int position = offset;
+        while (position + 4 <= limit) {
+            int length = view.getInt(position);
+            if (length <= 0 || position + 4 + length > limit) {
+                return;
+            }
+            var body = view.slice(position + 4, length);
+            var timestamp = TickCodec.timestamp(body.duplicate());
+            if (timestamp > toMillis) {
+                return;
+            }
+            if (timestamp >= fromMillis && !visitor.test(TickCodec.decode(body))) {
+                return;
+            }
+            position += 4 + length;
+        }
+    }
+
+    /** Reads every record from the first, one at a time. */
+    Reader reader() throws IOException {
+        var view = view();
+        return new Reader(view, view == null ? 0 : buffer != null ? committed : view.limit());
+    }
+
+    /** Offset of the last indexed record at or before {@code timestamp}; the first record otherwise. */
+    int seek(long timestamp) {
+        int offset = HEADER;
+        for (var entry : index) {
+            if (entry.timestamp() > timestamp) {
+                break;
+            }
+            offset = entry.offset();
+        }
+        return offset;
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(indexFile);
+    }
+
+    private ByteBuffer view() throws IOException {
+        var active = buffer;
+        if (active != null) {
+            return active.duplicate();
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException ex) {
+            // Removed by retention while being read.
+            return null;
+        }
+    }
+
+    static final class Reader {
+
+        private final ByteBuffer view;
+        private final int limit;
+        private int position = HEADER;
+
+        private Reader(ByteBuffer view, int limit) {
+            this.view = view;
+            this.limit = limit;
+        }
+
+        /** The next record, or null past the last one. */
+        TickRecord next() {
+            if (view == null || position + 4 > limit) {
+                return null;
+            }
+            int length = view.getInt(position);
+            if (length <= 0 || position + 4 + length > limit) {
+                return null;
+            }
+            var record = TickCodec.decode(view.slice(position + 4, length));
+            position += 4 + length;
+            return record;
+        }
+    }
+
+    record IndexEntry(long timestamp, long sequence, int offset, boolean checkpoint) {
+    }
+}
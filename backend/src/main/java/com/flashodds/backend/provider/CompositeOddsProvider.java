@@ -0,0 +1,149 @@
+package com.flashodds.backend.provider;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flashodds.backend.config.OddsProperties;
+import com.flashodds.backend.domain.OddsRow;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Fetches the configured providers in parallel and merges their rows by a canonical key (sport,
+ * event, book, market, outcome), so the same price quoted by two feeds collapses into one row.
+ * For each key the first provider in {@code providers} wins as long as its row is no older than
+ * {@code maxAge}; otherwise the freshest row is used. A provider that misses the {@code deadline}
+ * or fails contributes its last good rows for the query while they are still within
+ * {@code maxAge}; the fetch only fails when no provider has anything to offer.
+ */
+public final class CompositeOddsProvider implements OddsProvider {
+
+    public static final String NAME = "composite";
+
+    private static final Logger log = LoggerFactory.getLogger(CompositeOddsProvider.class);
+
+    private final List<OddsProvider> providers;
+    private final Duration deadline;
+    private final Duration maxAge;
+    private final MeterRegistry meterRegistry;
+    private final Map<LastGoodKey, List<OddsRow>> lastGood = new ConcurrentHashMap<>();
+
+    public CompositeOddsProvider(List<OddsProvider> providers, OddsProperties.Composite composite,
+            MeterRegistry meterRegistry) {
+        if (providers.isEmpty()) {
+            throw new IllegalArgumentException("Composite provider needs at least one provider");
+        }
+        this.providers = List.copyOf(providers);
+        this.deadline = composite.deadline();
+        this.maxAge = composite.maxAge();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<List<OddsRow>> fetchOdds(OddsQuery query) {
+        return Flux.range(0, providers.size())
+                .flatMap(rank -> fetchOne(rank, query))
+                .collectList()
+                .flatMap(results -> {
+                    var merged = merge(results, Instant.now());
+                    if (merged.isEmpty() && results.stream().allMatch(Result::failed)) {
+                        return Mono.error(new IllegalStateException(
+                                "No odds provider answered within " + deadline));
+                    }
+                    return Mono.just(merged);
+                });
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    private Mono<Result> fetchOne(int rank, OddsQuery query) {
+        var provider = providers.get(rank);
+        var key = new LastGoodKey(provider.name(), query.sports(), query.markets(), query.regions());
+        return provider.fetchOdds(query)
+                .timeout(deadline)
+                .map(rows -> {
+                    lastGood.put(key, rows);
+                    return new Result(rank, rows, false);
+                })
+                .onErrorResume(ex -> {
+                    meterRegistry.counter("flashodds.provider.merge.fallbacks", "provider", provider.name())
+                            .increment();
+                    log.debug("Provider {} missed the merge: {}", provider.name(), ex.toString());
+                    return Mono.just(new Result(rank, lastGood.getOrDefault(key, List.of()), true));
+                });
+    }
+
+    private List<OddsRow> merge(List<Result> results, Instant now) {
+        var ordered = new ArrayList<>(results);
+        ordered.sort((left, right) -> Integer.compare(left.rank, right.rank));
+        var staleBefore = now.minus(maxAge);
+        var merged = new LinkedHashMap<String, OddsRow>();
+        var fresh = new HashMap<String, Boolean>();
+        for (var result : ordered) {
+            for (var row : result.rows) {
+                var isFresh = row.updatedAt() == null || !row.updatedAt().isBefore(staleBefore);
+                if (result.failed && !isFresh) {
+                    continue;
+                }
+                var key = canonicalKey(row);
+                var current = merged.get(key);
+                // Lower rank wins unless it is stale and this row is fresher.
+                if (current == null || (!fresh.get(key) && newer(row, current))) {
+                    merged.put(key, withId(row, key));
+                    fresh.put(key, isFresh);
+                }
+            }
+        }
+        return List.copyOf(merged.values());
+    }
+
+    /**
+     * {@code sport:event:book:market:outcome}, normalized so feeds that spell the same quote
+     * differently agree. The outcome is the last segment of the provider's row id.
+     */
+    private static String canonicalKey(OddsRow row) {
+        var id = row.id();
+        var outcome = id == null ? "" : id.substring(id.lastIndexOf(':') + 1);
+        return String.join(":",
+                normalize(row.sport()),
+                normalize(row.event()),
+                normalize(row.book()),
+                normalize(row.market()),
+                normalize(outcome));
+    }
+
+    private static boolean newer(OddsRow candidate, OddsRow current) {
+        return candidate.updatedAt() != null
+                && (current.updatedAt() == null || candidate.updatedAt().isAfter(current.updatedAt()));
+    }
+
+    private static OddsRow withId(OddsRow row, String id) {
+        return new OddsRow(id, row.sport(), row.event(), row.market(), row.line(), row.price(), row.book(),
+                row.startsAt(), row.updatedAt(), row.extra());
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT).replaceAll("[\\s:]+", "-");
+    }
+
+    private record Result(int rank, List<OddsRow> rows, boolean failed) {
+    }
+
+    private record LastGoodKey(String provider, List<String> sports, List<String> markets, String regions) {
+    }
+}
@@ -6,10 +6,12 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.random.RandomGenerator;
 
 import org.springframework.stereotype.Component;
 
+import com.flashodds.backend.config.OddsProperties;
 import com.flashodds.backend.domain.OddsRow;
 
 import reactor.core.publisher.Mono;
@@ -33,10 +35,23 @@ public class MockOddsProvider implements OddsProvider {
 
     private static final List<String> BOOKS = List.of("FlashBet", "NorthStar", "EdgePlay");
 
-    private final RandomGenerator random = RandomGenerator.of("Xoshiro256PlusPlus");
+    private final SyntheticFeed synthetic;
+
+    public MockOddsProvider(OddsProperties properties) {
+        this.synthetic = properties.mock().events() > 0 ? new SyntheticFeed(properties.mock()) : null;
+    }
 
     @Override
     public Mono<List<OddsRow>> fetchOdds(OddsQuery query) {
+        if (synthetic != null) {
+            var sports = query.sports() == null || query.sports().isEmpty()
+                    ? SyntheticFeed.DEFAULT_SPORTS
+                    : query.sports();
+            var markets = query.markets() == null || query.markets().isEmpty()
+                    ? List.of("h2h", "spreads", "totals")
+                    : query.markets();
+            return Mono.fromSupplier(() -> synthetic.rows(sports, markets, Instant.now()));
+        }
         var rows = new ArrayList<OddsRow>();
         var allowedSports = query.sports() == null || query.sports().isEmpty()
                 ? EVENTS.stream().map(MockEvent::sport).toList()
@@ -86,15 +101,15 @@ public class MockOddsProvider implements OddsProvider {
     private List<OddsRow> spreadRows(MockEvent event, String book, Instant now) {
         return List.of(
                 buildRow(event, book, "spreads", event.homeTeam(),
-                        roundHalf(random.nextDouble(-7.5, -0.5)),
+                        roundHalf(random().nextDouble(-7.5, -0.5)),
                         event.homeTeam()),
                 buildRow(event, book, "spreads", event.awayTeam(),
-                        roundHalf(random.nextDouble(0.5, 7.5)),
+                        roundHalf(random().nextDouble(0.5, 7.5)),
                         event.awayTeam()));
     }
 
     private List<OddsRow> totalRows(MockEvent event, String book, Instant now) {
-        var total = roundHalf(random.nextDouble(180.5, 240.5));
+        var total = roundHalf(random().nextDouble(180.5, 240.5));
         return List.of(
                 buildRow(event, book, "totals", "Over", total, "over"),
                 buildRow(event, book, "totals", "Under", total, "under"));
@@ -119,9 +134,14 @@ public class MockOddsProvider implements OddsProvider {
                         "source", "mock"));
     }
 
+    // Fetches of different slices run concurrently.
+    private static RandomGenerator random() {
+        return ThreadLocalRandom.current();
+    }
+
     private int randomAmericanOdds() {
-        var base = random.nextInt(70, 140);
-        return random.nextBoolean() ? base : -base;
+        var base = random().nextInt(70, 140);
+        return random().nextBoolean() ? base : -base;
     }
 
     private double roundHalf(double value) {
@@ -0,0 +1,160 @@
+package com.flashodds.backend.provider;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import com.flashodds.backend.config.OddsProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Credit budget for The Odds API, driven by the {@code x-requests-remaining/used/last} headers of
+ * every response. Spending is paced so the credits above the reserve last until the quota
+ * resets: each admitted call pushes a pacing cursor forward by {@code cost / affordableRate}, and
+ * ordinary calls are refused once the cursor runs more than {@link #BURST} ahead of now. Priority
+ * calls skip pacing and may spend the reserve. Before any headers have been seen every call is
+ * admitted.
+ */
+@Component
+public class OddsApiBudget {
+
+    static final Duration BURST = Duration.ofMinutes(5);
+
+    private static final Logger log = LoggerFactory.getLogger(OddsApiBudget.class);
+    private static final double BURN_SMOOTHING = 0.2;
+
+    private final int reserve;
+    private final int resetDay;
+    private final Counter throttled;
+
+    private double remaining = Double.NaN;
+    private double used = Double.NaN;
+    private double lastCost = Double.NaN;
+    private Instant observedAt;
+    private double burnPerSecond;
+    private Instant pacedUntil = Instant.MIN;
+    private boolean warnedOverPace;
+
+    public OddsApiBudget(OddsProperties properties, MeterRegistry meterRegistry) {
+        this.reserve = properties.budget().reserve();
+        this.resetDay = properties.budget().resetDay();
+        this.throttled = meterRegistry.counter("flashodds.provider.throttled");
+        Gauge.builder("flashodds.provider.credits.remaining", this, OddsApiBudget::remaining)
+                .description("Provider credits left in the billing period")
+                .register(meterRegistry);
+        Gauge.builder("flashodds.provider.credits.projected", this, budget -> budget.projectedUse(Instant.now()))
+                .description("Credits projected to be used by the end of the billing period at the current burn rate")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether a call of (estimated) {@code cost} credits may go out now. Admitted calls are
+     * charged against the pacing cursor immediately; the headers of the response then correct the
+     * credit counts.
+     */
+    public synchronized boolean admit(int cost, boolean priority, Instant now) {
+        if (Double.isNaN(remaining)) {
+            return true;
+        }
+        var charge = Double.isNaN(lastCost) ? cost : Math.max(cost, lastCost);
+        var floor = priority ? 0 : reserve;
+        if (remaining - charge < floor) {
+            throttled.increment();
+            return false;
+        }
+        var rate = affordableRate(now);
+        if (!priority && rate <= 0) {
+            throttled.increment();
+            return false;
+        }
+        var start = pacedUntil.isAfter(now) ? pacedUntil : now;
+        if (!priority && Duration.between(now, start).compareTo(BURST) > 0) {
+            throttled.increment();
+            return false;
+        }
+        if (rate > 0) {
+            pacedUntil = start.plusMillis((long) Math.ceil(charge / rate * 1000));
+        }
+        remaining -= charge;
+        return true;
+    }
+
+    public synchronized void record(HttpHeaders headers, Instant now) {
+        var newRemaining = number(headers.getFirst("x-requests-remaining"));
+        var newUsed = number(headers.getFirst("x-requests-used"));
+        var cost = number(headers.getFirst("x-requests-last"));
+        if (!Double.isNaN(cost)) {
+            lastCost = cost;
+        }
+        if (!Double.isNaN(newUsed)) {
+            if (!Double.isNaN(used) && observedAt != null && newUsed >= used) {
+                var seconds = Math.max(1, Duration.between(observedAt, now).toSeconds());
+                var sample = (newUsed - used) / seconds;
+                burnPerSecond = burnPerSecond == 0 ? sample : BURN_SMOOTHING * sample + (1 - BURN_SMOOTHING) * burnPerSecond;
+            }
+            used = newUsed;
+            observedAt = now;
+        }
+        if (!Double.isNaN(newRemaining)) {
+            remaining = newRemaining;
+        }
+        var projected = projectedUse(now);
+        if (!warnedOverPace && !Double.isNaN(remaining) && projected > used + remaining) {
+            warnedOverPace = true;
+            log.warn("Odds API burn rate projects {} credits this period but only {} remain; pacing fetches",
+                    Math.round(projected - used), Math.round(remaining));
+        } else if (projected <= used + remaining) {
+            warnedOverPace = false;
+        }
+    }
+
+    synchronized double remaining() {
+        return remaining;
+    }
+
+    synchronized double projectedUse(Instant now) {
+        if (Double.isNaN(used)) {
+            return Double.NaN;
+        }
+        return used + burnPerSecond * untilReset(now).toSeconds();
+    }
+
+    // Credits per second we can spend without touching the reserve before the quota resets.
+    private double affordableRate(Instant now) {
+        var seconds = Math.max(1, untilReset(now).toSeconds());
+        return Math.max(0, remaining - reserve) / seconds;
+    }
+
+    Duration untilReset(Instant now) {
+        var today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        var reset = resetDate(today);
+        if (!reset.atStartOfDay().toInstant(ZoneOffset.UTC).isAfter(now)) {
+            reset = resetDate(today.plusMonths(1));
+        }
+        return Duration.between(now, reset.atStartOfDay().toInstant(ZoneOffset.UTC));
+    }
+
+    private LocalDate resetDate(LocalDate month) {
+        return month.withDayOfMonth(Math.min(resetDay, month.lengthOfMonth()));
+    }
+
+    private static double number(String value) {
+        if (value == null || value.isBlank()) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException ex) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.flashodds.backend.provider;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.flashodds.backend.domain.OddsRow;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Incremental decoder for The Odds API {@code /sports/{sport}/odds} payload. Body chunks are pushed
+ * into Jackson's non-blocking parser as they arrive and turned straight into {@link OddsRow}s;
+ * only the outcomes of the event currently being read are held, because the event's title and
+ * start time may follow its bookmakers in the document.
+ */
+final class OddsApiStreamParser implements AutoCloseable {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final Map<String, Object> EXTRA = Map.of("source", "theoddsapi");
+
+    private final String sport;
+    private final Instant fetchedAt;
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+    private final Deque<Scope> scopes = new ArrayDeque<>();
+
+    private String field;
+    private Event event;
+    private Bookmaker bookmaker;
+    private Market market;
+    private Outcome outcome;
+
+    OddsApiStreamParser(String sport, Instant fetchedAt) {
+        this.sport = sport;
+        this.fetchedAt = fetchedAt;
+        try {
+            this.parser = JSON.createNonBlockingByteBufferParser();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to create odds payload parser", ex);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    static Flux<OddsRow> rows(String sport, Flux<DataBuffer> body) {
+        return Flux.using(
+                () -> new OddsApiStreamParser(sport, Instant.now()),
+                parser -> body.doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                        .concatMapIterable(parser::feed)
+                        .concatWith(Mono.fromCallable(parser::finish).flatMapIterable(rows -> rows)),
+                OddsApiStreamParser::close);
+    }
+
+    /**
+     * Consumes (and releases) one body chunk, returning the rows of every event it completed.
+     */
+    List<OddsRow> feed(DataBuffer buffer) {
+        var rows = new ArrayList<OddsRow>();
+        try (var chunks = buffer.readableByteBuffers()) {
+            while (chunks.hasNext()) {
+                feeder.feedInput(chunks.next());
+                drain(rows);
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Malformed odds payload for " + sport, ex);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+        return rows;
+    }
+
+    List<OddsRow> finish() {
+        var rows = new ArrayList<OddsRow>();
+        feeder.endOfInput();
+        try {
+            drain(rows);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Malformed odds payload for " + sport, ex);
+        }
+        if (!scopes.isEmpty()) {
+            throw new IllegalStateException("Truncated odds payload for " + sport);
+        }
+        return rows;
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void drain(List<OddsRow> rows) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case FIELD_NAME -> field = parser.currentName();
+                case START_OBJECT, START_ARRAY -> {
+                    scopes.push(enter(token == JsonToken.START_OBJECT));
+                    field = null;
+                }
+                case END_OBJECT, END_ARRAY -> exit(scopes.pop(), rows);
+                default -> value(token);
+            }
+        }
+    }
+
+    private Scope enter(boolean object) {
+        var parent = scopes.peek();
+        if (parent == null) {
+            return object ? Scope.SKIP : Scope.EVENTS;
+        }
+        return switch (parent) {
+            case EVENTS -> object ? startEvent() : Scope.SKIP;
+            case EVENT -> !object && "bookmakers".equals(field) ? Scope.BOOKMAKERS : Scope.SKIP;
+            case BOOKMAKERS -> object ? startBookmaker() : Scope.SKIP;
+            case BOOKMAKER -> !object && "markets".equals(field) ? Scope.MARKETS : Scope.SKIP;
+            case MARKETS -> object ? startMarket() : Scope.SKIP;
+            case MARKET -> !object && "outcomes".equals(field) ? Scope.OUTCOMES : Scope.SKIP;
+            case OUTCOMES -> object ? startOutcome() : Scope.SKIP;
+            case OUTCOME, SKIP -> Scope.SKIP;
+        };
+    }
+
+    private void exit(Scope scope, List<OddsRow> rows) {
+        if (scope == Scope.OUTCOME) {
+            event.outcomes.add(outcome);
+            outcome = null;
+        } else if (scope == Scope.EVENT) {
+            event.emit(rows);
+            event = null;
+        }
+    }
+
+    private void value(JsonToken token) throws IOException {
+        var scope = scopes.peek();
+        if (scope == null || field == null) {
+            return;
+        }
+        switch (scope) {
+            case EVENT -> {
+                switch (field) {
+                    case "id" -> event.id = text(token);
+                    case "sport_key" -> event.sportKey = text(token);
+                    case "sport_title" -> event.sportTitle = text(token);
+                    case "home_team" -> event.homeTeam = text(token);
+                    case "away_team" -> event.awayTeam = text(token);
+                    case "commence_time" -> event.commence = instant(token);
+                    default -> {
+                    }
+                }
+            }
+            case BOOKMAKER -> {
+                switch (field) {
+                    case "key" -> bookmaker.key = text(token);
+                    case "title" -> bookmaker.title = text(token);
+                    default -> {
+                    }
+                }
+            }
+            case MARKET -> {
+                if ("key".equals(field)) {
+                    market.key = text(token);
+                }
+            }
+            case OUTCOME -> {
+                switch (field) {
+                    case "name" -> outcome.name = text(token);
+                    case "price" -> outcome.price = number(token);
+                    case "point" -> outcome.point = number(token);
+                    default -> {
+                    }
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private Scope startEvent() {
+        event = new Event();
+        return Scope.EVENT;
+    }
+
+    private Scope startBookmaker() {
+        bookmaker = new Bookmaker();
+        return Scope.BOOKMAKER;
+    }
+
+    private Scope startMarket() {
+        market = new Market();
+        return Scope.MARKET;
+    }
+
+    private Scope startOutcome() {
+        outcome = new Outcome(bookmaker, market);
+        return Scope.OUTCOME;
+    }
+
+    private String text(JsonToken token) throws IOException {
+        return token == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+
+    private Double number(JsonToken token) throws IOException {
+        return token.isNumeric() ? parser.getDoubleValue() : null;
+    }
+
+    private Instant instant(JsonToken token) throws IOException {
+        if (token.isNumeric()) {
+            return Instant.ofEpochSecond(parser.getLongValue());
+        }
+        var text = text(token);
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        try {
+            return Instant.parse(text);
+        } catch (RuntimeException ignored) {
+        }
+        try {
+            return Instant.ofEpochSecond((long) Double.parseDouble(text));
+        } catch (RuntimeException ignored) {
+        }
+        return null;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT).replace(" ", "-");
+    }
+
+    private static Integer toAmericanOdds(Double value) {
+        if (value == null || value.isNaN()) {
+            return null;
+        }
+        return (int) Math.round(value);
+    }
+
+    private enum Scope {
+        EVENTS, EVENT, BOOKMAKERS, BOOKMAKER, MARKETS, MARKET, OUTCOMES, OUTCOME, SKIP
+    }
+
+    private final class Event {
+
+        private final List<Outcome> outcomes = new ArrayList<>();
+        private String id;
+        private String sportKey;
+        private String sportTitle;
+        private String homeTeam;
+        private String awayTeam;
+        private Instant commence;
+
+        void emit(List<OddsRow> rows) {
+            var title = title();
+            var startsAt = commence != null ? commence : Instant.now();
+            for (var outcome : outcomes) {
+                var book = outcome.bookmaker;
+                var rowId = String.join(":", sport, String.valueOf(id), String.valueOf(book.key),
+                        String.valueOf(outcome.market.key), normalize(outcome.name));
+                rows.add(new OddsRow(
+                        rowId,
+                        sport,
+                        title,
+                        outcome.market.key,
+                        outcome.point,
+                        toAmericanOdds(outcome.price),
+                        book.title == null || book.title.isBlank() ? book.key : book.title,
+                        startsAt,
+                        fetchedAt,
+                        EXTRA));
+            }
+        }
+
+        private String title() {
+            if (homeTeam != null && awayTeam != null && !homeTeam.isBlank() && !awayTeam.isBlank()) {
+                return homeTeam + " vs " + awayTeam;
+            }
+            if (sportTitle != null && !sportTitle.isBlank()) {
+                return sportTitle;
+            }
+            return sportKey != null ? sportKey : "event";
+        }
+    }
+
+    private static final class Bookmaker {
+        private String key;
+        private String title;
+    }
+
+    private static final class Market {
+        private String key;
+    }
+
+    private static final class Outcome {
+
+        private final Bookmaker bookmaker;
+        private final Market market;
+        private String name;
+        private Double price;
+        private Double point;
+
+        Outcome(Bookmaker bookmaker, Market market) {
+            this.bookmaker = bookmaker;
+            this.market = market;
+        }
+    }
+}
@@ -1,26 +1,42 @@
 package com.flashodds.backend.provider;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
+import com.flashodds.backend.config.OddsProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Providers by name. When {@code app.odds.provider} is {@code composite}, the
+ * {@link CompositeOddsProvider} over the configured members is registered alongside them; a
+ * missing or unknown member fails startup rather than merging fewer feeds than asked for.
+ */
 @Component
 public class OddsProviderRegistry {
 
     private final Map<String, OddsProvider> providers;
 
-    public OddsProviderRegistry(java.util.List<OddsProvider> providers) {
-        this.providers = providers.stream()
-                .collect(Collectors.toUnmodifiableMap(
-                        provider -> provider.name().toLowerCase(Locale.ROOT),
-                        provider -> provider));
+    public OddsProviderRegistry(List<OddsProvider> providers, OddsProperties properties,
+            MeterRegistry meterRegistry) {
+        var byName = new HashMap<String, OddsProvider>();
+        for (var provider : providers) {
+            byName.put(key(provider.name()), provider);
+        }
+        if (CompositeOddsProvider.NAME.equalsIgnoreCase(properties.provider())) {
+            byName.put(CompositeOddsProvider.NAME, new CompositeOddsProvider(
+                    members(byName, properties.composite()), properties.composite(), meterRegistry));
+        }
+        this.providers = Map.copyOf(byName);
     }
 
     public OddsProvider get(String name) {
-        var key = name.toLowerCase(Locale.ROOT);
-        var provider = providers.get(key);
+        var provider = providers.get(key(name));
         if (provider == null) {
             throw new IllegalArgumentException("Unknown odds provider: " + name);
         }
@@ -30,4 +46,25 @@ public class OddsProviderRegistry {
     public Map<String, OddsProvider> all() {
         return providers;
     }
+
+    private static List<OddsProvider> members(Map<String, OddsProvider> providers,
+            OddsProperties.Composite settings) {
+        if (settings.providers().isEmpty()) {
+            throw new IllegalStateException(
+                    "app.odds.composite.providers must name at least one provider to merge");
+        }
+        var members = new ArrayList<OddsProvider>();
+        for (var name : settings.providers()) {
+            var member = providers.get(key(name));
+            if (member == null || CompositeOddsProvider.NAME.equals(key(name))) {
+                throw new IllegalStateException("Unknown composite odds provider member: " + name);
+            }
+            members.add(member);
+        }
+        return members;
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
 }
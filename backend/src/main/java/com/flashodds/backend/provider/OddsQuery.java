@@ -2,8 +2,17 @@ package com.flashodds.backend.provider;
 
 import java.util.List;
 
+/**
+ * @param priority whether the caller needs this data now (live or imminent events), allowing
+ *                 providers with a credit budget to spend their reserve on it
+ */
 public record OddsQuery(
         List<String> sports,
         List<String> markets,
-        String regions) {
+        String regions,
+        boolean priority) {
+
+    public OddsQuery(List<String> sports, List<String> markets, String regions) {
+        this(sports, markets, regions, false);
+    }
 }
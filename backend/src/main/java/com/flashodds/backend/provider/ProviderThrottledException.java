@@ -0,0 +1,12 @@
+package com.flashodds.backend.provider;
+
+/**
+ * A provider declined or was refused a fetch for quota reasons. Callers keep the rows they have
+ * rather than treating the missing data as removals.
+ */
+public class ProviderThrottledException extends RuntimeException {
+
+    public ProviderThrottledException(String message) {
+        super(message);
+    }
+}
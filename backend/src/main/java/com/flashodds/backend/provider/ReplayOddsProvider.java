@@ -0,0 +1,187 @@
+package com.flashodds.backend.provider;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.flashodds.backend.config.HistoryProperties;
+import com.flashodds.backend.config.OddsProperties;
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.history.TickCapture;
+import com.flashodds.backend.history.TickRecord;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Plays a tick log capture back as a live feed. The capture's clock starts at its first record
+ * when the provider is first fetched and runs {@code speed} times faster than wall time; each
+ * fetch returns the board as of the capture's current time, so the diff stage sees the recorded
+ * changes with their original spacing, compressed by {@code speed}. With speed 0 the capture
+ * advances one recorded frame per refresh round instead: a query asking again for the frame it
+ * was already served moves every slice on to the next one, so slices polled in the same round all
+ * see the same frame.
+ *
+ * <p>Start and update times are shifted by the wall time elapsed since the capture's first
+ * record, so recorded events are still in the future. At the end of the capture it starts over
+ * when {@code loop} is set, and otherwise keeps serving the last board.
+ *
+ * <p>When it is the configured provider (or a composite member) the capture directory must be
+ * set, and must not be the directory the tick log is recording to, or the replay would be
+ * recorded over itself.
+ */
+@Component
+public class ReplayOddsProvider implements OddsProvider {
+
+    public static final String NAME = "replay";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplayOddsProvider.class);
+
+    private final Path directory;
+    private final double speed;
+    private final boolean loop;
+    private final Counter replayed;
+
+    // Guarded by this.
+    private final Map<String, OddsRow> board = new LinkedHashMap<>();
+    private TickCapture capture;
+    private TickRecord pending;
+    private final Set<OddsQuery> servedFrame = new HashSet<>();
+    private Instant recordedStart;
+    private Instant wallStart;
+
+    public ReplayOddsProvider(OddsProperties properties, HistoryProperties history, MeterRegistry meterRegistry) {
+        var configured = properties.replay().directory();
+        this.directory = configured == null ? null : Path.of(configured).toAbsolutePath().normalize();
+        if (isSelected(properties)) {
+            if (directory == null) {
+                throw new IllegalStateException("app.odds.replay.directory must name the capture to replay");
+            }
+            if (history.enabled() && directory.equals(Path.of(history.directory()).toAbsolutePath().normalize())) {
+                throw new IllegalStateException("app.odds.replay.directory " + directory
+                        + " is the directory the tick log records to; disable app.history or record elsewhere");
+            }
+        }
+        this.speed = properties.replay().speed();
+        this.loop = properties.replay().loop();
+        this.replayed = meterRegistry.counter("flashodds.replay.records");
+    }
+
+    @Override
+    public Mono<List<OddsRow>> fetchOdds(OddsQuery query) {
+        return Mono.fromCallable(() -> advance(query, Instant.now()))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    /** Moves the capture forward to {@code now} and returns the matching rows of its board. */
+    synchronized List<OddsRow> advance(OddsQuery query, Instant now) throws IOException {
+        var key = key(query);
+        var due = speed > 0 || servedFrame.contains(key);
+        if (capture == null || (due && pending == null && loop)) {
+            rewind(now);
+        } else if (speed <= 0 && due) {
+            applyPending();
+        }
+        if (speed <= 0) {
+            servedFrame.add(key);
+        } else {
+            var elapsed = Duration.between(wallStart, now).toNanos();
+            var target = recordedStart.plusNanos((long) (elapsed * speed));
+            while (pending != null && !pending.timestamp().isAfter(target)) {
+                applyPending();
+            }
+        }
+        var shift = Duration.between(recordedStart, wallStart);
+        var rows = new ArrayList<OddsRow>();
+        for (var row : board.values()) {
+            if (matches(query, row)) {
+                rows.add(shift(row, shift));
+            }
+        }
+        return rows;
+    }
+
+    private void rewind(Instant now) throws IOException {
+        if (directory == null) {
+            throw new IOException("No replay capture configured (app.odds.replay.directory)");
+        }
+        capture = TickCapture.open(directory);
+        board.clear();
+        pending = capture.next();
+        if (pending == null) {
+            throw new IOException("Tick log capture in " + directory.toAbsolutePath() + " is empty");
+        }
+        recordedStart = pending.timestamp();
+        wallStart = now;
+        applyPending();
+        log.info("Replaying {} from {} at {}x", directory.toAbsolutePath(), recordedStart, speed);
+    }
+
+    private void applyPending() throws IOException {
+        if (pending == null) {
+            return;
+        }
+        if (pending.kind() == TickRecord.Kind.CHECKPOINT) {
+            board.clear();
+        }
+        for (var change : pending.changes()) {
+            if (change.op().isRemove()) {
+                board.remove(change.id());
+            } else {
+                board.put(change.id(), change.row());
+            }
+        }
+        replayed.increment();
+        pending = capture.next();
+        servedFrame.clear();
+    }
+
+    // Priority only affects budgeting, so it does not make a different query.
+    private static OddsQuery key(OddsQuery query) {
+        return new OddsQuery(query.sports(), query.markets(), query.regions());
+    }
+
+    private static boolean isSelected(OddsProperties properties) {
+        return NAME.equalsIgnoreCase(properties.provider())
+                || (CompositeOddsProvider.NAME.equalsIgnoreCase(properties.provider())
+                        && properties.composite().providers().stream().anyMatch(NAME::equalsIgnoreCase));
+    }
+
+    private static boolean matches(OddsQuery query, OddsRow row) {
+        return contains(query.sports(), row.sport()) && contains(query.markets(), row.market());
+    }
+
+    private static boolean contains(List<String> allowed, String value) {
+        if (allowed == null || allowed.isEmpty()) {
+            return true;
+        }
+        var normalized = value == null ? "" : value.toLowerCase(Locale.ROOT);
+        return allowed.stream().anyMatch(candidate -> candidate.toLowerCase(Locale.ROOT).equals(normalized));
+    }
+
+    private static OddsRow shift(OddsRow row, Duration shift) {
+        return new OddsRow(row.id(), row.sport(), row.event(), row.market(), row.line(), row.price(), row.book(),
+                row.startsAt() == null ? null : row.startsAt().plus(shift),
+                row.updatedAt() == null ? null : row.updatedAt().plus(shift),
+                row.extra());
+    }
+}
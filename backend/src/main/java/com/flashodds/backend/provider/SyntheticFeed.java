@@ -0,0 +1,257 @@
+package com.flashodds.backend.provider;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import com.flashodds.backend.config.OddsProperties;
+import com.flashodds.backend.domain.OddsRow;
+
+/**
+ * Synthetic board for load testing, sized by {@link OddsProperties.Mock}. Every (event, book,
+ * market) is a two-way market whose probability follows a random walk around an event-level fair
+ * value, stepping harder once the event is live; spreads and totals occasionally move their line
+ * by half a point. Events run for {@code eventDuration} after they start and are then replaced by
+ * a new event further out, so rows come and go as they would on a real board.
+ *
+ * <p>State lives in primitive arrays per (sport, market) and rows are rebuilt only when they
+ * move, so a fetch costs the moves since the previous one rather than the board size. Each sport
+ * has its own seeded generator and lock, so boards are reproducible for a given seed and fetch
+ * schedule, and slices of different sports are generated in parallel.
+ */
+final class SyntheticFeed {
+
+    static final List<String> DEFAULT_SPORTS = List.of("nfl", "nba", "nhl", "mlb");
+    private static final List<String> MARKETS = List.of("h2h", "spreads", "totals");
+    private static final List<String> NAMED_BOOKS = List.of("FlashBet", "NorthStar", "EdgePlay");
+    /** Overround of every generated two-way market. */
+    private static final double MARGIN = 1.045;
+    private static final double STEP = 0.01;
+    private static final double LIVE_STEP = 0.03;
+    private static final double LINE_MOVE_CHANCE = 0.1;
+
+    private final OddsProperties.Mock config;
+    private final List<String> books;
+    private final Map<String, Sport> sports = new ConcurrentHashMap<>();
+
+    SyntheticFeed(OddsProperties.Mock config) {
+        this.config = config;
+        var names = new ArrayList<String>();
+        for (int i = 0; i < config.books(); i++) {
+            names.add(i < NAMED_BOOKS.size() ? NAMED_BOOKS.get(i) : String.format("Book%02d", i + 1));
+        }
+        this.books = List.copyOf(names);
+    }
+
+    List<OddsRow> rows(List<String> sports, List<String> markets, Instant now) {
+        var rows = new ArrayList<OddsRow>();
+        for (var sport : sports) {
+            var key = sport.toLowerCase(Locale.ROOT);
+            this.sports.computeIfAbsent(key, name -> new Sport(name, now)).rows(markets, now, rows);
+        }
+        return rows;
+    }
+
+    private static int american(double implied) {
+        var q = Math.clamp(implied, 0.01, 0.99);
+        return q >= 0.5
+                ? (int) -Math.round(100 * q / (1 - q))
+                : (int) Math.round(100 * (1 - q) / q);
+    }
+
+    private static double roundHalf(double value) {
+        return Math.round(value * 2.0) / 2.0;
+    }
+
+    private record Event(String key, String display, Instant startsAt, int generation) {
+    }
+
+    private final class Sport {
+
+        private final String name;
+        private final String league;
+        private final RandomGenerator random;
+        private final Event[] events;
+        private final double[] fair;
+        private final Map<String, Slice> slices = new HashMap<>();
+
+        Sport(String name, Instant now) {
+            this.name = name;
+            this.league = name.toUpperCase(Locale.ROOT);
+            this.random = RandomGeneratorFactory.of("L64X128MixRandom").create(config.seed() ^ name.hashCode());
+            this.events = new Event[config.events()];
+            this.fair = new double[config.events()];
+            var duration = config.eventDuration().toSeconds();
+            for (int slot = 0; slot < events.length; slot++) {
+                // Spread over the horizon, a few already under way.
+                schedule(slot, 0, now.plusSeconds(random.nextLong(-duration, config.horizon().toSeconds() + 1)));
+            }
+        }
+
+        synchronized void rows(List<String> markets, Instant now, List<OddsRow> out) {
+            for (int slot = 0; slot < events.length; slot++) {
+                var event = events[slot];
+                if (!now.isBefore(event.startsAt().plus(config.eventDuration()))) {
+                    var horizon = config.horizon().toSeconds();
+                    schedule(slot, event.generation() + 1, now.plusSeconds(random.nextLong(horizon / 2, horizon + 1)));
+                }
+            }
+            for (var market : markets) {
+                var key = market.toLowerCase(Locale.ROOT);
+                if (MARKETS.contains(key)) {
+                    slices.computeIfAbsent(key, m -> new Slice(this, m, now)).advance(now, out);
+                }
+            }
+        }
+
+        private void schedule(int slot, int generation, Instant startsAt) {
+            events[slot] = new Event(
+                    "ev" + slot + "-" + generation,
+                    String.format("%s Home %d-%d vs %s Away %d-%d", league, slot, generation, league, slot, generation),
+                    startsAt,
+                    generation);
+            fair[slot] = random.nextDouble(0.25, 0.75);
+        }
+
+        double spread() {
+            return switch (name) {
+                case "nhl", "mlb" -> random.nextBoolean() ? -1.5 : 1.5;
+                default -> roundHalf(random.nextDouble(-10.5, 10.5));
+            };
+        }
+
+        double total() {
+            return switch (name) {
+                case "nfl" -> roundHalf(random.nextDouble(37.5, 55.5));
+                case "nba" -> roundHalf(random.nextDouble(205.5, 240.5));
+                case "nhl" -> roundHalf(random.nextDouble(5.0, 7.0));
+                case "mlb" -> roundHalf(random.nextDouble(7.0, 10.5));
+                default -> roundHalf(random.nextDouble(2.5, 60.5));
+            };
+        }
+    }
+
+    /** One market of one sport: a (probability, line) pair per event and book, and its two rows. */
+    private final class Slice {
+
+        private final Sport sport;
+        private final String market;
+        private final int[] generation;
+        private final double[] probability;
+        private final double[] line;
+        private final OddsRow[] rows;
+        private Instant lastAdvance;
+        private double carry;
+
+        Slice(Sport sport, String market, Instant now) {
+            this.sport = sport;
+            this.market = market;
+            int pairs = sport.events.length * books.size();
+            this.generation = new int[sport.events.length];
+            this.probability = new double[pairs];
+            this.line = new double[pairs];
+            this.rows = new OddsRow[pairs * 2];
+            for (int slot = 0; slot < sport.events.length; slot++) {
+                reset(slot, now);
+            }
+            this.lastAdvance = now;
+        }
+
+        void advance(Instant now, List<OddsRow> out) {
+            for (int slot = 0; slot < generation.length; slot++) {
+                if (generation[slot] != sport.events[slot].generation()) {
+                    reset(slot, now);
+                }
+            }
+            var elapsed = Math.max(0, Duration.between(lastAdvance, now).toMillis()) / 1000.0;
+            var moves = config.churn() * probability.length * elapsed + carry;
+            var count = (int) Math.min(moves, probability.length);
+            carry = count < probability.length ? moves - count : 0;
+            for (int i = 0; i < count; i++) {
+                move(sport.random.nextInt(probability.length), now);
+            }
+            lastAdvance = now;
+            out.addAll(Arrays.asList(rows));
+        }
+
+        private void reset(int slot, Instant now) {
+            generation[slot] = sport.events[slot].generation();
+            var baseLine = switch (market) {
+                case "spreads" -> sport.spread();
+                case "totals" -> sport.total();
+                default -> 0.0;
+            };
+            for (int book = 0; book < books.size(); book++) {
+                int pair = slot * books.size() + book;
+                probability[pair] = market.equals("h2h") ? sport.fair[slot] + sport.random.nextGaussian() * STEP : 0.5;
+                line[pair] = baseLine;
+                build(pair, now);
+            }
+        }
+
+        private void move(int pair, Instant now) {
+            int slot = pair / books.size();
+            var live = !now.isBefore(sport.events[slot].startsAt());
+            var step = live ? LIVE_STEP : STEP;
+            if (market.equals("h2h")) {
+                // The event's fair value drifts; each book reverts toward it with its own noise.
+                sport.fair[slot] = Math.clamp(sport.fair[slot] + sport.random.nextGaussian() * step / 2, 0.03, 0.97);
+                probability[pair] += 0.3 * (sport.fair[slot] - probability[pair]) + sport.random.nextGaussian() * step / 2;
+            } else if (sport.random.nextDouble() < LINE_MOVE_CHANCE) {
+                line[pair] += sport.random.nextBoolean() ? 0.5 : -0.5;
+                probability[pair] = 0.5;
+            } else {
+                probability[pair] += 0.3 * (0.5 - probability[pair]) + sport.random.nextGaussian() * step / 2;
+            }
+            probability[pair] = Math.clamp(probability[pair], 0.03, 0.97);
+            build(pair, now);
+        }
+
+        private void build(int pair, Instant now) {
+            var event = sport.events[pair / books.size()];
+            var book = books.get(pair % books.size());
+            var p = probability[pair];
+            switch (market) {
+                case "h2h" -> {
+                    rows[2 * pair] = row(event, book, "home", "Home", null, p, now);
+                    rows[2 * pair + 1] = row(event, book, "away", "Away", null, 1 - p, now);
+                }
+                case "spreads" -> {
+                    rows[2 * pair] = row(event, book, "home", "Home", line[pair], p, now);
+                    rows[2 * pair + 1] = row(event, book, "away", "Away", -line[pair], 1 - p, now);
+                }
+                default -> {
+                    rows[2 * pair] = row(event, book, "over", "Over", line[pair], p, now);
+                    rows[2 * pair + 1] = row(event, book, "under", "Under", line[pair], 1 - p, now);
+                }
+            }
+        }
+
+        private OddsRow row(Event event, String book, String runner, String participant, Double line,
+                double probability, Instant now) {
+            return new OddsRow(
+                    sport.name + ":" + sport.league + ":" + event.key() + ":" + book.toLowerCase(Locale.ROOT) + ":"
+                            + market + ":" + runner,
+                    sport.name,
+                    event.display(),
+                    market,
+                    line,
+                    american(probability * MARGIN),
+                    book,
+                    event.startsAt(),
+                    now,
+                    Map.of(
+                            "league", sport.league,
+                            "participant", participant,
+                            "source", "synthetic"));
+        }
+    }
+}
@@ -1,14 +1,11 @@
 package com.flashodds.backend.provider;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -16,8 +13,6 @@ import org.springframework.web.reactive.function.client.WebClientResponseExcepti
 
 import com.flashodds.backend.config.OddsProperties;
 import com.flashodds.backend.domain.OddsRow;
-import com.flashodds.backend.provider.dto.OddsApiBookmaker;
-import com.flashodds.backend.provider.dto.OddsApiEvent;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -26,17 +21,17 @@ import reactor.core.publisher.Mono;
 public class TheOddsApiProvider implements OddsProvider {
 
     private static final Logger log = LoggerFactory.getLogger(TheOddsApiProvider.class);
-    private static final ParameterizedTypeReference<List<OddsApiEvent>> RESPONSE_TYPE =
-            new ParameterizedTypeReference<>() {};
 
     private final WebClient webClient;
     private final OddsProperties properties;
+    private final OddsApiBudget budget;
 
-    public TheOddsApiProvider(WebClient oddsWebClient, OddsProperties properties) {
+    public TheOddsApiProvider(WebClient oddsWebClient, OddsProperties properties, OddsApiBudget budget) {
         this.webClient = oddsWebClient.mutate()
                 .baseUrl("https://api.the-odds-api.com/v4")
                 .build();
         this.properties = properties;
+        this.budget = budget;
     }
 
     @Override
@@ -51,7 +46,20 @@ public class TheOddsApiProvider implements OddsProvider {
                 .map(list -> list.stream().flatMap(List::stream).toList());
     }
 
+    /**
+     * Rows for one sport. Throttling, 429s, server errors and unreadable payloads fail the fetch so
+     * the caller keeps its last rows; only a definitive client error (e.g. an unknown sport key)
+     * is treated as "no odds".
+     */
     private Mono<List<OddsRow>> fetchSport(String sport, OddsQuery query) {
+        // Each market in each region costs one credit.
+        var cost = Math.max(1, query.markets().size()) * Math.max(1, query.regions().split(",").length);
+        return Mono.defer(() -> budget.admit(cost, query.priority(), Instant.now())
+                ? fetchAdmitted(sport, query)
+                : Mono.error(new ProviderThrottledException("Odds API budget exhausted for " + sport)));
+    }
+
+    private Mono<List<OddsRow>> fetchAdmitted(String sport, OddsQuery query) {
         return webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/sports/{sport}/odds")
@@ -61,94 +69,31 @@ public class TheOddsApiProvider implements OddsProvider {
                         .queryParam("oddsFormat", "american")
                         .queryParam("dateFormat", "unix")
                         .build(sport))
-                .retrieve()
-                .bodyToMono(RESPONSE_TYPE)
-                .map(events -> mapEvents(sport, events))
-                .onErrorResume(WebClientResponseException.class, ex -> {
+                .exchangeToFlux(response -> {
+                    budget.record(response.headers().asHttpHeaders(), Instant.now());
+                    if (response.statusCode().isError()) {
+                        return response.<OddsRow>createError().flux();
+                    }
+                    // Decoded chunk by chunk straight into rows: no DTO tree, no in-memory size cap.
+                    return OddsApiStreamParser.rows(sport, response.bodyToFlux(DataBuffer.class));
+                })
+                .collectList()
+                .onErrorMap(WebClientResponseException.class, ex -> {
                     if (ex.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
                         log.warn("The Odds API rate limit reached: {}", ex.getMessage());
-                    } else {
-                        log.warn("The Odds API error [{}]: {}", ex.getStatusCode(), ex.getResponseBodyAsString());
+                        return new ProviderThrottledException("Odds API rate limit reached for " + sport);
                     }
-                    return Mono.just(List.of());
+                    return ex;
                 })
-                .onErrorResume(ex -> {
-                    log.warn("Failed to fetch odds for sport {}: {}", sport, ex.getMessage());
-                    return Mono.just(List.of());
+                .onErrorResume(WebClientResponseException.class, ex -> {
+                    if (ex.getStatusCode().is4xxClientError()) {
+                        log.warn("The Odds API error [{}]: {}", ex.getStatusCode(), ex.getResponseBodyAsString());
+                        return Mono.just(List.of());
+                    }
+                    return Mono.error(ex);
                 });
     }
 
-    private List<OddsRow> mapEvents(String sport, List<OddsApiEvent> events) {
-        var rows = new ArrayList<OddsRow>();
-        for (var event : events) {
-            var id = event.id();
-            var commence = event.commenceInstant();
-            var title = event.displayTitle();
-            var bookmakers = event.bookmakers();
-            if (bookmakers == null) {
-                continue;
-            }
-            for (var book : bookmakers) {
-                rows.addAll(mapMarkets(sport, id, title, commence, book));
-            }
-        }
-        return rows;
-    }
-
-    private List<OddsRow> mapMarkets(
-            String sport,
-            String eventKey,
-            String title,
-            Instant commence,
-            OddsApiBookmaker bookmaker) {
-        var rows = new ArrayList<OddsRow>();
-        if (bookmaker.markets() == null) {
-            return rows;
-        }
-        for (var market : bookmaker.markets()) {
-            var marketKey = market.key();
-            var outcomes = market.outcomes();
-            if (outcomes == null) {
-                continue;
-            }
-            for (var outcome : outcomes) {
-                var outcomeName = outcome.name();
-                var price = toAmericanOdds(outcome.price());
-                var point = outcome.point();
-                var rowId = String.join(":",
-                        List.of(
-                                sport,
-                                eventKey,
-                                bookmaker.key(),
-                                marketKey,
-                                normalize(outcomeName)));
-                rows.add(new OddsRow(
-                        rowId,
-                        sport,
-                        title,
-                        marketKey,
-                        point,
-                        price,
-                        bookmaker.title() == null || bookmaker.title().isBlank() ? bookmaker.key() : bookmaker.title(),
-                        commence,
-                        Instant.now(),
-                        Map.of("source", "theoddsapi")));
-            }
-        }
-        return rows;
-    }
-
-    private Integer toAmericanOdds(Double value) {
-        if (value == null || value.isNaN()) {
-            return null;
-        }
-        return (int) Math.round(value);
-    }
-
-    private String normalize(String text) {
-        return text == null ? "" : text.toLowerCase(Locale.ROOT).replace(" ", "-");
-    }
-
     @Override
     public String name() {
         return "theoddsapi";
@@ -0,0 +1,132 @@
+package com.flashodds.backend.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.support.FrameConflator;
+
+import reactor.core.publisher.FluxSink;
+
+/**
+ * One stream subscriber with its own bounded queue. Frames are handed over only as the subscriber
+ * requests them; when it falls {@code capacity} frames behind, pending deltas are folded into a
+ * single delta, and once that fold grows past {@code conflationLimit} rows the queue is replaced by
+ * the current snapshot. A slow subscriber therefore never holds back anyone else.
+ */
+final class ConflatingSubscriber {
+
+    private final FluxSink<OddsFrame> sink;
+    private final Supplier<OddsFrame> snapshots;
+    private final int capacity;
+    private final int conflationLimit;
+    private final StreamListener listener;
+
+    private final ArrayDeque<OddsFrame> pending = new ArrayDeque<>();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private long delivered;
+    private long conflations;
+    private long resnapshots;
+
+    ConflatingSubscriber(
+            FluxSink<OddsFrame> sink,
+            Supplier<OddsFrame> snapshots,
+            int capacity,
+            int conflationLimit,
+            StreamListener listener) {
+        this.sink = sink;
+        this.snapshots = snapshots;
+        this.capacity = capacity;
+        this.conflationLimit = conflationLimit;
+        this.listener = listener;
+    }
+
+    void offer(OddsFrame frame) {
+        synchronized (pending) {
+            if (frame.type() == OddsFrameType.SNAPSHOT) {
+                pending.clear();
+                pending.add(frame);
+            } else if (pending.size() < capacity) {
+                pending.add(frame);
+            } else {
+                fold(frame);
+            }
+        }
+        drain();
+    }
+
+    void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (sink.requestedFromDownstream() > 0 && !sink.isCancelled()) {
+                OddsFrame next;
+                synchronized (pending) {
+                    next = pending.poll();
+                }
+                if (next == null) {
+                    break;
+                }
+                delivered++;
+                sink.next(next);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    long delivered() {
+        return delivered;
+    }
+
+    long conflations() {
+        synchronized (pending) {
+            return conflations;
+        }
+    }
+
+    long resnapshots() {
+        synchronized (pending) {
+            return resnapshots;
+        }
+    }
+
+    private void fold(OddsFrame frame) {
+        var head = pending.peekFirst();
+        if (head != null && head.type() == OddsFrameType.SNAPSHOT) {
+            resnapshot();
+            return;
+        }
+        List<OddsFrame> deltas = new ArrayList<>(pending);
+        deltas.add(frame);
+        var conflated = FrameConflator.conflate(deltas);
+        if (conflated.rows().size() > conflationLimit) {
+            resnapshot();
+            return;
+        }
+        pending.clear();
+        pending.add(conflated);
+        conflations++;
+        listener.onConflation();
+    }
+
+    private void resnapshot() {
+        pending.clear();
+        pending.add(snapshots.get());
+        resnapshots++;
+        listener.onResnapshot();
+    }
+
+    interface StreamListener {
+
+        void onConflation();
+
+        void onResnapshot();
+    }
+}
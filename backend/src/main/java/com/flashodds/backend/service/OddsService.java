@@ -3,6 +3,8 @@ package com.flashodds.backend.service;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
@@ -11,26 +13,46 @@ import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
+import com.flashodds.backend.config.CacheConfig;
 import com.flashodds.backend.config.OddsProperties;
+import com.flashodds.backend.config.StreamProperties;
+import com.flashodds.backend.domain.FrameTrace;
+import com.flashodds.backend.domain.MarketSummaryFrame;
 import com.flashodds.backend.domain.OddsFrame;
 import com.flashodds.backend.domain.OddsFrameType;
 import com.flashodds.backend.domain.OddsRow;
 import com.flashodds.backend.domain.OddsRowChange;
+import com.flashodds.backend.domain.Opportunity;
+import com.flashodds.backend.domain.OpportunityEvent;
+import com.flashodds.backend.domain.RowHistory;
+import com.flashodds.backend.domain.SubscriptionFilter;
 import com.flashodds.backend.provider.OddsProvider;
 import com.flashodds.backend.provider.OddsProviderRegistry;
 import com.flashodds.backend.provider.OddsQuery;
+import com.flashodds.backend.provider.ProviderThrottledException;
+import com.flashodds.backend.support.BestPriceIndex;
+import com.flashodds.backend.support.DeltaRing;
+import com.flashodds.backend.support.DiffThresholds;
+import com.flashodds.backend.support.FrameLatency;
+import com.flashodds.backend.support.LineHistory;
 import com.flashodds.backend.support.OddsDiffCalculator;
+import com.flashodds.backend.support.OddsReadModel;
+import com.flashodds.backend.support.OpportunityDetector;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Schedulers;
 
@@ -38,42 +60,111 @@ import reactor.core.scheduler.Schedulers;
 public class OddsService {
 
     private static final Logger log = LoggerFactory.getLogger(OddsService.class);
+    private static final Duration SCHEDULER_TICK = Duration.ofSeconds(1);
+    // A fetch that hangs would otherwise hold its single-flight entry, and every caller joining it, forever.
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(30);
 
     private final OddsProviderRegistry providerRegistry;
     private final OddsProperties properties;
+    private final DiffThresholds diffThresholds;
+    private final Cache fetches;
 
     private final ReentrantLock refreshLock = new ReentrantLock();
-    private final AtomicReference<Map<String, OddsRow>> currentState = new AtomicReference<>(Map.of());
-    private final AtomicReference<OddsFrame> lastSnapshot = new AtomicReference<>();
+    // Null until the first refresh; replaced, never mutated, under refreshLock.
+    private final AtomicReference<Board> board = new AtomicReference<>();
+    // Written under refreshLock, like the frames it is derived from.
+    private final BestPriceIndex bestPrices = new BestPriceIndex();
+    private final Sinks.Many<MarketSummaryFrame> bestPriceFrames = Sinks.many().multicast().directBestEffort();
+    private final OpportunityDetector opportunities;
+    private final Sinks.Many<OpportunityEvent> opportunityEvents = Sinks.many().multicast().directBestEffort();
+    private final LineHistory lineHistory;
+    private final Sinks.Many<OddsFrame> journal = Sinks.many().multicast().directBestEffort();
 
-    private final Sinks.Many<OddsFrame> sink = Sinks.many()
-            .multicast()
-            .onBackpressureBuffer(512, false);
+    // Guarded by refreshLock. Seeded from the boot clock (micros) so sequences keep increasing
+    // across restarts and a Last-Event-ID from an earlier process can never alias a live one.
+    private final DeltaRing recentDeltas;
+    private long sequence = Instant.now().toEpochMilli() * 1_000;
+
+    private final RefreshScheduler scheduler;
+    private final SubscriptionRouter router = new SubscriptionRouter();
+    private final int subscriberQueueCapacity;
+    private final int conflationLimit;
 
     private final Timer refreshTimer;
     private final Counter refreshErrors;
     private final Counter refreshSuccess;
+    private final Counter fetchRequests;
     private final Counter snapshotFrames;
     private final Counter deltaFrames;
+    private final Counter resumedStreams;
+    private final Counter conflatedStreams;
+    private final Counter resnapshottedStreams;
+    private final Counter openedOpportunities;
+    private final FrameLatency frameLatency;
 
     private Disposable refreshLoop;
 
-    public OddsService(OddsProviderRegistry providerRegistry, OddsProperties properties, MeterRegistry meterRegistry) {
+    public OddsService(
+            OddsProviderRegistry providerRegistry,
+            OddsProperties properties,
+            StreamProperties streamProperties,
+            CacheManager cacheManager,
+            MeterRegistry meterRegistry) {
         this.providerRegistry = providerRegistry;
         this.properties = properties;
+        this.fetches = cacheManager.getCache(CacheConfig.FETCH_CACHE);
+        this.recentDeltas = new DeltaRing(streamProperties.resumeWindow());
+        this.subscriberQueueCapacity = streamProperties.queueCapacity();
+        this.conflationLimit = streamProperties.conflationLimit();
+        this.diffThresholds = new DiffThresholds(
+                properties.diff().priceThreshold(),
+                properties.diff().lineThreshold());
+        this.opportunities = new OpportunityDetector(
+                properties.opportunities().minArbitrageEdge(),
+                properties.opportunities().minExpectedValue());
+        this.lineHistory = new LineHistory(properties.lineHistory().maxPoints());
+        this.scheduler = new RefreshScheduler(
+                RefreshScheduler.slices(properties.sports(), properties.markets()),
+                properties.refreshSeconds(),
+                properties.schedule());
         this.refreshTimer = meterRegistry.timer("flashodds.odds.refresh");
         this.refreshErrors = meterRegistry.counter("flashodds.odds.refresh.errors");
         this.refreshSuccess = meterRegistry.counter("flashodds.odds.refresh.success");
+        this.fetchRequests = meterRegistry.counter("flashodds.odds.fetch.requests");
         this.snapshotFrames = meterRegistry.counter("flashodds.frames.snapshot");
         this.deltaFrames = meterRegistry.counter("flashodds.frames.delta");
+        this.resumedStreams = meterRegistry.counter("flashodds.streams.resumed");
+        this.conflatedStreams = meterRegistry.counter("flashodds.streams.conflated");
+        this.resnapshottedStreams = meterRegistry.counter("flashodds.streams.resnapshot");
+        this.openedOpportunities = meterRegistry.counter("flashodds.opportunities.opened");
+        this.frameLatency = new FrameLatency(meterRegistry);
+        Gauge.builder("flashodds.streams.subscribers", router, SubscriptionRouter::size)
+                .description("Active stream subscribers")
+                .register(meterRegistry);
+        Gauge.builder("flashodds.streams.filter.groups", router, SubscriptionRouter::groupCount)
+                .description("Distinct subscription filters being routed")
+                .register(meterRegistry);
+        Gauge.builder("flashodds.odds.history.bytes", lineHistory, LineHistory::bytes)
+                .description("Bytes of packed per-row line history")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        for (var slice : scheduler.slices()) {
+            Gauge.builder("flashodds.odds.refresh.interval", scheduler, it -> it.interval(slice).toMillis() / 1000.0)
+                    .description("Current adaptive refresh interval")
+                    .baseUnit("seconds")
+                    .tag("sport", slice.sport())
+                    .tag("market", slice.market())
+                    .register(meterRegistry);
+        }
     }
 
+    // Each (sport, market) slice is fetched on its own adaptive cadence; see RefreshScheduler.
     @PostConstruct
     void start() {
-        refreshLoop = Flux.interval(Duration.ZERO, properties.refreshSeconds())
-                .flatMap(tick -> refreshOnce()
-                        .doOnError(ex -> log.warn("Odds refresh failed: {}", ex.getMessage(), ex))
-                        .onErrorResume(ex -> Mono.empty()))
+        refreshLoop = Flux.interval(Duration.ZERO, SCHEDULER_TICK)
+                .onBackpressureDrop()
+                .concatMapIterable(tick -> scheduler.due(Instant.now()))
+                .flatMap(this::refreshSlice)
                 .subscribeOn(Schedulers.boundedElastic())
                 .subscribe();
     }
@@ -86,33 +177,237 @@ public class OddsService {
     }
 
     public Flux<OddsFrame> streamFrames() {
-        return Flux.defer(() -> {
-            var snapshot = lastSnapshot.get();
-            var initial = snapshot != null ? Mono.just(snapshot) : Mono.<OddsFrame>empty();
-            return initial.concatWith(sink.asFlux());
-        });
+        return streamFrames(SubscriptionFilter.ALL, null);
+    }
+
+    public Flux<OddsFrame> streamFrames(Long lastSequence) {
+        return streamFrames(SubscriptionFilter.ALL, lastSequence);
+    }
+
+    /**
+     * Frames for a new subscriber, restricted to {@code filter}: the deltas after
+     * {@code lastSequence} when the resume window still covers it, otherwise the latest snapshot,
+     * followed by live frames. The backlog is queued and the subscriber registered under the
+     * emission lock, so nothing is lost or repeated.
+     */
+    public Flux<OddsFrame> streamFrames(SubscriptionFilter filter, Long lastSequence) {
+        return Flux.create(sink -> {
+            var subscriber = new ConflatingSubscriber(
+                    sink,
+                    () -> filter.apply(board.get().snapshot()),
+                    subscriberQueueCapacity,
+                    conflationLimit,
+                    new ConflatingSubscriber.StreamListener() {
+                        @Override
+                        public void onConflation() {
+                            conflatedStreams.increment();
+                        }
+
+                        @Override
+                        public void onResnapshot() {
+                            resnapshottedStreams.increment();
+                        }
+                    });
+            refreshLock.lock();
+            try {
+                for (var frame : backlog(lastSequence)) {
+                    var filtered = filter.apply(frame);
+                    if (filtered.type() == OddsFrameType.SNAPSHOT || !filtered.rows().isEmpty()) {
+                        subscriber.offer(filtered);
+                    }
+                }
+                router.register(subscriber, filter);
+            } finally {
+                refreshLock.unlock();
+            }
+            sink.onRequest(requested -> subscriber.drain());
+            sink.onDispose(() -> {
+                router.unregister(subscriber);
+                if (subscriber.conflations() > 0 || subscriber.resnapshots() > 0) {
+                    log.debug("Stream subscriber closed after {} frames, {} conflations, {} resnapshots",
+                            subscriber.delivered(), subscriber.conflations(), subscriber.resnapshots());
+                }
+            });
+        }, FluxSink.OverflowStrategy.ERROR);
+    }
+
+    private List<OddsFrame> backlog(Long lastSequence) {
+        var current = board.get();
+        if (current == null) {
+            return List.of();
+        }
+        if (lastSequence != null) {
+            var missed = recentDeltas.since(lastSequence, sequence);
+            if (missed.isPresent()) {
+                resumedStreams.increment();
+                return missed.get();
+            }
+        }
+        return List.of(current.snapshot());
     }
 
     public Mono<List<OddsRow>> currentOdds() {
-        return Mono.fromSupplier(() -> currentState.get().values().stream()
-                .sorted((a, b) -> a.id().compareToIgnoreCase(b.id()))
-                .toList());
+        return readModel().map(OddsReadModel::rows);
+    }
+
+    public Mono<OddsReadModel> readModel() {
+        return Mono.fromSupplier(() -> {
+            var current = board.get();
+            return current == null ? OddsReadModel.EMPTY : current.readModel();
+        });
+    }
+
+    /** Best price and consensus per outcome, with the board version they reflect. */
+    public Mono<MarketSummaryFrame> bestPrices(SubscriptionFilter filter) {
+        return Mono.fromSupplier(() -> bestPrices.snapshot(filter));
+    }
+
+    /**
+     * A snapshot of the matching summaries followed by the summaries each refresh changed. The
+     * snapshot is taken and the subscriber attached under the refresh lock, so no change falls
+     * between them. A subscriber more than a queue's worth of frames behind is dropped and
+     * resubscribes for a fresh snapshot.
+     */
+    public Flux<MarketSummaryFrame> streamBestPrices(SubscriptionFilter filter) {
+        return Flux.<MarketSummaryFrame>create(sink -> {
+            refreshLock.lock();
+            try {
+                if (bestPrices.version() > 0) {
+                    sink.next(bestPrices.snapshot(filter));
+                }
+                var live = bestPriceFrames.asFlux()
+                        .map(frame -> frame.filter(filter))
+                        .filter(frame -> frame.type() == OddsFrameType.SNAPSHOT || frame.hasChanges())
+                        .subscribe(sink::next, sink::error, sink::complete);
+                sink.onDispose(live);
+            } finally {
+                refreshLock.unlock();
+            }
+        }, FluxSink.OverflowStrategy.BUFFER)
+                .onBackpressureBuffer(subscriberQueueCapacity);
+    }
+
+    public Mono<List<Opportunity>> openOpportunities(SubscriptionFilter filter) {
+        return Mono.fromSupplier(() -> opportunities.open(filter));
+    }
+
+    /**
+     * An OPEN event for every matching opportunity open now, then OPEN, UPDATE and CLOSE events
+     * as refreshes change them. Attached under the refresh lock like {@link #streamBestPrices}.
+     */
+    public Flux<OpportunityEvent> streamOpportunities(SubscriptionFilter filter) {
+        return Flux.<OpportunityEvent>create(sink -> {
+            refreshLock.lock();
+            try {
+                for (var opportunity : opportunities.open(filter)) {
+                    sink.next(new OpportunityEvent(OpportunityEvent.Type.OPEN, bestPrices.version(), opportunity));
+                }
+                var live = opportunityEvents.asFlux()
+                        .filter(event -> event.opportunity().matches(filter))
+                        .subscribe(sink::next, sink::error, sink::complete);
+                sink.onDispose(live);
+            } finally {
+                refreshLock.unlock();
+            }
+        }, FluxSink.OverflowStrategy.BUFFER)
+                .onBackpressureBuffer(conflationLimit);
+    }
+
+    /** Price and line moves of one row, empty when it is not on the board or its event has started. */
+    public Mono<RowHistory> history(String id) {
+        return Mono.fromSupplier(() -> lineHistory.history(id));
+    }
+
+    /** Histories of {@code rows}, in the same order; rows without moves yet have a single point. */
+    public Mono<List<RowHistory>> histories(List<OddsRow> rows) {
+        return Mono.fromSupplier(() -> lineHistory.histories(rows.stream().map(OddsRow::id).toList()));
+    }
+
+    /**
+     * Every snapshot and delta frame as emitted, unfiltered and without a leading snapshot. Frames
+     * are pushed from the refresh path, so subscribers must buffer and hand off rather than do
+     * work inline.
+     */
+    public Flux<OddsFrame> journal() {
+        return journal.asFlux();
     }
 
     public Mono<OddsFrame> latestSnapshot() {
-        return Mono.justOrEmpty(lastSnapshot.get());
+        return Mono.fromSupplier(() -> {
+            var current = board.get();
+            return current == null ? null : current.snapshot();
+        });
     }
 
     public Mono<Void> refreshNow() {
         return refreshOnce();
     }
 
+    /**
+     * Fetches every slice under the same single-flight keys the scheduler uses, so a manual or
+     * cold-start refresh joins slice fetches already in flight instead of issuing its own, then
+     * applies them together as one frame.
+     */
     private Mono<Void> refreshOnce() {
+        return Flux.fromIterable(scheduler.slices())
+                .flatMap(slice -> fetch(new OddsQuery(
+                        List.of(slice.sport()), List.of(slice.market()), properties.regions())))
+                .collectList()
+                .map(Fetched::merge)
+                .flatMap(fetched -> applyDiff(SubscriptionFilter.ALL, indexRows(fetched.rows(), SubscriptionFilter.ALL),
+                        fetched))
+                .then();
+    }
+
+    Mono<Void> refreshSlice(RefreshScheduler.Slice slice) {
+        var scope = slice.scope();
+        var query = new OddsQuery(
+                List.of(slice.sport()), List.of(slice.market()), properties.regions(), scheduler.isPriority(slice));
+        return fetch(query)
+                .flatMap(fetched -> {
+                    var fresh = indexRows(fetched.rows(), scope);
+                    return applyDiff(scope, fresh, fetched)
+                            .doOnNext(changes -> {
+                                var now = Instant.now();
+                                scheduler.completed(slice, changes, nextStart(fresh.values(), now), now);
+                            });
+                })
+                .doOnError(ex -> {
+                    // Throttled or failed: the slice keeps its last rows until the next attempt.
+                    if (ex instanceof ProviderThrottledException) {
+                        log.debug("Odds refresh for {}/{} throttled: {}", slice.sport(), slice.market(), ex.getMessage());
+                    } else {
+                        log.warn("Odds refresh for {}/{} failed: {}", slice.sport(), slice.market(), ex.getMessage(), ex);
+                    }
+                    scheduler.failed(slice, Instant.now());
+                })
+                .onErrorResume(ex -> Mono.empty())
+                .then();
+    }
+
+    /**
+     * Provider rows for {@code query}, single-flight: callers asking for the same query while a
+     * fetch is in flight (or within fetch-ttl of its completion) share that result. Failures are
+     * not retained. Priority only affects budgeting, so it is not part of the key.
+     */
+    private Mono<Fetched> fetch(OddsQuery query) {
+        var key = new OddsQuery(query.sports(), query.markets(), query.regions());
+        return Mono.defer(() -> {
+            fetchRequests.increment();
+            var requested = System.nanoTime();
+            return Mono.fromFuture(fetches.retrieve(key, () -> load(query).toFuture()), true)
+                    .map(Fetched.class::cast)
+                    .map(fetched -> fetched.finished() < requested ? fetched.reused() : fetched);
+        });
+    }
+
+    private Mono<Fetched> load(OddsQuery query) {
         var provider = resolveProvider();
         var sample = Timer.start();
-        return provider.fetchOdds(new OddsQuery(properties.sports(), properties.markets(), properties.regions()))
-                .map(this::indexRows)
-                .flatMap(this::applyDiff)
+        var started = System.nanoTime();
+        return provider.fetchOdds(query)
+                .timeout(FETCH_TIMEOUT)
+                .map(rows -> new Fetched(rows, started, System.nanoTime()))
                 .doOnError(ex -> {
                     refreshErrors.increment();
                     sample.stop(refreshTimer);
@@ -120,8 +415,19 @@ public class OddsService {
                 .doOnSuccess(ignored -> {
                     refreshSuccess.increment();
                     sample.stop(refreshTimer);
-                })
-                .then();
+                });
+    }
+
+    private static Instant nextStart(Iterable<OddsRow> rows, Instant now) {
+        var liveSince = now.minus(RefreshScheduler.LIVE_WINDOW);
+        Instant next = null;
+        for (var row : rows) {
+            var startsAt = row.startsAt();
+            if (startsAt != null && startsAt.isAfter(liveSince) && (next == null || startsAt.isBefore(next))) {
+                next = startsAt;
+            }
+        }
+        return next;
     }
 
     private OddsProvider resolveProvider() {
@@ -133,49 +439,196 @@ public class OddsService {
         }
     }
 
-    private Map<String, OddsRow> indexRows(List<OddsRow> rows) {
-        return rows.stream().collect(Collectors.toMap(OddsRow::id, row -> row, (left, right) -> right));
+    static Map<String, OddsRow> indexRows(List<OddsRow> rows, SubscriptionFilter scope) {
+        return rows.stream()
+                .filter(scope::matches)
+                .collect(Collectors.toMap(OddsRow::id, row -> row, (left, right) -> right));
     }
 
-    private Mono<Void> applyDiff(Map<String, OddsRow> fresh) {
-        return Mono.fromRunnable(() -> {
+    /**
+     * Folds {@code fresh} into the board, treating it as the complete content of {@code scope}:
+     * rows in scope that are missing from it are removed, rows outside scope are left alone.
+     * Returns the number of changed rows.
+     */
+    private Mono<Integer> applyDiff(SubscriptionFilter scope, Map<String, OddsRow> fresh, Fetched fetched) {
+        return Mono.fromCallable(() -> {
             refreshLock.lock();
             try {
-                var previous = currentState.get();
-                var snapshot = buildSnapshot(fresh);
-                lastSnapshot.set(snapshot);
-                currentState.set(fresh);
+                var current = board.get();
+                var previous = current == null ? Map.<String, OddsRow>of() : current.rows();
 
                 if (previous.isEmpty()) {
+                    if (fresh.isEmpty() && current != null) {
+                        return 0;
+                    }
+                    var diffed = System.nanoTime();
+                    sequence++;
+                    var snapshot = buildSnapshot(sequence, Instant.now(), fresh, fetched.trace(diffed));
+                    board.set(new Board(sequence, snapshot.timestamp(), fresh, snapshot));
+                    recentDeltas.clear();
                     emit(snapshot);
+                    publishBestPrices(snapshot);
+                    lineHistory.apply(snapshot);
                     snapshotFrames.increment(snapshot.rows().size());
-                    return;
+                    return fresh.size();
                 }
 
-                var changes = OddsDiffCalculator.diff(previous, fresh);
+                var inScope = scope.matchesAll() ? previous : inScope(previous, scope);
+                var changes = OddsDiffCalculator.diff(inScope, fresh, diffThresholds);
                 if (changes.isEmpty()) {
-                    return;
+                    return 0;
                 }
-                var frame = new OddsFrame(OddsFrameType.DELTA, Instant.now(), changes);
+                var diffed = System.nanoTime();
+                // Rows whose move stayed under the thresholds keep their last emitted value so
+                // small moves accumulate against what clients actually hold.
+                // The read model and catch-up snapshot of the new board are built on first use.
+                var next = applyChanges(previous, changes);
+                sequence++;
+                var now = Instant.now();
+                board.set(new Board(sequence, now, next, null));
+
+                var frame = new OddsFrame(OddsFrameType.DELTA, sequence, now, changes, fetched.trace(diffed));
+                recentDeltas.append(frame);
                 emit(frame);
+                publishBestPrices(frame);
+                lineHistory.apply(frame);
                 deltaFrames.increment(changes.size());
+                return changes.size();
             } finally {
                 refreshLock.unlock();
             }
         });
     }
 
-    private OddsFrame buildSnapshot(Map<String, OddsRow> rows) {
+    // A linear scan: cheaper than sorting and indexing the whole board into a read model first.
+    private static Map<String, OddsRow> inScope(Map<String, OddsRow> rows, SubscriptionFilter scope) {
+        var map = new HashMap<String, OddsRow>();
+        for (var row : rows.values()) {
+            if (scope.matches(row)) {
+                map.put(row.id(), row);
+            }
+        }
+        return map;
+    }
+
+    private static Map<String, OddsRow> applyChanges(Map<String, OddsRow> previous, List<OddsRowChange> changes) {
+        var next = new HashMap<>(previous);
+        for (var change : changes) {
+            if (!change.op().isRemove()) {
+                next.put(change.id(), change.row());
+            } else {
+                next.remove(change.id());
+            }
+        }
+        return Collections.unmodifiableMap(next);
+    }
+
+    static OddsFrame buildSnapshot(long sequence, Instant timestamp, Map<String, OddsRow> rows, FrameTrace trace) {
         var changes = rows.values().stream()
                 .map(row -> new OddsRowChange(OddsRowChange.Operation.UPSERT, row, row.id()))
                 .toList();
-        return new OddsFrame(OddsFrameType.SNAPSHOT, Instant.now(), changes);
+        return new OddsFrame(OddsFrameType.SNAPSHOT, sequence, timestamp, changes, trace);
     }
 
     private void emit(OddsFrame frame) {
-        var result = sink.tryEmitNext(frame);
-        if (result.isFailure()) {
-            log.debug("Dropping odds frame due to backpressure: {}", result);
+        router.route(frame);
+        frameLatency.emitted(frame.trace(), System.nanoTime());
+        journal.tryEmitNext(frame);
+    }
+
+    private void publishBestPrices(OddsFrame frame) {
+        var summaries = bestPrices.apply(frame);
+        if (summaries.type() == OddsFrameType.SNAPSHOT || summaries.hasChanges()) {
+            bestPriceFrames.tryEmitNext(summaries);
+            for (var event : opportunities.apply(summaries)) {
+                if (event.type() == OpportunityEvent.Type.OPEN) {
+                    openedOpportunities.increment();
+                }
+                opportunityEvents.tryEmitNext(event);
+            }
+        }
+    }
+
+    /**
+     * The board at one sequence. Its read model and catch-up snapshot are derived on first use,
+     * outside the refresh lock where possible, so a refresh pays only for the diff and one copy of
+     * the row map; versions nobody reads are never indexed.
+     */
+    private static final class Board {
+
+        private final long sequence;
+        private final Instant timestamp;
+        private final Map<String, OddsRow> rows;
+        private volatile OddsReadModel readModel;
+        private volatile OddsFrame snapshot;
+
+        Board(long sequence, Instant timestamp, Map<String, OddsRow> rows, OddsFrame snapshot) {
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.rows = rows;
+            this.snapshot = snapshot;
+        }
+
+        Map<String, OddsRow> rows() {
+            return rows;
+        }
+
+        OddsReadModel readModel() {
+            var model = readModel;
+            if (model == null) {
+                synchronized (this) {
+                    model = readModel;
+                    if (model == null) {
+                        model = OddsReadModel.of(sequence, rows.values());
+                        readModel = model;
+                    }
+                }
+            }
+            return model;
+        }
+
+        OddsFrame snapshot() {
+            var frame = snapshot;
+            if (frame == null) {
+                synchronized (this) {
+                    frame = snapshot;
+                    if (frame == null) {
+                        frame = buildSnapshot(sequence, timestamp, rows, FrameTrace.NONE);
+                        snapshot = frame;
+                    }
+                }
+            }
+            return frame;
+        }
+    }
+
+    /** Provider rows with when the fetch was started and answered, shared by single-flight callers. */
+    private record Fetched(List<OddsRow> rows, long started, long finished) {
+
+        static Fetched merge(List<Fetched> parts) {
+            if (parts.size() == 1) {
+                return parts.getFirst();
+            }
+            var rows = new ArrayList<OddsRow>();
+            var started = Long.MAX_VALUE;
+            var finished = Long.MIN_VALUE;
+            for (var part : parts) {
+                rows.addAll(part.rows());
+                started = Math.min(started, part.started());
+                finished = Math.max(finished, part.finished());
+            }
+            return new Fetched(rows, started, finished);
+        }
+
+        FrameTrace trace(long diffed) {
+            return new FrameTrace(started, finished, diffed);
+        }
+
+        // Served from fetch-ttl: nothing was fetched for this refresh, so its fetch takes no time
+        // and the later stages are not charged with the age of the cached answer.
+        Fetched reused() {
+            var now = System.nanoTime();
+            return new Fetched(rows, now, now);
         }
     }
 }
@@ -0,0 +1,153 @@
+package com.flashodds.backend.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.flashodds.backend.config.OddsProperties;
+import com.flashodds.backend.domain.SubscriptionFilter;
+
+/**
+ * Independent refresh cadence per (sport, market). After each fetch a slice's interval is placed
+ * between the configured bounds by its urgency: the larger of its recent activity (an EWMA of
+ * rows changed per fetch) and the proximity of its next start. Live events count as fully urgent.
+ */
+final class RefreshScheduler {
+
+    // Events that started less than this long ago are treated as in play.
+    static final Duration LIVE_WINDOW = Duration.ofHours(4);
+    // Slices this close to (or past) their next start may spend a provider's reserved budget.
+    private static final double PRIORITY_PROXIMITY = 0.75;
+
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final double smoothing;
+    private final Duration horizon;
+    private final Map<Slice, Cadence> cadences = new LinkedHashMap<>();
+
+    RefreshScheduler(List<Slice> slices, Duration initialInterval, OddsProperties.Schedule schedule) {
+        this.minInterval = schedule.minInterval();
+        this.maxInterval = schedule.maxInterval();
+        this.smoothing = schedule.smoothing();
+        this.horizon = schedule.horizon();
+        var start = clamp(initialInterval);
+        for (var slice : slices) {
+            cadences.put(slice, new Cadence(start));
+        }
+    }
+
+    static List<Slice> slices(List<String> sports, List<String> markets) {
+        var slices = new ArrayList<Slice>(sports.size() * markets.size());
+        for (var sport : sports) {
+            for (var market : markets) {
+                slices.add(new Slice(sport, market));
+            }
+        }
+        return slices;
+    }
+
+    /**
+     * Slices whose next fetch is due at {@code now}. They are marked in flight until
+     * {@link #completed} or {@link #failed} is reported, so a slow fetch is never doubled up.
+     */
+    synchronized List<Slice> due(Instant now) {
+        var due = new ArrayList<Slice>();
+        for (var entry : cadences.entrySet()) {
+            var cadence = entry.getValue();
+            if (!cadence.inFlight && !now.isBefore(cadence.nextDue)) {
+                cadence.inFlight = true;
+                due.add(entry.getKey());
+            }
+        }
+        return due;
+    }
+
+    synchronized void completed(Slice slice, int changes, Instant nextStart, Instant now) {
+        var cadence = cadences.get(slice);
+        if (cadence == null) {
+            return;
+        }
+        cadence.activity = cadence.fetches == 0
+                ? changes
+                : smoothing * changes + (1 - smoothing) * cadence.activity;
+        cadence.fetches++;
+        cadence.proximity = proximity(nextStart, now);
+        cadence.interval = intervalFor(Math.max(busy(cadence.activity), cadence.proximity));
+        cadence.nextDue = now.plus(cadence.interval);
+        cadence.inFlight = false;
+    }
+
+    synchronized void failed(Slice slice, Instant now) {
+        var cadence = cadences.get(slice);
+        if (cadence == null) {
+            return;
+        }
+        cadence.nextDue = now.plus(cadence.interval);
+        cadence.inFlight = false;
+    }
+
+    synchronized Duration interval(Slice slice) {
+        var cadence = cadences.get(slice);
+        return cadence == null ? maxInterval : cadence.interval;
+    }
+
+    synchronized boolean isPriority(Slice slice) {
+        var cadence = cadences.get(slice);
+        return cadence != null && cadence.proximity >= PRIORITY_PROXIMITY;
+    }
+
+    synchronized List<Slice> slices() {
+        return List.copyOf(cadences.keySet());
+    }
+
+    // One changed row per fetch is already half way to the fastest cadence.
+    private static double busy(double activity) {
+        return activity / (activity + 1.0);
+    }
+
+    private double proximity(Instant nextStart, Instant now) {
+        if (nextStart == null) {
+            return 0.0;
+        }
+        var until = Duration.between(now, nextStart);
+        return until.isNegative()
+                ? 1.0
+                : Math.max(0.0, 1.0 - (double) until.toMillis() / Math.max(1, horizon.toMillis()));
+    }
+
+    private Duration intervalFor(double urgency) {
+        var span = maxInterval.toMillis() - minInterval.toMillis();
+        return Duration.ofMillis(maxInterval.toMillis() - Math.round(span * urgency));
+    }
+
+    private Duration clamp(Duration interval) {
+        if (interval.compareTo(minInterval) < 0) {
+            return minInterval;
+        }
+        return interval.compareTo(maxInterval) > 0 ? maxInterval : interval;
+    }
+
+    record Slice(String sport, String market) {
+
+        SubscriptionFilter scope() {
+            return SubscriptionFilter.of(List.of(sport), List.of(market), null, null);
+        }
+    }
+
+    private static final class Cadence {
+
+        private Duration interval;
+        private Instant nextDue = Instant.MIN;
+        private double activity;
+        private double proximity;
+        private long fetches;
+        private boolean inFlight;
+
+        Cadence(Duration interval) {
+            this.interval = interval;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.flashodds.backend.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.OddsRowChange;
+import com.flashodds.backend.domain.SubscriptionFilter;
+
+/**
+ * Routes frames to subscribers through an inverted index over sport, market, book and event.
+ * Subscribers with equal filters share a group and therefore one filtered frame (and one encoding).
+ * For each change only the groups listed under the most selective dimension of that row are
+ * checked, so routing cost follows the number of interested groups, not the number of subscribers.
+ */
+final class SubscriptionRouter {
+
+    private final Map<SubscriptionFilter, Group> groups = new HashMap<>();
+    private final Map<ConflatingSubscriber, Group> membership = new IdentityHashMap<>();
+    private final Map<Dimension, Map<String, Set<Group>>> exact = new EnumMap<>(Dimension.class);
+    private final Map<Dimension, Set<Group>> wildcard = new EnumMap<>(Dimension.class);
+
+    SubscriptionRouter() {
+        for (var dimension : Dimension.values()) {
+            exact.put(dimension, new HashMap<>());
+            wildcard.put(dimension, new LinkedHashSet<>());
+        }
+    }
+
+    synchronized void register(ConflatingSubscriber subscriber, SubscriptionFilter filter) {
+        var group = groups.computeIfAbsent(filter, this::index);
+        group.members.add(subscriber);
+        membership.put(subscriber, group);
+    }
+
+    synchronized void unregister(ConflatingSubscriber subscriber) {
+        var group = membership.remove(subscriber);
+        if (group == null) {
+            return;
+        }
+        group.members.remove(subscriber);
+        if (group.members.isEmpty()) {
+            groups.remove(group.filter);
+            unindex(group);
+        }
+    }
+
+    synchronized int size() {
+        return membership.size();
+    }
+
+    synchronized int groupCount() {
+        return groups.size();
+    }
+
+    /**
+     * Hands every subscriber the part of {@code frame} its filter selects. Offers happen outside
+     * the index lock; callers serialize route calls so per-subscriber order is preserved.
+     */
+    void route(OddsFrame frame) {
+        List<Delivery> deliveries;
+        synchronized (this) {
+            deliveries = frame.type() == OddsFrameType.SNAPSHOT ? routeSnapshot(frame) : routeDelta(frame);
+        }
+        for (var delivery : deliveries) {
+            for (var subscriber : delivery.members) {
+                subscriber.offer(delivery.frame);
+            }
+        }
+    }
+
+    private List<Delivery> routeSnapshot(OddsFrame frame) {
+        var deliveries = new ArrayList<Delivery>(groups.size());
+        for (var group : groups.values()) {
+            deliveries.add(new Delivery(group.filter.apply(frame), List.copyOf(group.members)));
+        }
+        return deliveries;
+    }
+
+    private List<Delivery> routeDelta(OddsFrame frame) {
+        var routed = new IdentityHashMap<Group, List<OddsRowChange>>();
+        var keys = new String[Dimension.COUNT];
+        for (var change : frame.rows()) {
+            var row = change.row();
+            if (row == null) {
+                for (var group : groups.values()) {
+                    routed.computeIfAbsent(group, ignored -> new ArrayList<>()).add(change);
+                }
+                continue;
+            }
+            var selective = mostSelective(row, keys);
+            collect(exact.get(selective).getOrDefault(keys[selective.ordinal()], Set.of()), keys, change, routed);
+            collect(wildcard.get(selective), keys, change, routed);
+        }
+
+        var deliveries = new ArrayList<Delivery>(routed.size());
+        for (var entry : routed.entrySet()) {
+            var changes = entry.getValue();
+            var filtered = changes.size() == frame.rows().size()
+                    ? frame
+                    : frame.withRows(changes);
+            deliveries.add(new Delivery(filtered, List.copyOf(entry.getKey().members)));
+        }
+        return deliveries;
+    }
+
+    private Dimension mostSelective(OddsRow row, String[] keys) {
+        Dimension best = null;
+        int bestSize = Integer.MAX_VALUE;
+        for (var dimension : Dimension.values()) {
+            var key = SubscriptionFilter.key(dimension.rowValue.apply(row));
+            keys[dimension.ordinal()] = key;
+            var candidates = exact.get(dimension).getOrDefault(key, Set.of()).size() + wildcard.get(dimension).size();
+            if (candidates < bestSize) {
+                best = dimension;
+                bestSize = candidates;
+            }
+        }
+        return best;
+    }
+
+    private void collect(
+            Set<Group> candidates,
+            String[] keys,
+            OddsRowChange change,
+            Map<Group, List<OddsRowChange>> routed) {
+        for (var group : candidates) {
+            if (group.accepts(keys)) {
+                routed.computeIfAbsent(group, ignored -> new ArrayList<>()).add(change);
+            }
+        }
+    }
+
+    private Group index(SubscriptionFilter filter) {
+        var group = new Group(filter);
+        for (var dimension : Dimension.values()) {
+            var values = dimension.filterValues.apply(filter);
+            if (values.isEmpty()) {
+                wildcard.get(dimension).add(group);
+            } else {
+                for (var value : values) {
+                    exact.get(dimension).computeIfAbsent(value, ignored -> new LinkedHashSet<>()).add(group);
+                }
+            }
+        }
+        return group;
+    }
+
+    private void unindex(Group group) {
+        for (var dimension : Dimension.values()) {
+            var values = dimension.filterValues.apply(group.filter);
+            if (values.isEmpty()) {
+                wildcard.get(dimension).remove(group);
+                continue;
+            }
+            var byValue = exact.get(dimension);
+            for (var value : values) {
+                var bucket = byValue.get(value);
+                if (bucket != null && bucket.remove(group) && bucket.isEmpty()) {
+                    byValue.remove(value);
+                }
+            }
+        }
+    }
+
+    private enum Dimension {
+        SPORT(SubscriptionFilter::sports, OddsRow::sport),
+        MARKET(SubscriptionFilter::markets, OddsRow::market),
+        BOOK(SubscriptionFilter::books, OddsRow::book),
+        EVENT(SubscriptionFilter::events, OddsRow::event);
+
+        static final int COUNT = values().length;
+
+        private final Function<SubscriptionFilter, Set<String>> filterValues;
+        private final Function<OddsRow, String> rowValue;
+
+        Dimension(Function<SubscriptionFilter, Set<String>> filterValues, Function<OddsRow, String> rowValue) {
+            this.filterValues = filterValues;
+            this.rowValue = rowValue;
+        }
+    }
+
+    private static final class Group {
+
+        private final SubscriptionFilter filter;
+        private final Set<ConflatingSubscriber> members = new LinkedHashSet<>();
+
+        Group(SubscriptionFilter filter) {
+            this.filter = filter;
+        }
+
+        boolean accepts(String[] keys) {
+            for (var dimension : Dimension.values()) {
+                var values = dimension.filterValues.apply(filter);
+                if (!values.isEmpty() && !values.contains(keys[dimension.ordinal()])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private record Delivery(OddsFrame frame, List<ConflatingSubscriber> members) {
+    }
+}
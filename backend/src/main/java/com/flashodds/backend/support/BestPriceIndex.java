@@ -0,0 +1,224 @@
+package com.flashodds.backend.support;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.flashodds.backend.domain.MarketSummary;
+import com.flashodds.backend.domain.MarketSummaryFrame;
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.SubscriptionFilter;
+
+/**
+ * Best price and consensus per (event, market, outcome), maintained from the board's frames. A
+ * delta only touches the outcomes its rows belong to, and each of those is re-summarized from its
+ * own quotes (one per book), so the cost of a frame is its changed rows times the books quoting
+ * them, independent of the board size.
+ *
+ * <p>Writes must be serialized by the caller; reads may run concurrently and see each summary
+ * either before or after a frame.
+ */
+public final class BestPriceIndex {
+
+    private static final Comparator<MarketSummary> ORDER = Comparator.comparing(MarketSummary::key);
+
+    // Writer-only state.
+    private final Map<String, Map<String, OddsRow>> quotes = new HashMap<>();
+    private final Map<String, String> keyById = new HashMap<>();
+
+    private final Map<String, MarketSummary> summaries = new ConcurrentHashMap<>();
+    private volatile long version;
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return summaries.size();
+    }
+
+    /**
+     * Folds {@code frame} into the index and returns what changed: every summary for a SNAPSHOT,
+     * only the summaries whose best price, books or consensus moved for a DELTA.
+     */
+    public MarketSummaryFrame apply(OddsFrame frame) {
+        if (frame.type() == OddsFrameType.SNAPSHOT) {
+            quotes.clear();
+            keyById.clear();
+            summaries.clear();
+            for (var change : frame.rows()) {
+                if (!change.op().isRemove()) {
+                    put(change.row());
+                }
+            }
+            for (var key : quotes.keySet()) {
+                summaries.put(key, summarize(key, quotes.get(key).values()));
+            }
+            version = frame.sequence();
+            return new MarketSummaryFrame(OddsFrameType.SNAPSHOT, frame.sequence(), frame.timestamp(),
+                    select(SubscriptionFilter.ALL), List.of());
+        }
+
+        var touched = new LinkedHashSet<String>();
+        for (var change : frame.rows()) {
+            var previousKey = remove(change.id());
+            if (previousKey != null) {
+                touched.add(previousKey);
+            }
+            if (!change.op().isRemove()) {
+                touched.add(put(change.row()));
+            }
+        }
+        var changed = new ArrayList<MarketSummary>();
+        var removed = new ArrayList<String>();
+        for (var key : touched) {
+            var bookQuotes = quotes.get(key);
+            if (bookQuotes == null) {
+                if (summaries.remove(key) != null) {
+                    removed.add(key);
+                }
+                continue;
+            }
+            var next = summarize(key, bookQuotes.values());
+            var prior = summaries.put(key, next);
+            if (prior == null || !sameQuote(prior, next)) {
+                changed.add(next);
+            }
+        }
+        version = frame.sequence();
+        return new MarketSummaryFrame(OddsFrameType.DELTA, frame.sequence(), frame.timestamp(), changed, removed);
+    }
+
+    /** Summaries matching {@code filter}'s sport, market and event dimensions, in key order. */
+    public List<MarketSummary> select(SubscriptionFilter filter) {
+        var selected = new ArrayList<MarketSummary>();
+        for (var summary : summaries.values()) {
+            if (summary.matches(filter)) {
+                selected.add(summary);
+            }
+        }
+        selected.sort(ORDER);
+        return selected;
+    }
+
+    public MarketSummaryFrame snapshot(SubscriptionFilter filter) {
+        return new MarketSummaryFrame(OddsFrameType.SNAPSHOT, version, Instant.now(), select(filter), List.of());
+    }
+
+    /** {@code sport:event:market:outcome}; the outcome is the last segment of the row id. */
+    public static String key(OddsRow row) {
+        return String.join(":", normalize(row.sport()), normalize(row.event()), normalize(row.market()),
+                normalize(outcome(row)));
+    }
+
+    private String put(OddsRow row) {
+        var key = key(row);
+        quotes.computeIfAbsent(key, ignored -> new HashMap<>()).put(row.id(), row);
+        keyById.put(row.id(), key);
+        return key;
+    }
+
+    private String remove(String id) {
+        var key = keyById.remove(id);
+        if (key == null) {
+            return null;
+        }
+        var bookQuotes = quotes.get(key);
+        bookQuotes.remove(id);
+        if (bookQuotes.isEmpty()) {
+            quotes.remove(key);
+        }
+        return key;
+    }
+
+    private static MarketSummary summarize(String key, Collection<OddsRow> rows) {
+        var first = rows.iterator().next();
+        var line = consensusLine(rows);
+        Integer best = null;
+        var bestBooks = new ArrayList<String>();
+        double impliedSum = 0;
+        int priced = 0;
+        Instant updatedAt = null;
+        for (var row : rows) {
+            if (row.updatedAt() != null && (updatedAt == null || row.updatedAt().isAfter(updatedAt))) {
+                updatedAt = row.updatedAt();
+            }
+            if (row.price() == null || row.price() == 0) {
+                continue;
+            }
+            // Prices at another line are for a different bet and would skew both figures.
+            if (!Objects.equals(row.line(), line)) {
+                continue;
+            }
+            impliedSum += ScalarPricingKernel.implied(row.price());
+            priced++;
+            if (best == null || row.price() > best) {
+                best = row.price();
+                bestBooks.clear();
+            }
+            if (row.price().equals(best)) {
+                bestBooks.add(row.book());
+            }
+        }
+        bestBooks.sort(String.CASE_INSENSITIVE_ORDER);
+        return new MarketSummary(
+                key,
+                first.sport(),
+                first.event(),
+                first.market(),
+                outcome(first),
+                best,
+                bestBooks,
+                priced == 0 ? null : ScalarPricingKernel.fair(impliedSum / priced),
+                line,
+                rows.size(),
+                updatedAt);
+    }
+
+    // The line most books quote; ties go to the smaller line so the choice is stable.
+    private static Double consensusLine(Collection<OddsRow> rows) {
+        var counts = new HashMap<Double, Integer>();
+        for (var row : rows) {
+            if (row.line() != null) {
+                counts.merge(row.line(), 1, Integer::sum);
+            }
+        }
+        Double line = null;
+        int votes = 0;
+        for (var entry : counts.entrySet()) {
+            if (entry.getValue() > votes || (entry.getValue() == votes && entry.getKey() < line)) {
+                line = entry.getKey();
+                votes = entry.getValue();
+            }
+        }
+        return line;
+    }
+
+    // Summaries are re-sent only when something a client shows moved, not on every timestamp bump.
+    private static boolean sameQuote(MarketSummary prior, MarketSummary next) {
+        return Objects.equals(prior.bestPrice(), next.bestPrice())
+                && prior.bestBooks().equals(next.bestBooks())
+                && Objects.equals(prior.consensusPrice(), next.consensusPrice())
+                && Objects.equals(prior.consensusLine(), next.consensusLine())
+                && prior.books() == next.books();
+    }
+
+    private static String outcome(OddsRow row) {
+        var id = row.id();
+        return id == null ? "" : id.substring(id.lastIndexOf(':') + 1);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT).replaceAll("[\\s:]+", "-");
+    }
+}
@@ -0,0 +1,77 @@
+package com.flashodds.backend.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import com.flashodds.backend.domain.OddsFrame;
+
+/**
+ * Bounded ring of the most recent delta frames, ordered by sequence. Not thread-safe; callers
+ * guard it with the same lock that orders emission.
+ */
+public final class DeltaRing {
+
+    private final OddsFrame[] frames;
+    private int head;
+    private int size;
+
+    public DeltaRing(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Delta ring capacity must be positive");
+        }
+        this.frames = new OddsFrame[capacity];
+    }
+
+    public void append(OddsFrame frame) {
+        if (size > 0 && frame.sequence() <= newest().sequence()) {
+            throw new IllegalArgumentException("Delta frames must be appended in sequence order");
+        }
+        frames[(head + size) % frames.length] = frame;
+        if (size == frames.length) {
+            head = (head + 1) % frames.length;
+        } else {
+            size++;
+        }
+    }
+
+    /**
+     * Frames strictly after {@code sequence}, or empty when the ring no longer (or never did)
+     * cover that point and the caller has to fall back to a snapshot.
+     */
+    public Optional<List<OddsFrame>> since(long sequence, long current) {
+        if (sequence == current) {
+            return Optional.of(List.of());
+        }
+        if (size == 0 || sequence > current || sequence < oldest().sequence() - 1) {
+            return Optional.empty();
+        }
+        var missed = new ArrayList<OddsFrame>();
+        for (int i = 0; i < size; i++) {
+            var frame = frames[(head + i) % frames.length];
+            if (frame.sequence() > sequence) {
+                missed.add(frame);
+            }
+        }
+        return Optional.of(missed);
+    }
+
+    public void clear() {
+        Arrays.fill(frames, null);
+        head = 0;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private OddsFrame oldest() {
+        return frames[head];
+    }
+
+    private OddsFrame newest() {
+        return frames[(head + size - 1) % frames.length];
+    }
+}
@@ -0,0 +1,56 @@
+package com.flashodds.backend.support;
+
+import java.util.Objects;
+
+import com.flashodds.backend.domain.OddsRow;
+
+public record DiffThresholds(
+        int price,
+        double line) {
+
+    public static final DiffThresholds EXACT = new DiffThresholds(0, 0.0);
+
+    public DiffThresholds {
+        if (price < 0 || line < 0) {
+            throw new IllegalArgumentException("Diff thresholds must not be negative");
+        }
+    }
+
+    /**
+     * Routing fields (sport, market, book, event) and the start time always count; price and
+     * line count once they move past the thresholds. Bookkeeping fields ({@code updatedAt},
+     * {@code extra}) never do, so a re-fetched but otherwise identical row is not a change.
+     */
+    public boolean isSignificant(OddsRow prior, OddsRow fresh) {
+        if (!Objects.equals(prior.startsAt(), fresh.startsAt())
+                || !Objects.equals(prior.book(), fresh.book())
+                || !Objects.equals(prior.event(), fresh.event())
+                || !Objects.equals(prior.market(), fresh.market())
+                || !Objects.equals(prior.sport(), fresh.sport())) {
+            return true;
+        }
+        return priceMoved(prior.price(), fresh.price()) || lineMoved(prior.line(), fresh.line());
+    }
+
+    private boolean priceMoved(Integer prior, Integer fresh) {
+        if (prior == null || fresh == null) {
+            return prior != fresh;
+        }
+        return americanDistance(prior, fresh) > price;
+    }
+
+    private boolean lineMoved(Double prior, Double fresh) {
+        if (prior == null || fresh == null) {
+            return prior != fresh;
+        }
+        return Math.abs(prior - fresh) > line;
+    }
+
+    // American odds skip the (-100, +100) band, so -105 -> +105 is a 10 point move, not 210.
+    private static int americanDistance(int prior, int fresh) {
+        if ((prior < 0) == (fresh < 0)) {
+            return Math.abs(prior - fresh);
+        }
+        return Math.abs(prior) - 100 + Math.abs(fresh) - 100;
+    }
+}
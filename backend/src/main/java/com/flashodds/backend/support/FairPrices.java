@@ -0,0 +1,131 @@
+package com.flashodds.backend.support;
+
+import java.util.HashMap;
+import java.util.List;
+
+import com.flashodds.backend.domain.OddsRow;
+
+/**
+ * Implied probability, no-vig probability, fair price and overround for every row of a board,
+ * aligned with the row list it was built from. A book's market is the rows sharing sport, event,
+ * market, book and line magnitude (spreads mirror their sign); its vig is removed across those
+ * rows. Rows alone in their market get no no-vig figures.
+ *
+ * <p>Rows are gathered into one column per outcome for every market size, so each kernel call
+ * runs over contiguous primitive arrays regardless of how the board is ordered.
+ */
+public final class FairPrices {
+
+    private final double[] implied;
+    private final double[] noVig;
+    private final double[] overround;
+    private final int[] fair;
+    private final boolean[] priced;
+
+    private FairPrices(int size) {
+        this.implied = new double[size];
+        this.noVig = new double[size];
+        this.overround = new double[size];
+        this.fair = new int[size];
+        this.priced = new boolean[size];
+    }
+
+    public static FairPrices of(List<OddsRow> rows, PricingKernel kernel) {
+        int n = rows.size();
+        var result = new FairPrices(n);
+        var prices = new int[n];
+        var groupOf = new int[n];
+        var groups = new HashMap<MarketKey, Integer>();
+        for (int i = 0; i < n; i++) {
+            var row = rows.get(i);
+            prices[i] = row.price() == null ? 0 : row.price();
+            var key = new MarketKey(row.sport(), row.event(), row.market(), row.book(),
+                    row.line() == null ? null : Math.abs(row.line()));
+            groupOf[i] = groups.computeIfAbsent(key, ignored -> groups.size());
+        }
+        kernel.impliedProbabilities(prices, result.implied, n);
+
+        // Members of each market, laid out contiguously by a counting sort on the group id.
+        int groupCount = groups.size();
+        var start = new int[groupCount + 1];
+        for (int i = 0; i < n; i++) {
+            start[groupOf[i] + 1]++;
+        }
+        int maxSize = 0;
+        for (int g = 0; g < groupCount; g++) {
+            maxSize = Math.max(maxSize, start[g + 1]);
+            start[g + 1] += start[g];
+        }
+        var members = new int[n];
+        var fill = start.clone();
+        for (int i = 0; i < n; i++) {
+            members[fill[groupOf[i]]++] = i;
+        }
+
+        // One removeVig call per market size, over outcome columns of all markets of that size.
+        var bySize = new int[maxSize + 1];
+        for (int g = 0; g < groupCount; g++) {
+            bySize[start[g + 1] - start[g]]++;
+        }
+        for (int size = 2; size <= maxSize; size++) {
+            int count = bySize[size];
+            if (count == 0) {
+                continue;
+            }
+            var in = new double[size][count];
+            var out = new double[size][count];
+            var vig = new double[count];
+            var owners = new int[count];
+            int m = 0;
+            for (int g = 0; g < groupCount; g++) {
+                if (start[g + 1] - start[g] != size) {
+                    continue;
+                }
+                for (int j = 0; j < size; j++) {
+                    in[j][m] = result.implied[members[start[g] + j]];
+                }
+                owners[m++] = g;
+            }
+            kernel.removeVig(in, out, vig, count);
+            for (m = 0; m < count; m++) {
+                int g = owners[m];
+                for (int j = 0; j < size; j++) {
+                    int row = members[start[g] + j];
+                    result.noVig[row] = out[j][m];
+                    result.overround[row] = vig[m];
+                    result.priced[row] = true;
+                }
+            }
+        }
+        kernel.fairAmerican(result.noVig, result.fair, n);
+        return result;
+    }
+
+    public int size() {
+        return implied.length;
+    }
+
+    public Quote quote(int position) {
+        var hasPrice = implied[position] > 0;
+        var hasFair = priced[position] && hasPrice && fair[position] != 0;
+        return new Quote(
+                hasPrice ? implied[position] : null,
+                hasFair ? noVig[position] : null,
+                hasFair ? fair[position] : null,
+                priced[position] ? overround[position] : null);
+    }
+
+    /**
+     * Derived pricing of one row; figures that cannot be computed (no price, or no other outcome
+     * of the market on the board) are null.
+     */
+    public record Quote(
+            Double impliedProbability,
+            Double noVigProbability,
+            Integer fairPrice,
+            Double overround) {
+    }
+
+    private record MarketKey(String sport, String event, String market, String book, Double line) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.flashodds.backend.support;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.domain.OddsRowChange;
+
+public final class FrameConflator {
+
+    private FrameConflator() {
+    }
+
+    /**
+     * Folds consecutive delta frames into one, keyed by row id. The last change for a row wins,
+     * so a REMOVE supersedes an earlier UPSERT and a later UPSERT brings the row back. A PATCH only
+     * wins outright over another PATCH (their fields are merged); after an UPSERT or REMOVE it is
+     * promoted to an UPSERT because the client has not seen the row the patch applies to. The
+     * result carries the sequence and timestamp of the newest frame and the trace of the oldest,
+     * so its delivery is measured for the change that waited longest.
+     */
+    public static OddsFrame conflate(List<OddsFrame> deltas) {
+        if (deltas.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to conflate");
+        }
+        var merged = new LinkedHashMap<String, OddsRowChange>();
+        for (var frame : deltas) {
+            if (frame.type() != OddsFrameType.DELTA) {
+                throw new IllegalArgumentException("Only delta frames can be conflated");
+            }
+            for (var change : frame.rows()) {
+                merged.merge(change.id(), change, FrameConflator::fold);
+            }
+        }
+        var newest = deltas.get(deltas.size() - 1);
+        return new OddsFrame(OddsFrameType.DELTA, newest.sequence(), newest.timestamp(), List.copyOf(merged.values()),
+                deltas.getFirst().trace());
+    }
+
+    private static OddsRowChange fold(OddsRowChange earlier, OddsRowChange later) {
+        if (later.op() != OddsRowChange.Operation.PATCH) {
+            return later;
+        }
+        if (earlier.op() == OddsRowChange.Operation.PATCH) {
+            var fields = EnumSet.copyOf(earlier.fields());
+            fields.addAll(later.fields());
+            return new OddsRowChange(OddsRowChange.Operation.PATCH, later.row(), later.id(), fields);
+        }
+        return later.asUpsert();
+    }
+}
@@ -0,0 +1,98 @@
+package com.flashodds.backend.support;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.flashodds.backend.domain.FrameTrace;
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Stage latencies of emitted frames, from their {@link FrameTrace}. Per frame:
+ * {@code flashodds.frame.stage} with {@code stage} fetch (provider round trip), diff (answer to
+ * diff done), emit (diff done to routed to every subscriber) and encode (serialization). Per
+ * subscriber and delta: {@code flashodds.frame.write} from diff done until the encoded frame is
+ * taken by the connection, which asks for it only once the socket has room, and
+ * {@code flashodds.frame.delivery} from the provider's answer until then, both tagged with the
+ * {@code transport}.
+ *
+ * <p>Meters are shared through the registry, so each component can hold its own instance.
+ */
+public final class FrameLatency {
+
+    public enum Transport {
+        WEBSOCKET("websocket"),
+        SSE("sse");
+
+        private final String tag;
+
+        Transport(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Timer fetch;
+    private final Timer diff;
+    private final Timer emit;
+    private final Timer encode;
+    private final Map<Transport, Timer> write = new EnumMap<>(Transport.class);
+    private final Map<Transport, Timer> delivery = new EnumMap<>(Transport.class);
+
+    public FrameLatency(MeterRegistry registry) {
+        this.fetch = stage(registry, "fetch");
+        this.diff = stage(registry, "diff");
+        this.emit = stage(registry, "emit");
+        this.encode = stage(registry, "encode");
+        for (var transport : Transport.values()) {
+            write.put(transport, timer("flashodds.frame.write", "Diff done until taken by the subscriber's connection")
+                    .tag("transport", transport.tag)
+                    .register(registry));
+            delivery.put(transport, timer("flashodds.frame.delivery", "Provider answer until taken by the connection")
+                    .tag("transport", transport.tag)
+                    .register(registry));
+        }
+    }
+
+    /** @param routed when routing to subscribers finished, as a {@link System#nanoTime()} reading */
+    public void emitted(FrameTrace trace, long routed) {
+        if (trace.isTraced()) {
+            fetch.record(trace.fetched() - trace.fetchStarted(), TimeUnit.NANOSECONDS);
+            diff.record(trace.diffed() - trace.fetched(), TimeUnit.NANOSECONDS);
+            emit.record(routed - trace.diffed(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void encoded(long nanos) {
+        encode.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Snapshots are skipped: a late joiner's snapshot says nothing about how fresh prices are. */
+    public void written(OddsFrame frame, Transport transport) {
+        var trace = frame.trace();
+        if (frame.type() == OddsFrameType.DELTA && trace.isTraced()) {
+            var now = System.nanoTime();
+            write.get(transport).record(now - trace.diffed(), TimeUnit.NANOSECONDS);
+            delivery.get(transport).record(now - trace.fetched(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer stage(MeterRegistry registry, String stage) {
+        return timer("flashodds.frame.stage", "Time a frame spent in one stage of the refresh path")
+                .tag("stage", stage)
+                .register(registry);
+    }
+
+    private static Timer.Builder timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(1));
+    }
+}
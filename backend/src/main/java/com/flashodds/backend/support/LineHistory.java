@@ -0,0 +1,99 @@
+package com.flashodds.backend.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.RowHistory;
+
+/**
+ * Per-row price and line history, fed from the board's frames and held in packed form (see
+ * {@link LineSeries}). A row's history is dropped when the row leaves the board or its event
+ * starts, and is capped at {@code maxPoints} moves. Moves the diff thresholds held back are not
+ * seen, so the history matches what stream clients were sent.
+ *
+ * <p>Writes must be serialized by the caller; reads may run concurrently.
+ */
+public final class LineHistory {
+
+    private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(1);
+
+    private final int maxPoints;
+    private final Map<String, LineSeries> series = new ConcurrentHashMap<>();
+    private Instant nextSweep = Instant.MIN;
+
+    public LineHistory(int maxPoints) {
+        this.maxPoints = maxPoints;
+    }
+
+    public void apply(OddsFrame frame) {
+        var timestamp = frame.timestamp();
+        if (frame.type() == OddsFrameType.SNAPSHOT) {
+            var present = new HashSet<String>(frame.rows().size() * 2);
+            for (var change : frame.rows()) {
+                present.add(change.id());
+            }
+            series.keySet().retainAll(present);
+        }
+        for (var change : frame.rows()) {
+            if (change.op().isRemove()) {
+                series.remove(change.id());
+            } else {
+                record(change.row(), timestamp);
+            }
+        }
+        if (!timestamp.isBefore(nextSweep)) {
+            var now = timestamp.toEpochMilli();
+            series.values().removeIf(entry -> entry.startsAt() <= now);
+            nextSweep = timestamp.plus(SWEEP_INTERVAL);
+        }
+    }
+
+    /** The row's history, or null when it has none (unknown row, or its event has started). */
+    public RowHistory history(String id) {
+        var entry = series.get(id);
+        return entry == null ? null : new RowHistory(id, entry.points());
+    }
+
+    public List<RowHistory> histories(Collection<String> ids) {
+        var result = new ArrayList<RowHistory>(ids.size());
+        for (var id : ids) {
+            var history = history(id);
+            if (history != null) {
+                result.add(history);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return series.size();
+    }
+
+    /** Bytes held by packed points across all rows. */
+    public long bytes() {
+        long total = 0;
+        for (var entry : series.values()) {
+            total += entry.bytes();
+        }
+        return total;
+    }
+
+    private void record(OddsRow row, Instant timestamp) {
+        if (row.startsAt() != null && !row.startsAt().isAfter(timestamp)) {
+            series.remove(row.id());
+            return;
+        }
+        var entry = series.computeIfAbsent(row.id(), id -> new LineSeries(row.startsAt()));
+        entry.startsAt(row.startsAt());
+        entry.append(timestamp, row.price(), row.line(), maxPoints);
+    }
+}
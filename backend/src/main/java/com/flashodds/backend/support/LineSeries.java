@@ -0,0 +1,181 @@
+package com.flashodds.backend.support;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.flashodds.backend.domain.RowHistory;
+
+/**
+ * Price and line moves of one row, packed into a byte array. Each point is
+ *
+ * <pre>
+ * tag:uvarint [price:svarint] [line:svarint]     tag = zigzag(dod) &lt;&lt; 2 | line moved &lt;&lt; 1 | price moved
+ * </pre>
+ *
+ * where {@code dod} is the delta-of-delta of the timestamp in seconds, and the price and line are
+ * deltas from the previous point. Prices are stored as-is with 0 for none; lines as
+ * {@code hundredths * 2 + 1} with 0 for none. A move every few minutes costs two to four bytes.
+ *
+ * <p>Once {@code maxPoints} is reached the oldest half is dropped. Methods synchronize on the
+ * series: one refresh thread appends while request threads read.
+ */
+final class LineSeries {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private volatile long startsAt;
+    private byte[] data = new byte[INITIAL_CAPACITY];
+    private int size;
+    private int count;
+    private long firstSecond;
+    private long lastSecond;
+    private long lastDelta;
+    private int lastPrice;
+    private long lastLine;
+
+    LineSeries(Instant startsAt) {
+        startsAt(startsAt);
+    }
+
+    long startsAt() {
+        return startsAt;
+    }
+
+    /** Follows the event when it is rescheduled. */
+    void startsAt(Instant startsAt) {
+        this.startsAt = startsAt == null ? Long.MAX_VALUE : startsAt.toEpochMilli();
+    }
+
+    /** Adds a point unless neither the price nor the line moved since the last one. */
+    synchronized void append(Instant timestamp, Integer price, Double line, int maxPoints) {
+        int packedPrice = price == null ? 0 : price;
+        long packedLine = line == null ? 0 : Math.round(line * 100) * 2 + 1;
+        if (count > 0 && packedPrice == lastPrice && packedLine == lastLine) {
+            return;
+        }
+        if (count >= maxPoints) {
+            dropOldest(count / 2);
+        }
+        write(timestamp.getEpochSecond(), packedPrice, packedLine);
+    }
+
+    synchronized List<RowHistory.Point> points() {
+        var points = new ArrayList<RowHistory.Point>(count);
+        new Reader().forEach((second, price, line) -> points.add(new RowHistory.Point(
+                Instant.ofEpochSecond(second),
+                price == 0 ? null : price,
+                line == 0 ? null : ((line - 1) / 2) / 100.0)));
+        return points;
+    }
+
+    synchronized int size() {
+        return count;
+    }
+
+    /** Heap held by the packed points, excluding the fixed per-series fields. */
+    synchronized int bytes() {
+        return data.length;
+    }
+
+    private void write(long second, int price, long line) {
+        long delta = count == 0 ? 0 : second - lastSecond;
+        long dod = delta - lastDelta;
+        int priceMoved = count == 0 || price != lastPrice ? 1 : 0;
+        int lineMoved = count == 0 || line != lastLine ? 2 : 0;
+        writeUnsigned(zigzag(dod) << 2 | lineMoved | priceMoved);
+        if (priceMoved != 0) {
+            writeUnsigned(zigzag((long) price - lastPrice));
+        }
+        if (lineMoved != 0) {
+            writeUnsigned(zigzag(line - lastLine));
+        }
+        if (count == 0) {
+            firstSecond = second;
+        }
+        lastSecond = second;
+        lastDelta = delta;
+        lastPrice = price;
+        lastLine = line;
+        count++;
+    }
+
+    private void dropOldest(int drop) {
+        var kept = new ArrayList<long[]>(count - drop);
+        new Reader().forEach((second, price, line) -> kept.add(new long[] {second, price, line}));
+        data = new byte[Math.max(INITIAL_CAPACITY, data.length)];
+        size = 0;
+        count = 0;
+        lastDelta = 0;
+        lastPrice = 0;
+        lastLine = 0;
+        for (var point : kept.subList(drop, kept.size())) {
+            write(point[0], (int) point[1], point[2]);
+        }
+    }
+
+    // Grows by a quarter: series are small and many, so slack costs more than the extra copies.
+    private void ensure(int extra) {
+        if (size + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(size + extra, data.length + (data.length >> 2)));
+        }
+    }
+
+    private void writeUnsigned(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            data[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[size++] = (byte) value;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private interface PointVisitor {
+        void visit(long second, int price, long line);
+    }
+
+    private final class Reader {
+
+        private int position;
+
+        void forEach(PointVisitor visitor) {
+            long second = firstSecond;
+            long delta = 0;
+            int price = 0;
+            long line = 0;
+            for (int i = 0; i < count; i++) {
+                long tag = readUnsigned();
+                delta += unzigzag(tag >>> 2);
+                second += delta;
+                if ((tag & 1) != 0) {
+                    price += (int) unzigzag(readUnsigned());
+                }
+                if ((tag & 2) != 0) {
+                    line += unzigzag(readUnsigned());
+                }
+                visitor.visit(second, price, line);
+            }
+        }
+
+        private long readUnsigned() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
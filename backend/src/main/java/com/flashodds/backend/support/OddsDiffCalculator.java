@@ -3,6 +3,7 @@ package com.flashodds.backend.support;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import com.flashodds.backend.domain.OddsRow;
 import com.flashodds.backend.domain.OddsRowChange;
@@ -13,18 +14,45 @@ public final class OddsDiffCalculator {
     }
 
     public static List<OddsRowChange> diff(Map<String, OddsRow> previous, Map<String, OddsRow> fresh) {
+        return diff(previous, fresh, DiffThresholds.EXACT);
+    }
+
+    public static List<OddsRowChange> diff(
+            Map<String, OddsRow> previous,
+            Map<String, OddsRow> fresh,
+            DiffThresholds thresholds) {
         var changes = new ArrayList<OddsRowChange>();
         for (var entry : fresh.entrySet()) {
             var prior = previous.get(entry.getKey());
-            if (prior == null || !prior.equals(entry.getValue())) {
-                changes.add(new OddsRowChange(OddsRowChange.Operation.UPSERT, entry.getValue(), entry.getKey()));
+            var row = entry.getValue();
+            if (prior == null) {
+                changes.add(new OddsRowChange(OddsRowChange.Operation.UPSERT, row, entry.getKey()));
+            } else if (hasMoved(prior, row, thresholds)) {
+                changes.add(sameRouting(prior, row)
+                        ? OddsRowChange.patch(prior, row)
+                        : new OddsRowChange(OddsRowChange.Operation.UPSERT, row, entry.getKey()));
             }
         }
         for (var entry : previous.entrySet()) {
             if (!fresh.containsKey(entry.getKey())) {
-                changes.add(new OddsRowChange(OddsRowChange.Operation.REMOVE, null, entry.getKey()));
+                // The prior row rides along (it is not serialized) so removals can be routed.
+                changes.add(new OddsRowChange(OddsRowChange.Operation.REMOVE, entry.getValue(), entry.getKey()));
             }
         }
         return changes;
     }
+
+    // Rows that move between sports, markets, books or events must reach subscribers that never
+    // held them, so they always travel as full UPSERTs.
+    private static boolean sameRouting(OddsRow prior, OddsRow fresh) {
+        return Objects.equals(prior.sport(), fresh.sport())
+                && Objects.equals(prior.market(), fresh.market())
+                && Objects.equals(prior.book(), fresh.book())
+                && Objects.equals(prior.event(), fresh.event());
+    }
+
+    // Providers that reuse unchanged row instances skip the field comparison entirely.
+    private static boolean hasMoved(OddsRow prior, OddsRow fresh, DiffThresholds thresholds) {
+        return prior != fresh && thresholds.isSignificant(prior, fresh);
+    }
 }
@@ -0,0 +1,224 @@
+package com.flashodds.backend.support;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.SubscriptionFilter;
+
+/**
+ * Immutable view of the board at one state {@link #version()}: rows sorted by id plus posting
+ * lists (ascending row positions) per sport, market, book and event. Built once per state change
+ * so a filtered read is a few index lookups and an intersection instead of a sort and a scan.
+ */
+public final class OddsReadModel {
+
+    public static final OddsReadModel EMPTY = new OddsReadModel(0, List.of());
+
+    // Case-insensitive first, exact as a tie-break, so the order is total and cursors are unambiguous.
+    private static final Comparator<String> ID_ORDER =
+            String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+    private static final Comparator<OddsRow> ORDER = Comparator.comparing(OddsRow::id, ID_ORDER);
+    private static final int[] NONE = new int[0];
+
+    private final long version;
+    private final List<OddsRow> rows;
+    private final Map<Dimension, Map<String, int[]>> postings = new EnumMap<>(Dimension.class);
+    private volatile FairPrices fairPrices;
+
+    private OddsReadModel(long version, List<OddsRow> sorted) {
+        this.version = version;
+        this.rows = sorted;
+        for (var dimension : Dimension.values()) {
+            var positions = new HashMap<String, List<Integer>>();
+            for (int i = 0; i < sorted.size(); i++) {
+                var key = SubscriptionFilter.key(dimension.rowValue.apply(sorted.get(i)));
+                positions.computeIfAbsent(key, ignored -> new ArrayList<>()).add(i);
+            }
+            var index = new HashMap<String, int[]>(positions.size() * 2);
+            positions.forEach((key, list) -> index.put(key, list.stream().mapToInt(Integer::intValue).toArray()));
+            postings.put(dimension, index);
+        }
+    }
+
+    public static OddsReadModel of(long version, Collection<OddsRow> rows) {
+        var sorted = new ArrayList<>(rows);
+        sorted.sort(ORDER);
+        return new OddsReadModel(version, List.copyOf(sorted));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public List<OddsRow> rows() {
+        return rows;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Rows matching {@code filter}, in id order. An unfiltered read returns the shared row list.
+     */
+    public List<OddsRow> select(SubscriptionFilter filter) {
+        if (filter == null || filter.matchesAll()) {
+            return rows;
+        }
+        int[] hits = null;
+        for (var dimension : Dimension.values()) {
+            var values = dimension.filterValues.apply(filter);
+            if (values.isEmpty()) {
+                continue;
+            }
+            var matches = lookup(postings.get(dimension), values);
+            hits = hits == null ? matches : intersect(hits, matches);
+            if (hits.length == 0) {
+                return List.of();
+            }
+        }
+        return new Slice(hits);
+    }
+
+    /**
+     * Up to {@code limit} matching rows whose id sorts after {@code afterId}. Paging by id rather
+     * than by offset keeps a cursor valid across refreshes: rows added or removed before it do not
+     * shift the next page.
+     */
+    public Page page(SubscriptionFilter filter, String afterId, int limit) {
+        var selected = select(filter);
+        int from = afterId == null ? 0 : firstAfter(selected, afterId);
+        int to = (int) Math.min((long) from + limit, selected.size());
+        var slice = selected.subList(from, to);
+        var nextAfter = to < selected.size() && !slice.isEmpty() ? slice.get(slice.size() - 1).id() : null;
+        return new Page(slice, nextAfter);
+    }
+
+    /**
+     * Derived pricing for every row, computed on first use and then shared by all readers of
+     * this version.
+     */
+    public FairPrices fairPrices() {
+        var computed = fairPrices;
+        if (computed == null) {
+            synchronized (this) {
+                computed = fairPrices;
+                if (computed == null) {
+                    computed = FairPrices.of(rows, PricingKernel.best());
+                    fairPrices = computed;
+                }
+            }
+        }
+        return computed;
+    }
+
+    /** Derived pricing of {@code row}, or null when the row is not part of this version. */
+    public FairPrices.Quote fairPrice(OddsRow row) {
+        int position = firstAfter(rows, row.id()) - 1;
+        if (position < 0 || !rows.get(position).id().equals(row.id())) {
+            return null;
+        }
+        return fairPrices().quote(position);
+    }
+
+    private static int firstAfter(List<OddsRow> sorted, String id) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ID_ORDER.compare(sorted.get(mid).id(), id) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // A row has exactly one value per dimension, so the posting lists of distinct values are disjoint.
+    private static int[] lookup(Map<String, int[]> index, Set<String> values) {
+        if (values.size() == 1) {
+            return index.getOrDefault(values.iterator().next(), NONE);
+        }
+        int total = 0;
+        for (var value : values) {
+            total += index.getOrDefault(value, NONE).length;
+        }
+        var merged = new int[total];
+        int offset = 0;
+        for (var value : values) {
+            var positions = index.getOrDefault(value, NONE);
+            System.arraycopy(positions, 0, merged, offset, positions.length);
+            offset += positions.length;
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        var out = new int[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                out[n++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    public record Page(List<OddsRow> rows, String nextAfter) {
+    }
+
+    private final class Slice extends AbstractList<OddsRow> implements RandomAccess {
+
+        private final int[] positions;
+
+        Slice(int[] positions) {
+            this.positions = positions;
+        }
+
+        @Override
+        public OddsRow get(int index) {
+            return rows.get(positions[index]);
+        }
+
+        @Override
+        public int size() {
+            return positions.length;
+        }
+    }
+
+    private enum Dimension {
+        SPORT(SubscriptionFilter::sports, OddsRow::sport),
+        MARKET(SubscriptionFilter::markets, OddsRow::market),
+        BOOK(SubscriptionFilter::books, OddsRow::book),
+        EVENT(SubscriptionFilter::events, OddsRow::event);
+
+        private final Function<SubscriptionFilter, Set<String>> filterValues;
+        private final Function<OddsRow, String> rowValue;
+
+        Dimension(Function<SubscriptionFilter, Set<String>> filterValues, Function<OddsRow, String> rowValue) {
+            this.filterValues = filterValues;
+            this.rowValue = rowValue;
+        }
+    }
+}
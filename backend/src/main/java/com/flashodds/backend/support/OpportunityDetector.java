@@ -0,0 +1,180 @@
+package com.flashodds.backend.support;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.flashodds.backend.domain.MarketSummary;
+import com.flashodds.backend.domain.MarketSummaryFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.domain.Opportunity;
+import com.flashodds.backend.domain.OpportunityEvent;
+import com.flashodds.backend.domain.SubscriptionFilter;
+
+/**
+ * Arbitrage and positive expected value per market, evaluated from {@link BestPriceIndex} frames.
+ * A frame only re-evaluates the markets (sport, event, market) its changed outcomes belong to,
+ * and emits OPEN, UPDATE and CLOSE events against the set of opportunities currently open.
+ *
+ * <p>Expected value is measured against the no-vig consensus: each outcome's consensus implied
+ * probability divided by the market's total. Markets whose outcomes quote different lines (other
+ * than the mirrored sign of a spread) are skipped, since their prices are not complementary. Only
+ * the outcomes books actually quote are known, so a market missing an outcome (e.g. the draw)
+ * can look like an arbitrage; thresholds should allow for that.
+ *
+ * <p>Writes must be serialized by the caller; {@link #open} may be read concurrently.
+ */
+public final class OpportunityDetector {
+
+    private static final Comparator<Opportunity> ORDER = Comparator.comparing(Opportunity::id);
+    private static final double EDGE_RESOLUTION = 1e-4;
+
+    private final double minArbitrageEdge;
+    private final double minExpectedValue;
+
+    // Writer-only state: market key -> outcome key -> summary.
+    private final Map<String, Map<String, MarketSummary>> markets = new HashMap<>();
+    private final Map<String, Set<String>> openByMarket = new HashMap<>();
+    private final Map<String, Opportunity> open = new ConcurrentHashMap<>();
+
+    public OpportunityDetector(double minArbitrageEdge, double minExpectedValue) {
+        this.minArbitrageEdge = minArbitrageEdge;
+        this.minExpectedValue = minExpectedValue;
+    }
+
+    public List<OpportunityEvent> apply(MarketSummaryFrame frame) {
+        var touched = new LinkedHashSet<String>();
+        if (frame.type() == OddsFrameType.SNAPSHOT) {
+            touched.addAll(markets.keySet());
+            markets.clear();
+        }
+        for (var summary : frame.summaries()) {
+            var market = marketKey(summary.key());
+            markets.computeIfAbsent(market, ignored -> new LinkedHashMap<>()).put(summary.key(), summary);
+            touched.add(market);
+        }
+        for (var key : frame.removed()) {
+            var market = marketKey(key);
+            var outcomes = markets.get(market);
+            if (outcomes != null && outcomes.remove(key) != null) {
+                if (outcomes.isEmpty()) {
+                    markets.remove(market);
+                }
+                touched.add(market);
+            }
+        }
+
+        var events = new ArrayList<OpportunityEvent>();
+        var now = frame.timestamp();
+        for (var market : touched) {
+            var found = evaluate(markets.getOrDefault(market, Map.of()), now);
+            var previous = openByMarket.getOrDefault(market, Set.of());
+            for (var id : previous) {
+                if (!found.containsKey(id)) {
+                    events.add(new OpportunityEvent(OpportunityEvent.Type.CLOSE, frame.sequence(), open.remove(id)));
+                }
+            }
+            for (var opportunity : found.values()) {
+                var prior = open.get(opportunity.id());
+                if (prior == null) {
+                    open.put(opportunity.id(), opportunity);
+                    events.add(new OpportunityEvent(OpportunityEvent.Type.OPEN, frame.sequence(), opportunity));
+                } else if (moved(prior, opportunity)) {
+                    // Keep when it was first seen so clients can tell how long a window has been open.
+                    var updated = new Opportunity(opportunity.id(), opportunity.kind(), opportunity.sport(),
+                            opportunity.event(), opportunity.market(), opportunity.legs(), opportunity.edge(),
+                            prior.detectedAt());
+                    open.put(updated.id(), updated);
+                    events.add(new OpportunityEvent(OpportunityEvent.Type.UPDATE, frame.sequence(), updated));
+                }
+            }
+            if (found.isEmpty()) {
+                openByMarket.remove(market);
+            } else {
+                openByMarket.put(market, Set.copyOf(found.keySet()));
+            }
+        }
+        return events;
+    }
+
+    public List<Opportunity> open(SubscriptionFilter filter) {
+        var selected = new ArrayList<Opportunity>();
+        for (var opportunity : open.values()) {
+            if (opportunity.matches(filter)) {
+                selected.add(opportunity);
+            }
+        }
+        selected.sort(ORDER);
+        return selected;
+    }
+
+    private Map<String, Opportunity> evaluate(Map<String, MarketSummary> outcomes, Instant now) {
+        var found = new LinkedHashMap<String, Opportunity>();
+        if (outcomes.size() < 2 || !complementary(outcomes.values())) {
+            return found;
+        }
+        double inverseSum = 0;
+        double consensusSum = 0;
+        for (var summary : outcomes.values()) {
+            if (summary.bestPrice() == null || summary.consensusPrice() == null) {
+                return found;
+            }
+            inverseSum += ScalarPricingKernel.implied(summary.bestPrice());
+            consensusSum += ScalarPricingKernel.implied(summary.consensusPrice());
+        }
+        var first = outcomes.values().iterator().next();
+        var market = marketKey(first.key());
+
+        var arbitrage = 1.0 / inverseSum - 1.0;
+        if (arbitrage > minArbitrageEdge) {
+            var legs = outcomes.values().stream().map(OpportunityDetector::leg).toList();
+            var id = Opportunity.Kind.ARBITRAGE.name().toLowerCase() + ":" + market;
+            found.put(id, new Opportunity(id, Opportunity.Kind.ARBITRAGE, first.sport(), first.event(),
+                    first.market(), legs, arbitrage, now));
+        }
+        for (var summary : outcomes.values()) {
+            var fair = ScalarPricingKernel.implied(summary.consensusPrice()) / consensusSum;
+            var expected = fair / ScalarPricingKernel.implied(summary.bestPrice()) - 1.0;
+            if (expected > minExpectedValue) {
+                var id = Opportunity.Kind.POSITIVE_EV.name().toLowerCase() + ":" + summary.key();
+                found.put(id, new Opportunity(id, Opportunity.Kind.POSITIVE_EV, summary.sport(), summary.event(),
+                        summary.market(), List.of(leg(summary)), expected, now));
+            }
+        }
+        return found;
+    }
+
+    // Totals quote the same line on both sides and spreads mirror it; anything else is not one market.
+    private static boolean complementary(Iterable<MarketSummary> outcomes) {
+        Double magnitude = null;
+        for (var summary : outcomes) {
+            var line = summary.consensusLine() == null ? null : Math.abs(summary.consensusLine());
+            if (magnitude == null) {
+                magnitude = line == null ? Double.NaN : line;
+            } else if (line == null ? !magnitude.isNaN() : !line.equals(magnitude)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean moved(Opportunity prior, Opportunity next) {
+        return !prior.legs().equals(next.legs()) || Math.abs(prior.edge() - next.edge()) >= EDGE_RESOLUTION;
+    }
+
+    private static Opportunity.Leg leg(MarketSummary summary) {
+        var book = summary.bestBooks().isEmpty() ? null : summary.bestBooks().getFirst();
+        return new Opportunity.Leg(summary.outcome(), book, summary.bestPrice(), summary.consensusLine());
+    }
+
+    private static String marketKey(String outcomeKey) {
+        return outcomeKey.substring(0, outcomeKey.lastIndexOf(':'));
+    }
+}
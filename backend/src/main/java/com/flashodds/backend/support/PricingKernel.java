@@ -0,0 +1,36 @@
+package com.flashodds.backend.support;
+
+/**
+ * Odds arithmetic over primitive columns. Implementations must produce identical results, so the
+ * scalar kernel is the reference for the vectorized one.
+ *
+ * <ul>
+ *   <li>Implied probability of American odds {@code a}: {@code 100 / (a + 100)} for {@code a > 0},
+ *       {@code -a / (-a + 100)} for {@code a < 0}; a price of 0 means "no price" and yields 0.</li>
+ *   <li>No-vig probabilities divide each outcome's implied probability by the market's sum; the
+ *       overround is that sum minus one.</li>
+ *   <li>Fair American odds of a probability in (0, 1), rounded half away from zero; anything
+ *       outside that range yields 0.</li>
+ * </ul>
+ */
+public interface PricingKernel {
+
+    void impliedProbabilities(int[] american, double[] out, int length);
+
+    /**
+     * @param outcomes one column per outcome, each holding one market per index
+     */
+    void removeVig(double[][] outcomes, double[][] out, double[] overround, int length);
+
+    void fairAmerican(double[] probabilities, int[] out, int length);
+
+    String name();
+
+    /**
+     * The Vector API kernel when {@code jdk.incubator.vector} is resolved in this JVM (it is
+     * added with {@code --add-modules}); otherwise the scalar one.
+     */
+    static PricingKernel best() {
+        return PricingKernels.BEST;
+    }
+}
@@ -0,0 +1,30 @@
+package com.flashodds.backend.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+final class PricingKernels {
+
+    private static final Logger log = LoggerFactory.getLogger(PricingKernels.class);
+
+    static final PricingKernel BEST = select();
+
+    private PricingKernels() {
+    }
+
+    private static PricingKernel select() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Loaded reflectively so the scalar path never links against the incubator module.
+                var kernel = (PricingKernel) Class.forName("com.flashodds.backend.support.VectorPricingKernel")
+                        .getDeclaredConstructor()
+                        .newInstance();
+                log.info("Using {} pricing kernel", kernel.name());
+                return kernel;
+            } catch (ReflectiveOperationException | LinkageError ex) {
+                log.warn("Vector pricing kernel unavailable, using scalar: {}", ex.toString());
+            }
+        }
+        return new ScalarPricingKernel();
+    }
+}
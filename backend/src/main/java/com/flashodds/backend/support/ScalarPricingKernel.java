@@ -0,0 +1,56 @@
+package com.flashodds.backend.support;
+
+public final class ScalarPricingKernel implements PricingKernel {
+
+    @Override
+    public void impliedProbabilities(int[] american, double[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = implied(american[i]);
+        }
+    }
+
+    @Override
+    public void removeVig(double[][] outcomes, double[][] out, double[] overround, int length) {
+        for (int i = 0; i < length; i++) {
+            double sum = 0;
+            for (var column : outcomes) {
+                sum += column[i];
+            }
+            overround[i] = sum - 1.0;
+            for (int j = 0; j < outcomes.length; j++) {
+                out[j][i] = sum > 0 ? outcomes[j][i] / sum : 0.0;
+            }
+        }
+    }
+
+    @Override
+    public void fairAmerican(double[] probabilities, int[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = fair(probabilities[i]);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    // The single-value forms below are the reference arithmetic for every kernel and for code that
+    // prices one quote at a time (BestPriceIndex, OpportunityDetector).
+    static double implied(int american) {
+        double magnitude = Math.abs((double) american);
+        double numerator = american > 0 ? 100.0 : magnitude;
+        return numerator / (magnitude + 100.0);
+    }
+
+    static int fair(double probability) {
+        if (!(probability > 0.0 && probability < 1.0)) {
+            return 0;
+        }
+        double remainder = 1.0 - probability;
+        boolean favourite = probability >= 0.5;
+        double odds = favourite ? probability * -100.0 / remainder : remainder * 100.0 / probability;
+        int rounded = (int) (Math.abs(odds) + 0.5);
+        return favourite ? -rounded : rounded;
+    }
+}
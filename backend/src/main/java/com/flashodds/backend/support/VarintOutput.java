@@ -0,0 +1,55 @@
+package com.flashodds.backend.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A growable byte buffer for the varint encodings: unsigned LEB128 varints, zigzag signed
+ * varints and length-prefixed UTF-8 strings. Shared by the binary websocket frames and the tick
+ * log records.
+ */
+public final class VarintOutput {
+
+    private byte[] bytes;
+    private int size;
+
+    public VarintOutput(int capacity) {
+        this.bytes = new byte[Math.max(capacity, 16)];
+    }
+
+    public void writeByte(int value) {
+        ensure(1);
+        bytes[size++] = (byte) value;
+    }
+
+    public void writeUnsigned(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    public void writeSigned(long value) {
+        writeUnsigned((value << 1) ^ (value >> 63));
+    }
+
+    public void writeString(String value) {
+        var utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeUnsigned(utf8.length);
+        ensure(utf8.length);
+        System.arraycopy(utf8, 0, bytes, size, utf8.length);
+        size += utf8.length;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+}
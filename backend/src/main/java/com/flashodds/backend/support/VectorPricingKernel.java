@@ -0,0 +1,87 @@
+package com.flashodds.backend.support;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link PricingKernel} on the JDK Vector API. Ints are widened to doubles lane for lane, so the
+ * int species is half the width of the preferred double species. Loop tails fall through to the
+ * scalar kernel, which performs the same operations in the same order.
+ */
+public final class VectorPricingKernel implements PricingKernel {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+
+    @Override
+    public void impliedProbabilities(int[] american, double[] out, int length) {
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            var odds = (DoubleVector) IntVector.fromArray(INTS, american, i)
+                    .convertShape(VectorOperators.I2D, DOUBLES, 0);
+            var magnitude = odds.abs();
+            var numerator = magnitude.blend(100.0, odds.compare(VectorOperators.GT, 0.0));
+            numerator.div(magnitude.add(100.0)).intoArray(out, i);
+        }
+        for (; i < length; i++) {
+            out[i] = ScalarPricingKernel.implied(american[i]);
+        }
+    }
+
+    @Override
+    public void removeVig(double[][] outcomes, double[][] out, double[] overround, int length) {
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            var sum = DoubleVector.zero(DOUBLES);
+            for (var column : outcomes) {
+                sum = sum.add(DoubleVector.fromArray(DOUBLES, column, i));
+            }
+            sum.sub(1.0).intoArray(overround, i);
+            var empty = sum.compare(VectorOperators.LE, 0.0);
+            for (int j = 0; j < outcomes.length; j++) {
+                DoubleVector.fromArray(DOUBLES, outcomes[j], i).div(sum).blend(0.0, empty).intoArray(out[j], i);
+            }
+        }
+        for (; i < length; i++) {
+            double sum = 0;
+            for (var column : outcomes) {
+                sum += column[i];
+            }
+            overround[i] = sum - 1.0;
+            for (int j = 0; j < outcomes.length; j++) {
+                out[j][i] = sum > 0 ? outcomes[j][i] / sum : 0.0;
+            }
+        }
+    }
+
+    @Override
+    public void fairAmerican(double[] probabilities, int[] out, int length) {
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            var probability = DoubleVector.fromArray(DOUBLES, probabilities, i);
+            var valid = probability.compare(VectorOperators.GT, 0.0)
+                    .and(probability.compare(VectorOperators.LT, 1.0));
+            var favourite = probability.compare(VectorOperators.GE, 0.5);
+            var remainder = DoubleVector.broadcast(DOUBLES, 1.0).sub(probability);
+            var underdogOdds = remainder.mul(100.0).div(probability);
+            var favouriteOdds = probability.mul(-100.0).div(remainder);
+            var odds = underdogOdds.blend(favouriteOdds, favourite);
+            var rounded = (IntVector) odds.abs().add(0.5).convertShape(VectorOperators.D2I, INTS, 0);
+            rounded.blend(rounded.neg(), favourite.cast(INTS))
+                    .blend(0, valid.not().cast(INTS))
+                    .intoArray(out, i);
+        }
+        for (; i < length; i++) {
+            out[i] = ScalarPricingKernel.fair(probabilities[i]);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + DOUBLES.length() + "x64";
+    }
+}
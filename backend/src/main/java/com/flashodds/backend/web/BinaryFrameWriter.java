@@ -0,0 +1,210 @@
+package com.flashodds.backend.web;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.OddsRowChange;
+import com.flashodds.backend.support.VarintOutput;
+
+/**
+ * Per-session encoder for the {@value #PROTOCOL} WebSocket subprotocol. Strings and row ids are
+ * sent once and referred to by integer handles afterwards, so a steady-state price move costs a
+ * handful of bytes. Instances keep the session's dictionaries and are not thread-safe.
+ *
+ * <pre>
+ * frame   := kind:u8 seq:uvarint ts:uvarint strings rows changes   (kind 1 snapshot, 2 delta, | 0x80 reset)
+ * ping    := kind:u8=0 ts:uvarint
+ * strings := count:uvarint { handle:uvarint length:uvarint utf8[length] }
+ * rows    := count:uvarint { handle:uvarint id sport event market book:uvarint startsAt:svarint }
+ * changes := count:uvarint { op:u8 row:uvarint [flags:u8 price:svarint? line:svarint?] }
+ * </pre>
+ *
+ * String handle 0 is the empty string and never defined. {@code ts} is epoch millis,
+ * {@code startsAt} epoch seconds (0 when unknown). {@code op} is 1 for upsert, 2 for remove; only
+ * upserts carry {@code flags} (bit 0 price present, bit 1 line present) and the values that follow.
+ * Lines travel in hundredths. A row definition is repeated whenever one of its descriptive
+ * fields changes; {@code updatedAt} is the frame timestamp and {@code extra} is not transmitted.
+ * PATCH changes travel as upserts: an upsert already carries nothing but price and line.
+ * A snapshot replaces the client's rows.
+ *
+ * <p>When bit 0x80 of {@code kind} is set the client clears both dictionaries before reading
+ * the frame; its rows, which it keeps by id, stay. Every snapshot resets, and so does a delta
+ * once the dictionaries have grown to twice their size after the last reset (at least
+ * {@code minResetEntries}), so a long-lived session on a churning board stays bounded. Row
+ * handles are also dropped as their rows are removed. Handles are never reused within a reset.
+ */
+final class BinaryFrameWriter {
+
+    static final String PROTOCOL = "flashodds.bin.v1";
+
+    private static final int KIND_PING = 0;
+    private static final int KIND_SNAPSHOT = 1;
+    private static final int KIND_DELTA = 2;
+    private static final int RESET = 0x80;
+    private static final int MIN_RESET_ENTRIES = 65_536;
+    private static final int OP_UPSERT = 1;
+    private static final int OP_REMOVE = 2;
+    private static final int HAS_PRICE = 1;
+    private static final int HAS_LINE = 2;
+
+    private final int minResetEntries;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<String, RowEntry> rows = new HashMap<>();
+    private int nextRowHandle;
+    private int resetEntries;
+
+    BinaryFrameWriter() {
+        this(MIN_RESET_ENTRIES);
+    }
+
+    BinaryFrameWriter(int minResetEntries) {
+        this.minResetEntries = minResetEntries;
+        this.resetEntries = minResetEntries;
+    }
+
+    byte[] write(OddsFrame frame) {
+        var snapshot = frame.type() == OddsFrameType.SNAPSHOT;
+        var reset = snapshot || strings.size() + rows.size() > resetEntries;
+        if (reset) {
+            strings.clear();
+            rows.clear();
+            nextRowHandle = 0;
+        }
+        var newStrings = new ArrayList<String>();
+        var definitions = new ArrayList<RowEntry>();
+        var handles = new int[frame.rows().size()];
+        for (int i = 0; i < handles.length; i++) {
+            var change = frame.rows().get(i);
+            handles[i] = change.op().isRemove()
+                    ? handleOf(change.id(), newStrings, definitions)
+                    : define(change.row(), newStrings, definitions);
+        }
+
+        if (snapshot) {
+            resetEntries = Math.max(minResetEntries, 2 * (strings.size() + rows.size()));
+        }
+
+        var out = new VarintOutput(16 + frame.rows().size() * 8);
+        out.writeByte((snapshot ? KIND_SNAPSHOT : KIND_DELTA) | (reset ? RESET : 0));
+        out.writeUnsigned(frame.sequence());
+        out.writeUnsigned(frame.timestamp().toEpochMilli());
+
+        out.writeUnsigned(newStrings.size());
+        for (var value : newStrings) {
+            out.writeUnsigned(strings.get(value));
+            out.writeString(value);
+        }
+
+        out.writeUnsigned(definitions.size());
+        for (var entry : definitions) {
+            out.writeUnsigned(entry.handle);
+            var definition = entry.definition;
+            out.writeUnsigned(definition.id);
+            out.writeUnsigned(definition.sport);
+            out.writeUnsigned(definition.event);
+            out.writeUnsigned(definition.market);
+            out.writeUnsigned(definition.book);
+            out.writeSigned(definition.startsAt);
+        }
+
+        out.writeUnsigned(handles.length);
+        for (int i = 0; i < handles.length; i++) {
+            var change = frame.rows().get(i);
+            if (change.op().isRemove()) {
+                out.writeByte(OP_REMOVE);
+                out.writeUnsigned(handles[i]);
+                rows.remove(change.id());
+            } else {
+                out.writeByte(OP_UPSERT);
+                out.writeUnsigned(handles[i]);
+                writePrices(out, change.row());
+            }
+        }
+        return out.toByteArray();
+    }
+
+    static byte[] ping(Instant now) {
+        var out = new VarintOutput(12);
+        out.writeByte(KIND_PING);
+        out.writeUnsigned(now.toEpochMilli());
+        return out.toByteArray();
+    }
+
+    private int define(OddsRow row, List<String> newStrings, List<RowEntry> definitions) {
+        var definition = new RowDefinition(
+                intern(row.id(), newStrings),
+                intern(row.sport(), newStrings),
+                intern(row.event(), newStrings),
+                intern(row.market(), newStrings),
+                intern(row.book(), newStrings),
+                row.startsAt() == null ? 0 : row.startsAt().getEpochSecond());
+        var entry = rows.get(row.id());
+        if (entry == null) {
+            entry = new RowEntry(nextRowHandle++, definition);
+            rows.put(row.id(), entry);
+            definitions.add(entry);
+        } else if (!entry.definition.equals(definition)) {
+            entry.definition = definition;
+            definitions.add(entry);
+        }
+        return entry.handle;
+    }
+
+    // A REMOVE for a row this session never saw still needs a handle the client can resolve.
+    private int handleOf(String id, List<String> newStrings, List<RowEntry> definitions) {
+        var entry = rows.get(id);
+        if (entry != null) {
+            return entry.handle;
+        }
+        var definition = new RowDefinition(intern(id, newStrings), 0, 0, 0, 0, 0);
+        entry = new RowEntry(nextRowHandle++, definition);
+        rows.put(id, entry);
+        definitions.add(entry);
+        return entry.handle;
+    }
+
+    private int intern(String value, List<String> newStrings) {
+        if (value == null || value.isEmpty()) {
+            return 0;
+        }
+        var handle = strings.get(value);
+        if (handle == null) {
+            handle = strings.size() + 1;
+            strings.put(value, handle);
+            newStrings.add(value);
+        }
+        return handle;
+    }
+
+    private static void writePrices(VarintOutput out, OddsRow row) {
+        int flags = (row.price() != null ? HAS_PRICE : 0) | (row.line() != null ? HAS_LINE : 0);
+        out.writeByte(flags);
+        if (row.price() != null) {
+            out.writeSigned(row.price());
+        }
+        if (row.line() != null) {
+            out.writeSigned(Math.round(row.line() * 100));
+        }
+    }
+
+    private record RowDefinition(int id, int sport, int event, int market, int book, long startsAt) {
+    }
+
+    private static final class RowEntry {
+
+        private final int handle;
+        private RowDefinition definition;
+
+        RowEntry(int handle, RowDefinition definition) {
+            this.handle = handle;
+            this.definition = Objects.requireNonNull(definition);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.flashodds.backend.web;
+
+import java.nio.ByteBuffer;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+/**
+ * A frame serialized once into a heap array laid out as a complete SSE event, with the JSON
+ * payload as its {@code data:} line. Every subscriber gets a read-only wrapper over the same
+ * bytes on either transport, so nothing is copied per delivery and nothing has to be released:
+ * the array goes away with the last wrapper and the frame.
+ */
+final class EncodedFrame {
+
+    private final byte[] event;
+    private final int jsonOffset;
+    private final int jsonLength;
+
+    EncodedFrame(byte[] event, int jsonOffset, int jsonLength) {
+        this.event = event;
+        this.jsonOffset = jsonOffset;
+        this.jsonLength = jsonLength;
+    }
+
+    DataBuffer json(DataBufferFactory factory) {
+        return factory.wrap(ByteBuffer.wrap(event, jsonOffset, jsonLength).slice().asReadOnlyBuffer());
+    }
+
+    DataBuffer serverSentEvent(DataBufferFactory factory) {
+        return factory.wrap(ByteBuffer.wrap(event).asReadOnlyBuffer());
+    }
+
+    int size() {
+        return jsonLength;
+    }
+}
@@ -0,0 +1,94 @@
+package com.flashodds.backend.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsRowChange;
+import com.flashodds.backend.support.FrameLatency;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class OddsFrameEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(OddsFrameEncoder.class);
+    private static final byte[] SSE_END = "\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final OddsMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final Counter encodedFrames;
+    private final Counter encodedBytes;
+    private final FrameLatency frameLatency;
+
+    // Weak (identity) keys: an entry lives exactly as long as somebody can still send the frame.
+    // Values are plain heap arrays, so collecting them needs no release hook.
+    private final Cache<OddsFrame, EncodedFrame> encoded = newCache();
+    // Patch-aware encodings for clients that opted in; frames without PATCH changes share the full one.
+    private final Cache<OddsFrame, EncodedFrame> patched = newCache();
+
+    public OddsFrameEncoder(OddsMapper mapper, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.encodedFrames = meterRegistry.counter("flashodds.frames.encoded");
+        this.encodedBytes = meterRegistry.counter("flashodds.frames.encoded.bytes");
+        this.frameLatency = new FrameLatency(meterRegistry);
+    }
+
+    EncodedFrame encode(OddsFrame frame) {
+        return encoded.get(frame, key -> serialize(key, false));
+    }
+
+    // The patch scan runs once per frame, on the cache miss: frames without PATCH changes map to
+    // their full encoding, so patch-enabled subscribers cost a lookup like everyone else.
+    EncodedFrame encode(OddsFrame frame, boolean patches) {
+        if (!patches) {
+            return encode(frame);
+        }
+        return patched.get(frame, key -> hasPatches(key) ? serialize(key, true) : encode(key));
+    }
+
+    private static boolean hasPatches(OddsFrame frame) {
+        for (var change : frame.rows()) {
+            if (change.op() == OddsRowChange.Operation.PATCH) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Cache<OddsFrame, EncodedFrame> newCache() {
+        return Caffeine.newBuilder()
+                .weakKeys()
+                .build();
+    }
+
+    private EncodedFrame serialize(OddsFrame frame, boolean patches) {
+        var started = System.nanoTime();
+        var dto = mapper.toDto(frame, patches);
+        var out = new ByteArrayOutputStream(256 + 128 * frame.rows().size());
+        out.writeBytes(("id:" + frame.sequence() + "\nevent:" + dto.type() + "\ndata:").getBytes(StandardCharsets.UTF_8));
+        var jsonOffset = out.size();
+        try {
+            objectMapper.writeValue(out, dto);
+        } catch (IOException ex) {
+            log.error("Failed to encode odds frame", ex);
+            throw new IllegalStateException("Unable to encode frame", ex);
+        }
+        var jsonLength = out.size() - jsonOffset;
+        out.writeBytes(SSE_END);
+        frameLatency.encoded(System.nanoTime() - started);
+        encodedFrames.increment();
+        encodedBytes.increment(jsonLength);
+        return new EncodedFrame(out.toByteArray(), jsonOffset, jsonLength);
+    }
+}
@@ -0,0 +1,56 @@
+package com.flashodds.backend.web;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flashodds.backend.domain.SubscriptionFilter;
+import com.flashodds.backend.support.OddsReadModel;
+
+/**
+ * A normalized {@code GET /api/odds} request. Without {@code limit} or {@code cursor} the whole
+ * filtered board is returned, as before paging existed. Cursors are the opaque (base64url) id of
+ * the last row of the previous page.
+ */
+record OddsListQuery(SubscriptionFilter filter, String afterId, int limit, OddsRowProjection projection) {
+
+    static final int DEFAULT_PAGE_SIZE = 500;
+    static final int MAX_PAGE_SIZE = 5000;
+
+    static OddsListQuery of(
+            SubscriptionFilter filter,
+            String cursor,
+            Integer limit,
+            List<String> fields) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        var afterId = decodeCursor(cursor);
+        int pageSize = limit != null ? limit : afterId != null ? DEFAULT_PAGE_SIZE : Integer.MAX_VALUE;
+        return new OddsListQuery(filter, afterId, pageSize, OddsRowProjection.parse(fields));
+    }
+
+    OddsReadModel.Page page(OddsReadModel model) {
+        return model.page(filter, afterId, limit);
+    }
+
+    static String encodeCursor(String id) {
+        return id == null ? null : Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed cursor");
+        }
+    }
+}
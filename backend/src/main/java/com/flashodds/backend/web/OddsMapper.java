@@ -1,6 +1,7 @@
 package com.flashodds.backend.web;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 import org.springframework.stereotype.Component;
@@ -19,18 +20,39 @@ public class OddsMapper {
     }
 
     public OddsFrameDto toDto(OddsFrame frame) {
+        return toDto(frame, false);
+    }
+
+    /**
+     * @param patches whether the client opted into {@code patch} changes; otherwise every PATCH
+     *                is sent as a full {@code upsert}
+     */
+    public OddsFrameDto toDto(OddsFrame frame, boolean patches) {
         return new OddsFrameDto(
                 frame.type().name().toLowerCase(),
+                frame.sequence(),
                 frame.timestamp() != null ? frame.timestamp() : Instant.now(),
                 frame.rows().stream()
-                        .map(this::toDto)
+                        .map(change -> toDto(change, patches))
                         .toList());
     }
 
     public OddsRowChangeDto toDto(OddsRowChange change) {
-        return new OddsRowChangeDto(
-                change.op().name().toLowerCase(),
-                change.id(),
-                change.op().isUpsert() ? change.row() : null);
+        return toDto(change, false);
+    }
+
+    public OddsRowChangeDto toDto(OddsRowChange change, boolean patches) {
+        var effective = patches ? change : change.asUpsert();
+        return switch (effective.op()) {
+            case UPSERT -> new OddsRowChangeDto("upsert", effective.id(), effective.row(), null);
+            case REMOVE -> new OddsRowChangeDto("remove", effective.id(), null, null);
+            case PATCH -> {
+                var fields = new LinkedHashMap<String, Object>();
+                for (var field : effective.fields()) {
+                    fields.put(field.jsonName(), field.value(effective.row()));
+                }
+                yield new OddsRowChangeDto("patch", effective.id(), null, fields);
+            }
+        };
     }
 }
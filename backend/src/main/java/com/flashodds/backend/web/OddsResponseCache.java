@@ -0,0 +1,135 @@
+package com.flashodds.backend.web;
+
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashodds.backend.config.CacheConfig;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Conditional, pre-encoded REST responses. The state version doubles as a strong ETag, so a
+ * matching If-None-Match is answered with 304 before any body is built; otherwise the JSON bytes
+ * are cached per (resource, version, view) and shared by every poller of that view. {@code view}
+ * is whatever identifies the representation within a version, e.g. the normalized query. Other
+ * media types served for the same URL get their own tag, and every response carries
+ * {@code Vary: Accept}, so a cached JSON body is never revalidated as NDJSON or the reverse.
+ */
+@Component
+class OddsResponseCache {
+
+    private final Cache cache;
+    private final ObjectMapper objectMapper;
+    private final Counter notModified;
+    private final Counter encodedResponses;
+
+    OddsResponseCache(CacheManager cacheManager, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.cache = cacheManager.getCache(CacheConfig.RESPONSE_CACHE);
+        this.objectMapper = objectMapper;
+        this.notModified = meterRegistry.counter("flashodds.http.not-modified");
+        this.encodedResponses = meterRegistry.counter("flashodds.http.responses.encoded");
+    }
+
+    ResponseEntity<byte[]> respond(
+            ServerHttpRequest request,
+            String resource,
+            long version,
+            Object view,
+            Supplier<Object> body) {
+        return respond(request, resource, version, view, body, new HttpHeaders());
+    }
+
+    ResponseEntity<byte[]> respond(
+            ServerHttpRequest request,
+            String resource,
+            long version,
+            Object view,
+            Supplier<Object> body,
+            HttpHeaders headers) {
+        var etag = etag(version, MediaType.APPLICATION_JSON);
+        if (matches(request, etag)) {
+            return notModified(etag);
+        }
+        var bytes = cache.get(new Key(resource, version, view), () -> encode(body.get()));
+        return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(bytes);
+    }
+
+    /**
+     * Same validation as {@link #respond}, but the body is streamed by the codec (e.g. NDJSON)
+     * rather than cached as one buffer.
+     */
+    <T> ResponseEntity<T> stream(ServerHttpRequest request, long version, MediaType type, Supplier<T> body,
+            HttpHeaders headers) {
+        var etag = etag(version, type);
+        if (matches(request, etag)) {
+            return notModified(etag);
+        }
+        return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(CacheControl.noCache())
+                .contentType(type)
+                .body(body.get());
+    }
+
+    private <T> ResponseEntity<T> notModified(String etag) {
+        notModified.increment();
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
+
+    // JSON keeps the bare version; other representations are suffixed, e.g. "42-ndjson".
+    private static String etag(long version, MediaType type) {
+        if (MediaType.APPLICATION_JSON.isCompatibleWith(type)) {
+            return "\"" + version + "\"";
+        }
+        var subtype = type.getSubtype();
+        return "\"" + version + "-" + (subtype.startsWith("x-") ? subtype.substring(2) : subtype) + "\"";
+    }
+
+    private byte[] encode(Object body) {
+        try {
+            var bytes = objectMapper.writeValueAsBytes(body);
+            encodedResponses.increment();
+            return bytes;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to encode response", ex);
+        }
+    }
+
+    // If-None-Match uses the weak comparison, so W/"v" matches our strong "v" as well.
+    private static boolean matches(ServerHttpRequest request, String etag) {
+        for (var candidate : request.getHeaders().getIfNoneMatch()) {
+            var tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Key(String resource, long version, Object view) {
+    }
+}
@@ -2,10 +2,13 @@ package com.flashodds.backend.web;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -13,40 +16,161 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.flashodds.backend.domain.OddsRow;
-import com.flashodds.backend.web.dto.OddsFrameDto;
+import com.flashodds.backend.domain.Opportunity;
+import com.flashodds.backend.domain.RowHistory;
+import com.flashodds.backend.domain.SubscriptionFilter;
 import com.flashodds.backend.service.OddsService;
+import com.flashodds.backend.support.OddsReadModel;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping(path = "/api/odds")
 public class OddsRestController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final List<String> FAIR_FIELDS =
+            List.of("price", "impliedProbability", "noVigProbability", "fairPrice", "overround");
+
     private final OddsService oddsService;
     private final OddsMapper mapper;
+    private final OddsResponseCache responses;
 
-    public OddsRestController(OddsService oddsService, OddsMapper mapper) {
+    public OddsRestController(OddsService oddsService, OddsMapper mapper, OddsResponseCache responses) {
         this.oddsService = oddsService;
         this.mapper = mapper;
+        this.responses = responses;
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<List<OddsRow>> listOdds(
+    public Mono<ResponseEntity<byte[]>> listOdds(
+            @RequestParam(name = "sport", required = false) List<String> sports,
+            @RequestParam(name = "market", required = false) List<String> markets,
+            @RequestParam(name = "book", required = false) List<String> books,
+            @RequestParam(name = "event", required = false) List<String> events,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "fields", required = false) List<String> fields,
+            ServerHttpRequest request) {
+        var query = OddsListQuery.of(SubscriptionFilter.of(sports, markets, books, events), cursor, limit, fields);
+        return oddsService.readModel()
+                .map(model -> {
+                    var page = query.page(model);
+                    return responses.respond(request, "odds", model.version(), query,
+                            () -> project(page.rows(), query.projection(), model), pageHeaders(page));
+                });
+    }
+
+    // Same query as listOdds; rows are encoded and flushed one per line instead of as one array.
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<Object>>> streamOddsList(
             @RequestParam(name = "sport", required = false) List<String> sports,
-            @RequestParam(name = "market", required = false) List<String> markets) {
-        return oddsService.currentOdds()
-                .map(rows -> rows.stream()
-                        .filter(row -> sports == null || sports.isEmpty() || sports.contains(row.sport()))
-                        .filter(row -> markets == null || markets.isEmpty() || markets.contains(row.market()))
-                        .toList());
+            @RequestParam(name = "market", required = false) List<String> markets,
+            @RequestParam(name = "book", required = false) List<String> books,
+            @RequestParam(name = "event", required = false) List<String> events,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "fields", required = false) List<String> fields,
+            ServerHttpRequest request) {
+        var query = OddsListQuery.of(SubscriptionFilter.of(sports, markets, books, events), cursor, limit, fields);
+        return oddsService.readModel()
+                .map(model -> {
+                    var page = query.page(model);
+                    return responses.stream(request, model.version(), MediaType.APPLICATION_NDJSON,
+                            () -> Flux.fromIterable(page.rows()).map(row -> query.projection().apply(row, model)),
+                            pageHeaders(page));
+                });
     }
 
     @GetMapping(path = "/frame", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<OddsFrameDto> snapshotFrame() {
+    public Mono<ResponseEntity<byte[]>> snapshotFrame(ServerHttpRequest request) {
         return oddsService.latestSnapshot()
                 .switchIfEmpty(oddsService.refreshNow().then(oddsService.latestSnapshot()))
                 .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Odds not ready")))
-                .map(mapper::toDto);
+                .map(frame -> responses.respond(
+                        request, "frame", frame.sequence(), SubscriptionFilter.ALL, () -> mapper.toDto(frame)));
+    }
+
+    // Best price and consensus per (event, market, outcome); the book dimension does not apply.
+    @GetMapping(path = "/best", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> bestPrices(
+            @RequestParam(name = "sport", required = false) List<String> sports,
+            @RequestParam(name = "market", required = false) List<String> markets,
+            @RequestParam(name = "event", required = false) List<String> events,
+            ServerHttpRequest request) {
+        var filter = SubscriptionFilter.of(sports, markets, null, events);
+        return oddsService.bestPrices(filter)
+                .map(frame -> responses.respond(request, "best", frame.sequence(), filter, frame::summaries));
+    }
+
+    /**
+     * Implied, no-vig and fair prices for the filtered rows, computed once per board version by
+     * the pricing kernel. Same filters and paging as {@link #listOdds}.
+     */
+    @GetMapping(path = "/fair", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> fairPrices(
+            @RequestParam(name = "sport", required = false) List<String> sports,
+            @RequestParam(name = "market", required = false) List<String> markets,
+            @RequestParam(name = "book", required = false) List<String> books,
+            @RequestParam(name = "event", required = false) List<String> events,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            ServerHttpRequest request) {
+        var query = OddsListQuery.of(SubscriptionFilter.of(sports, markets, books, events), cursor, limit,
+                FAIR_FIELDS);
+        return oddsService.readModel()
+                .map(model -> {
+                    var page = query.page(model);
+                    return responses.respond(request, "fair", model.version(), query,
+                            () -> project(page.rows(), query.projection(), model), pageHeaders(page));
+                });
+    }
+
+    // Arbitrage and positive-EV prices open as of the latest refresh.
+    @GetMapping(path = "/opportunities", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<List<Opportunity>> opportunities(
+            @RequestParam(name = "sport", required = false) List<String> sports,
+            @RequestParam(name = "market", required = false) List<String> markets,
+            @RequestParam(name = "event", required = false) List<String> events) {
+        return oddsService.openOpportunities(SubscriptionFilter.of(sports, markets, null, events));
+    }
+
+    // Price and line moves of one row, oldest first.
+    @GetMapping(path = "/{id}/history", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<RowHistory> history(@PathVariable("id") String id) {
+        return oddsService.history(id)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "No history for " + id)));
+    }
+
+    // Histories of the matching rows on the board, with the same filters and paging as listOdds.
+    @GetMapping(path = "/history", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<RowHistory>>> histories(
+            @RequestParam(name = "sport", required = false) List<String> sports,
+            @RequestParam(name = "market", required = false) List<String> markets,
+            @RequestParam(name = "book", required = false) List<String> books,
+            @RequestParam(name = "event", required = false) List<String> events,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        var query = OddsListQuery.of(SubscriptionFilter.of(sports, markets, books, events), cursor, limit, null);
+        return oddsService.readModel()
+                .flatMap(model -> {
+                    var page = query.page(model);
+                    return oddsService.histories(page.rows())
+                            .map(histories -> ResponseEntity.ok().headers(pageHeaders(page)).body(histories));
+                });
+    }
+
+    private static Object project(List<OddsRow> rows, OddsRowProjection projection, OddsReadModel model) {
+        return projection.isFull() ? rows : rows.stream().map(row -> projection.apply(row, model)).toList();
+    }
+
+    private static HttpHeaders pageHeaders(OddsReadModel.Page page) {
+        var headers = new HttpHeaders();
+        if (page.nextAfter() != null) {
+            headers.set(NEXT_CURSOR_HEADER, OddsListQuery.encodeCursor(page.nextAfter()));
+        }
+        return headers;
     }
 
     @PostMapping(path = "/refresh")
@@ -0,0 +1,111 @@
+package com.flashodds.backend.web;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.support.FairPrices;
+import com.flashodds.backend.support.OddsReadModel;
+
+/**
+ * The {@code fields=} projection of {@code GET /api/odds}. The id is always included so projected
+ * rows can still be matched against stream frames. Derived pricing columns are only returned when
+ * asked for by name.
+ */
+record OddsRowProjection(Set<Column> columns) {
+
+    static final OddsRowProjection FULL = new OddsRowProjection(EnumSet.range(Column.ID, Column.EXTRA));
+
+    static OddsRowProjection parse(List<String> names) {
+        if (names == null || names.isEmpty()) {
+            return FULL;
+        }
+        var columns = EnumSet.of(Column.ID);
+        for (var name : names) {
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            columns.add(Column.named(name.trim()));
+        }
+        return columns.equals(FULL.columns) ? FULL : new OddsRowProjection(columns);
+    }
+
+    boolean isFull() {
+        return columns.equals(FULL.columns);
+    }
+
+    Object apply(OddsRow row, OddsReadModel model) {
+        if (isFull()) {
+            return row;
+        }
+        var projected = new LinkedHashMap<String, Object>(columns.size() * 2);
+        FairPrices.Quote quote = null;
+        for (var column : columns) {
+            if (column.derived == null) {
+                projected.put(column.jsonName, column.accessor.apply(row));
+                continue;
+            }
+            if (quote == null) {
+                quote = model.fairPrice(row);
+            }
+            projected.put(column.jsonName, quote == null ? null : column.derived.apply(quote));
+        }
+        return projected;
+    }
+
+    enum Column {
+        ID("id", OddsRow::id),
+        SPORT("sport", OddsRow::sport),
+        EVENT("event", OddsRow::event),
+        MARKET("market", OddsRow::market),
+        LINE("line", OddsRow::line),
+        PRICE("price", OddsRow::price),
+        BOOK("book", OddsRow::book),
+        STARTS_AT("startsAt", OddsRow::startsAt),
+        UPDATED_AT("updatedAt", OddsRow::updatedAt),
+        EXTRA("extra", OddsRow::extra),
+        IMPLIED_PROBABILITY("impliedProbability", null, FairPrices.Quote::impliedProbability),
+        NO_VIG_PROBABILITY("noVigProbability", null, FairPrices.Quote::noVigProbability),
+        FAIR_PRICE("fairPrice", null, FairPrices.Quote::fairPrice),
+        OVERROUND("overround", null, FairPrices.Quote::overround);
+
+        private static final Map<String, Column> BY_NAME = new LinkedHashMap<>();
+
+        static {
+            for (var column : values()) {
+                BY_NAME.put(column.jsonName.toLowerCase(Locale.ROOT), column);
+            }
+        }
+
+        private final String jsonName;
+        private final Function<OddsRow, Object> accessor;
+        private final Function<FairPrices.Quote, Object> derived;
+
+        Column(String jsonName, Function<OddsRow, Object> accessor) {
+            this(jsonName, accessor, null);
+        }
+
+        Column(String jsonName, Function<OddsRow, Object> accessor, Function<FairPrices.Quote, Object> derived) {
+            this.jsonName = jsonName;
+            this.accessor = accessor;
+            this.derived = derived;
+        }
+
+        static Column named(String name) {
+            var column = BY_NAME.get(name.toLowerCase(Locale.ROOT));
+            if (column == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown field '" + name + "', expected one of " + BY_NAME.keySet());
+            }
+            return column;
+        }
+    }
+}
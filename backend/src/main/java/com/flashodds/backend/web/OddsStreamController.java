@@ -1,52 +1,123 @@
 package com.flashodds.backend.web;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.DisconnectedClientHelper;
 
+import com.flashodds.backend.domain.SubscriptionFilter;
 import com.flashodds.backend.service.OddsService;
-import com.flashodds.backend.web.dto.OddsFrameDto;
+import com.flashodds.backend.support.FrameLatency;
 
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @RestController
 public class OddsStreamController {
 
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(20);
+    private static final byte[] HEARTBEAT = "event:ping\n:heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+
     private final OddsService oddsService;
-    private final OddsMapper mapper;
+    private final OddsFrameEncoder encoder;
     private final AtomicInteger activeSseConnections;
+    private final FrameLatency frameLatency;
 
-    public OddsStreamController(OddsService oddsService, OddsMapper mapper, MeterRegistry meterRegistry) {
+    public OddsStreamController(OddsService oddsService, OddsFrameEncoder encoder, MeterRegistry meterRegistry) {
         this.oddsService = oddsService;
-        this.mapper = mapper;
+        this.encoder = encoder;
         this.activeSseConnections = new AtomicInteger(0);
+        this.frameLatency = new FrameLatency(meterRegistry);
         Gauge.builder("flashodds.connections.sse", activeSseConnections, AtomicInteger::get)
                 .description("Active SSE subscribers")
                 .register(meterRegistry);
     }
 
+    // Frames are written as pre-encoded SSE events so N subscribers share one serialization.
     @GetMapping(path = "/api/odds/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<ServerSentEvent<OddsFrameDto>> stream() {
-        var frames = oddsService.streamFrames()
-                .map(mapper::toDto)
-                .map(frame -> ServerSentEvent.<OddsFrameDto>builder(frame)
-                        .event(frame.type())
-                        .build());
+    public Mono<Void> stream(
+            @RequestParam(name = "sport", required = false) List<String> sports,
+            @RequestParam(name = "market", required = false) List<String> markets,
+            @RequestParam(name = "book", required = false) List<String> books,
+            @RequestParam(name = "event", required = false) List<String> events,
+            @RequestParam(name = "patches", defaultValue = "false") boolean patches,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+            ServerHttpResponse response) {
+        var factory = response.bufferFactory();
+        response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
 
-        var heartbeat = Flux.interval(Duration.ofSeconds(20))
-                .map(tick -> ServerSentEvent.<OddsFrameDto>builder()
-                        .event("ping")
-                        .comment("heartbeat")
-                        .build());
+        var filter = SubscriptionFilter.of(sports, markets, books, events);
+        var frames = oddsService.streamFrames(filter, lastEventId)
+                .map(frame -> new Outbound<>(frame, encoder.encode(frame, patches).serverSentEvent(factory)));
+
+        var heartbeat = heartbeats()
+                .map(tick -> Outbound.heartbeat(factory.wrap(HEARTBEAT)));
+
+        // Each event is its own flushed group; the response asks for the next one's buffer once
+        // the previous group is written, which is the hand-off being timed.
+        var body = Flux.merge(1, frames, heartbeat)
+                .map(outbound -> Mono.just(outbound.payload())
+                        .doOnNext(ignored -> outbound.written(frameLatency, FrameLatency.Transport.SSE)))
+                .doOnDiscard(Outbound.class, outbound -> DataBufferUtils.release((DataBuffer) outbound.payload()))
+                .doOnSubscribe(subscription -> activeSseConnections.incrementAndGet())
+                .doFinally(signalType -> activeSseConnections.decrementAndGet());
+
+        // A client going away is how every stream ends; it is not an error worth a stack trace.
+        return response.writeAndFlushWith(body)
+                .onErrorResume(DisconnectedClientHelper::isClientDisconnectedException, ex -> Mono.empty());
+    }
 
+    // A stalled client misses pings rather than overflowing interval, which would end the stream.
+    private static Flux<Long> heartbeats() {
+        return Flux.interval(HEARTBEAT_INTERVAL).onBackpressureDrop();
+    }
+
+    @GetMapping(path = "/api/odds/best/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamBestPrices(
+            @RequestParam(name = "sport", required = false) List<String> sports,
+            @RequestParam(name = "market", required = false) List<String> markets,
+            @RequestParam(name = "event", required = false) List<String> events) {
+        var filter = SubscriptionFilter.of(sports, markets, null, events);
+        var frames = oddsService.streamBestPrices(filter)
+                .map(frame -> ServerSentEvent.<Object>builder(frame)
+                        .id(Long.toString(frame.sequence()))
+                        .event(frame.type().name().toLowerCase())
+                        .build());
+        var heartbeat = heartbeats()
+                .map(tick -> ServerSentEvent.builder().event("ping").comment("heartbeat").build());
         return Flux.merge(frames, heartbeat)
                 .doOnSubscribe(subscription -> activeSseConnections.incrementAndGet())
                 .doFinally(signalType -> activeSseConnections.decrementAndGet());
     }
+
+    @GetMapping(path = "/api/odds/opportunities/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamOpportunities(
+            @RequestParam(name = "sport", required = false) List<String> sports,
+            @RequestParam(name = "market", required = false) List<String> markets,
+            @RequestParam(name = "event", required = false) List<String> events) {
+        var filter = SubscriptionFilter.of(sports, markets, null, events);
+        var opportunities = oddsService.streamOpportunities(filter)
+                .map(event -> ServerSentEvent.<Object>builder(event.opportunity())
+                        .id(Long.toString(event.sequence()))
+                        .event(event.type().name().toLowerCase())
+                        .build());
+        var heartbeat = heartbeats()
+                .map(tick -> ServerSentEvent.builder().event("ping").comment("heartbeat").build());
+        return Flux.merge(opportunities, heartbeat)
+                .doOnSubscribe(subscription -> activeSseConnections.incrementAndGet())
+                .doFinally(signalType -> activeSseConnections.decrementAndGet());
+    }
 }
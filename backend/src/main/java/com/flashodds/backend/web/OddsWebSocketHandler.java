@@ -3,18 +3,29 @@ package com.flashodds.backend.web;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.socket.WebSocketHandler;
 import org.springframework.web.reactive.socket.WebSocketMessage;
 import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.domain.SubscriptionFilter;
+import com.flashodds.backend.domain.SubscriptionSet;
 import com.flashodds.backend.service.OddsService;
-import com.flashodds.backend.web.dto.OddsFrameDto;
+import com.flashodds.backend.support.FrameLatency;
+import com.flashodds.backend.web.dto.StreamCommandDto;
 
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -26,17 +37,25 @@ public class OddsWebSocketHandler implements WebSocketHandler {
 
     private static final Logger log = LoggerFactory.getLogger(OddsWebSocketHandler.class);
     private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(20);
+    private static final String JSON_PROTOCOL = "flashodds.json.v1";
+    private static final Set<String> COMMANDS = Set.of("resume", "subscribe", "unsubscribe");
 
     private final OddsService oddsService;
-    private final OddsMapper mapper;
+    private final OddsFrameEncoder encoder;
     private final ObjectMapper objectMapper;
     private final AtomicInteger activeWsConnections;
+    private final FrameLatency frameLatency;
 
-    public OddsWebSocketHandler(OddsService oddsService, OddsMapper mapper, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+    public OddsWebSocketHandler(
+            OddsService oddsService,
+            OddsFrameEncoder encoder,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
         this.oddsService = oddsService;
-        this.mapper = mapper;
+        this.encoder = encoder;
         this.objectMapper = objectMapper;
         this.activeWsConnections = new AtomicInteger(0);
+        this.frameLatency = new FrameLatency(meterRegistry);
         Gauge.builder("flashodds.connections.websocket", activeWsConnections, AtomicInteger::get)
                 .description("Active websocket subscribers")
                 .register(meterRegistry);
@@ -44,28 +63,131 @@ public class OddsWebSocketHandler implements WebSocketHandler {
 
     @Override
     public Mono<Void> handle(WebSocketSession session) {
-        var oddsFlux = oddsService.streamFrames()
-                .map(mapper::toDto)
-                .map(dto -> toTextMessage(session, dto));
+        var inbound = session.receive()
+                .map(WebSocketMessage::getPayloadAsText)
+                .doOnNext(text -> log.trace("Received websocket message: {}", text))
+                .publish()
+                .autoConnect(2);
 
-        var heartbeatFlux = Flux.interval(HEARTBEAT_INTERVAL)
-                .map(tick -> session.textMessage("{\"type\":\"ping\",\"ts\":" + Instant.now().toEpochMilli() + "}"));
+        // The handshake query (?resume=<seq>&sport=..&market=..&book=..&event=..&patches=true) opens the stream
+        // without a round trip; resume/subscribe/unsubscribe commands then restart it in place.
+        var frames = inbound.flatMap(this::parseCommand)
+                .scan(initialRequest(session), StreamRequest::apply)
+                .distinctUntilChanged()
+                .switchMap(this::frames);
 
-        return session.send(Flux.merge(oddsFlux, heartbeatFlux))
+        var patches = Boolean.parseBoolean(queryParams(session).getFirst("patches"));
+        var binary = BinaryFrameWriter.PROTOCOL.equals(session.getHandshakeInfo().getSubProtocol());
+        var factory = session.bufferFactory();
+        Flux<Outbound<WebSocketMessage>> oddsFlux;
+        Flux<Outbound<WebSocketMessage>> heartbeatFlux;
+        if (binary) {
+            var writer = new BinaryFrameWriter();
+            oddsFlux = frames.map(frame -> new Outbound<>(frame,
+                    session.binaryMessage(ignored -> factory.wrap(writer.write(frame)))));
+            heartbeatFlux = heartbeats()
+                    .map(tick -> Outbound.heartbeat(
+                            session.binaryMessage(ignored -> factory.wrap(BinaryFrameWriter.ping(Instant.now())))));
+        } else {
+            oddsFlux = frames.map(frame -> new Outbound<>(frame,
+                    new WebSocketMessage(WebSocketMessage.Type.TEXT, encoder.encode(frame, patches).json(factory))));
+            heartbeatFlux = heartbeats()
+                    .map(tick -> Outbound.heartbeat(
+                            session.textMessage("{\"type\":\"ping\",\"ts\":" + Instant.now().toEpochMilli() + "}")));
+        }
+
+        // Prefetch of one: frames a slow socket cannot take yet stay in the subscriber's
+        // conflating queue instead of piling up inside merge. A message leaves merge when the
+        // session asks for it to write, which is the hand-off being timed.
+        return session.send(Flux.merge(1, oddsFlux, heartbeatFlux)
+                        .doOnNext(outbound -> outbound.written(frameLatency, FrameLatency.Transport.WEBSOCKET))
+                        .map(Outbound::payload)
+                        .doOnDiscard(Outbound.class, outbound ->
+                                DataBufferUtils.release(((WebSocketMessage) outbound.payload()).getPayload()))
+                        .doOnDiscard(WebSocketMessage.class, message -> DataBufferUtils.release(message.getPayload())))
                 .doOnSubscribe(subscription -> activeWsConnections.incrementAndGet())
                 .doFinally(signalType -> activeWsConnections.decrementAndGet())
-                .and(session.receive()
-                        .doOnNext(WebSocketMessage::retain)
-                        .doOnNext(message -> log.trace("Received websocket message: {}", message.getPayloadAsText()))
-                        .then());
+                .and(inbound.then());
+    }
+
+    // Ticks the socket has no room for are dropped: interval cannot wait, and a missed ping is
+    // harmless while an overflow would end the session.
+    private static Flux<Long> heartbeats() {
+        return Flux.interval(HEARTBEAT_INTERVAL).onBackpressureDrop();
+    }
+
+    // JSON stays the default; clients opt into the compact encoding via Sec-WebSocket-Protocol.
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(BinaryFrameWriter.PROTOCOL, JSON_PROTOCOL);
+    }
+
+    private Flux<OddsFrame> frames(StreamRequest request) {
+        var subscription = request.subscription();
+        if (subscription.isEmpty()) {
+            // Following nothing: an empty snapshot clears the client's board, then only heartbeats.
+            return oddsService.latestSnapshot()
+                    .map(snapshot -> snapshot.withRows(List.of()))
+                    .concatWith(Flux.never());
+        }
+        return oddsService.streamFrames(subscription.envelope(), request.resumeFrom())
+                .map(subscription::apply)
+                .filter(frame -> frame.type() == OddsFrameType.SNAPSHOT || !frame.rows().isEmpty());
     }
 
-    private WebSocketMessage toTextMessage(WebSocketSession session, OddsFrameDto dto) {
+    private Mono<StreamCommandDto> parseCommand(String text) {
         try {
-            return session.textMessage(objectMapper.writeValueAsString(dto));
+            var command = objectMapper.readValue(text, StreamCommandDto.class);
+            if (command.type() == null || !COMMANDS.contains(command.type().toLowerCase(Locale.ROOT))) {
+                log.debug("Ignoring unknown websocket command: {}", command.type());
+                return Mono.empty();
+            }
+            return Mono.just(command);
         } catch (IOException ex) {
-            log.error("Failed to encode odds frame", ex);
-            throw new IllegalStateException("Unable to encode frame");
+            log.debug("Ignoring malformed websocket command: {}", ex.getMessage());
+            return Mono.empty();
+        }
+    }
+
+    private static MultiValueMap<String, String> queryParams(WebSocketSession session) {
+        return UriComponentsBuilder.fromUri(session.getHandshakeInfo().getUri())
+                .build()
+                .getQueryParams();
+    }
+
+    private StreamRequest initialRequest(WebSocketSession session) {
+        var query = queryParams(session);
+        var filter = SubscriptionFilter.of(
+                query.get("sport"),
+                query.get("market"),
+                query.get("book"),
+                query.get("event"));
+        return new StreamRequest(SubscriptionSet.of(filter), parseSequence(query.getFirst("resume")));
+    }
+
+    private static Long parseSequence(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    // See SubscriptionSet for how subscribe and unsubscribe combine across dimensions.
+    private record StreamRequest(SubscriptionSet subscription, Long resumeFrom) {
+
+        StreamRequest apply(StreamCommandDto command) {
+            var delta = SubscriptionFilter.of(command.sports(), command.markets(), command.books(), command.events());
+            return switch (command.type().toLowerCase(Locale.ROOT)) {
+                case "resume" -> new StreamRequest(subscription, command.seq());
+                // A changed subscription needs a fresh (filtered) snapshot, so never resume across it.
+                case "subscribe" -> new StreamRequest(subscription.plus(delta), null);
+                case "unsubscribe" -> new StreamRequest(subscription.minus(delta), null);
+                default -> this;
+            };
         }
     }
 }
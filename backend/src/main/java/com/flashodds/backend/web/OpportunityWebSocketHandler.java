@@ -0,0 +1,59 @@
+package com.flashodds.backend.web;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashodds.backend.domain.OpportunityEvent;
+import com.flashodds.backend.domain.SubscriptionFilter;
+import com.flashodds.backend.service.OddsService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code /ws/opportunities}: the opportunity stream as JSON text messages, narrowed by the
+ * handshake's {@code sport}, {@code market} and {@code event} query parameters. Inbound messages
+ * are ignored.
+ */
+@Component
+public class OpportunityWebSocketHandler implements WebSocketHandler {
+
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(20);
+
+    private final OddsService oddsService;
+    private final ObjectMapper objectMapper;
+
+    public OpportunityWebSocketHandler(OddsService oddsService, ObjectMapper objectMapper) {
+        this.oddsService = oddsService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        var query = UriComponentsBuilder.fromUri(session.getHandshakeInfo().getUri()).build().getQueryParams();
+        var filter = SubscriptionFilter.of(query.get("sport"), query.get("market"), null, query.get("event"));
+
+        var events = oddsService.streamOpportunities(filter)
+                .map(event -> session.textMessage(encode(event)));
+        var heartbeat = Flux.interval(HEARTBEAT_INTERVAL)
+                .map(tick -> session.textMessage("{\"type\":\"ping\",\"ts\":" + Instant.now().toEpochMilli() + "}"));
+
+        return session.send(Flux.merge(events, heartbeat))
+                .and(session.receive().then());
+    }
+
+    private String encode(OpportunityEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to encode opportunity event", ex);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.flashodds.backend.web;
+
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.support.FrameLatency;
+
+/**
+ * An encoded payload on its way to one subscriber's connection, with the frame it carries, so
+ * the hand-off can be timed when the connection takes it rather than when it was encoded.
+ * Heartbeats carry no frame.
+ */
+record Outbound<T>(OddsFrame frame, T payload) {
+
+    static <T> Outbound<T> heartbeat(T payload) {
+        return new Outbound<>(null, payload);
+    }
+
+    void written(FrameLatency latency, FrameLatency.Transport transport) {
+        if (frame != null) {
+            latency.written(frame, transport);
+        }
+    }
+}
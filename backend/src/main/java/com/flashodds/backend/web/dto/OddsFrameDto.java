@@ -5,6 +5,7 @@ import java.util.List;
 
 public record OddsFrameDto(
         String type,
+        long seq,
         Instant ts,
         List<OddsRowChangeDto> rows) {
 }
@@ -1,9 +1,13 @@
 package com.flashodds.backend.web.dto;
 
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.flashodds.backend.domain.OddsRow;
 
 public record OddsRowChangeDto(
         String op,
         String id,
-        OddsRow row) {
+        OddsRow row,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Map<String, Object> fields) {
 }
@@ -0,0 +1,15 @@
+package com.flashodds.backend.web.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record StreamCommandDto(
+        String type,
+        Long seq,
+        List<String> sports,
+        List<String> markets,
+        List<String> books,
+        List<String> events) {
+}
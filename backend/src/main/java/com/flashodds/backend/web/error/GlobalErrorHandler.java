@@ -8,6 +8,7 @@ import org.springframework.http.ProblemDetail;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.DisconnectedClientHelper;
 
 @RestControllerAdvice
 public class GlobalErrorHandler {
@@ -24,6 +25,10 @@ public class GlobalErrorHandler {
 
     @ExceptionHandler(Exception.class)
     public ProblemDetail handleAny(Exception ex) {
+        if (DisconnectedClientHelper.isClientDisconnectedException(ex)) {
+            log.debug("Client disconnected: {}", ex.toString());
+            return null;
+        }
         log.error("Unhandled exception", ex);
         var detail = ProblemDetail.forStatus(500);
         detail.setTitle("Internal Server Error");
@@ -0,0 +1,210 @@
+package com.flashodds.backend.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.flashodds.backend.config.CacheConfig;
+import com.flashodds.backend.config.HistoryProperties;
+import com.flashodds.backend.config.OddsProperties;
+import com.flashodds.backend.config.StreamProperties;
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.OddsRowChange;
+import com.flashodds.backend.provider.OddsProvider;
+import com.flashodds.backend.provider.OddsProviderRegistry;
+import com.flashodds.backend.provider.OddsQuery;
+import com.flashodds.backend.service.OddsService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class TickLogTest {
+
+    private static final Instant STARTS_AT = Instant.parse("2025-06-05T00:30:00Z");
+    private static final int ROWS = 20;
+
+    @TempDir
+    Path directory;
+
+    private final AtomicReference<List<OddsRow>> board = new AtomicReference<>(List.of());
+    private OddsService service;
+    private TickLog tickLog;
+
+    @BeforeEach
+    void setUp() {
+        var props = new OddsProperties("test", "", "us", List.of("nba"), List.of("h2h"), false,
+                Duration.ofSeconds(5), Duration.ofSeconds(60), DataSize.ofMegabytes(2),
+                null, null, null, null, null, null, null, null, null);
+        OddsProvider provider = new OddsProvider() {
+            @Override
+            public Mono<List<OddsRow>> fetchOdds(OddsQuery query) {
+                return Mono.just(board.get());
+            }
+
+            @Override
+            public String name() {
+                return "test";
+            }
+        };
+        service = new OddsService(new OddsProviderRegistry(List.of(provider), props, new SimpleMeterRegistry()), props, new StreamProperties(4, 2, 100),
+                new CacheConfig().cacheManager(props), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        tickLog.stop();
+    }
+
+    @Test
+    void rollsSegmentsAndRebuildsTheBoardFromAnyPoint() throws Exception {
+        start(DataSize.ofGigabytes(1));
+
+        refresh(100);
+        // Records carry millisecond timestamps, so compare at that precision.
+        var midway = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        for (int price = 101; price <= 130; price++) {
+            refresh(price);
+        }
+        awaitBoardAt(130);
+
+        var records = tickLog.read(Instant.EPOCH, Instant.now()).collectList().block();
+        assertThat(records.getFirst().kind()).isEqualTo(TickRecord.Kind.CHECKPOINT);
+        assertThat(records).extracting(TickRecord::sequence).isSorted();
+        assertThat(segmentFiles()).hasSizeGreaterThan(1);
+
+        var later = tickLog.read(midway, Instant.now()).collectList().block();
+        assertThat(later).isNotEmpty().allSatisfy(record -> assertThat(record.timestamp()).isAfterOrEqualTo(midway));
+        var replayed = tickLog.replay(midway, Instant.now()).collectList().block();
+        assertThat(replayed.getFirst().kind()).isEqualTo(TickRecord.Kind.CHECKPOINT);
+        assertThat(rebuild(replayed).values()).hasSize(ROWS).allSatisfy(row -> assertThat(row.price()).isEqualTo(130));
+    }
+
+    @Test
+    void deletesOldestSegmentsBeyondTheRetentionSize() throws Exception {
+        start(DataSize.ofKilobytes(12));
+
+        for (int price = 100; price <= 160; price++) {
+            refresh(price);
+        }
+        awaitBoardAt(160);
+
+        assertThat(tickLog.bytes()).isLessThanOrEqualTo(DataSize.ofKilobytes(12).toBytes() + 4_096);
+        var replayed = tickLog.replay(Instant.EPOCH, Instant.now()).collectList().block();
+        assertThat(replayed.getFirst().kind()).isEqualTo(TickRecord.Kind.CHECKPOINT);
+        assertThat(replayed.getFirst().sequence()).isGreaterThan(1);
+        assertThat(rebuild(replayed).values()).hasSize(ROWS).allSatisfy(row -> assertThat(row.price()).isEqualTo(160));
+    }
+
+    @Test
+    void truncatesASegmentLeftUnsealedByACrash() throws Exception {
+        var changes = List.of(new OddsRowChange(OddsRowChange.Operation.UPSERT,
+                new OddsRow("nba:event0:test:h2h:home", "nba", "Event 0", "h2h", null, 100, "test", STARTS_AT,
+                        Instant.now(), Map.of()), null));
+        var timestamp = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        var record = TickCodec.encode(TickRecord.Kind.CHECKPOINT, 1, timestamp, changes);
+        var unsealed = TickSegment.create(directory, 64 * 1_024);
+        unsealed.append(record, 1, timestamp.toEpochMilli(), true, true);
+
+        start(DataSize.ofGigabytes(1));
+
+        assertThat(segmentFiles()).singleElement()
+                .satisfies(file -> assertThat(Files.size(file)).isEqualTo(TickSegment.HEADER + 4 + record.length + 4));
+        assertThat(tickLog.read(Instant.EPOCH, Instant.now()).collectList().block())
+                .singleElement()
+                .satisfies(read -> assertThat(read.changes()).hasSize(1));
+    }
+
+    @Test
+    void agesOutSegmentsOnStartWithoutWaitingForARoll() throws Exception {
+        var expired = Instant.now().minus(Duration.ofDays(10)).truncatedTo(ChronoUnit.MILLIS);
+        segmentAt(expired);
+        segmentAt(expired.plusSeconds(60));
+        var current = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        segmentAt(current);
+
+        start(DataSize.ofGigabytes(1));
+
+        // The second segment runs up to the third, which is within the retention age.
+        assertThat(segmentFiles()).hasSize(2);
+        assertThat(tickLog.read(Instant.EPOCH, Instant.now()).collectList().block())
+                .extracting(TickRecord::timestamp)
+                .containsExactly(expired.plusSeconds(60), current);
+    }
+
+    private void segmentAt(Instant timestamp) throws Exception {
+        var changes = List.of(new OddsRowChange(OddsRowChange.Operation.UPSERT,
+                new OddsRow("nba:event0:test:h2h:home", "nba", "Event 0", "h2h", null, 100, "test", STARTS_AT,
+                        timestamp, Map.of()), null));
+        var record = TickCodec.encode(TickRecord.Kind.CHECKPOINT, 1, timestamp, changes);
+        var segment = TickSegment.create(directory, 4 * 1_024);
+        segment.append(record, 1, timestamp.toEpochMilli(), true, true);
+        segment.seal();
+    }
+
+    private void start(DataSize retentionSize) throws Exception {
+        var history = new HistoryProperties(true, directory.toString(), DataSize.ofKilobytes(4), retentionSize,
+                Duration.ofDays(7), Duration.ofHours(1), 1_024);
+        tickLog = new TickLog(history, service, new SimpleMeterRegistry());
+        tickLog.start();
+    }
+
+    private void refresh(int price) {
+        var rows = new ArrayList<OddsRow>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new OddsRow("nba:event" + i + ":test:h2h:home", "nba", "Event " + i, "h2h", null, price,
+                    "test", STARTS_AT, Instant.now(), Map.of()));
+        }
+        board.set(rows);
+        service.refreshNow().block();
+    }
+
+    private void awaitBoardAt(int price) throws InterruptedException {
+        var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            var records = tickLog.read(Instant.EPOCH, Instant.now().plusSeconds(1)).collectList().block();
+            if (!records.isEmpty() && rebuild(records).values().stream().allMatch(row -> row.price() == price)) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("tick log did not catch up to " + price);
+    }
+
+    private List<Path> segmentFiles() throws Exception {
+        try (var files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".log")).toList();
+        }
+    }
+
+    private static Map<String, OddsRow> rebuild(List<TickRecord> records) {
+        var rows = new HashMap<String, OddsRow>();
+        for (var record : records) {
+            if (record.kind() == TickRecord.Kind.CHECKPOINT) {
+                rows.clear();
+            }
+            for (var change : record.changes()) {
+                if (change.op().isRemove()) {
+                    rows.remove(change.id());
+                } else {
+                    rows.put(change.id(), change.row());
+                }
+            }
+        }
+        return rows;
+    }
+}
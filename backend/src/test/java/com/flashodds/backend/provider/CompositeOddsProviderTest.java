@@ -0,0 +1,125 @@
+package com.flashodds.backend.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.flashodds.backend.config.OddsProperties;
+import com.flashodds.backend.domain.OddsRow;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class CompositeOddsProviderTest {
+
+    private static final OddsQuery QUERY = new OddsQuery(List.of("nba"), List.of("h2h"), "us");
+    private static final OddsProperties.Composite SETTINGS =
+            new OddsProperties.Composite(List.of("primary", "secondary"), Duration.ofMillis(200), Duration.ofMinutes(1));
+
+    @Test
+    void higherPriorityProviderWinsTheSameQuote() {
+        var now = Instant.now();
+        var composite = composite(
+                provider("primary", query -> Mono.just(List.of(row("nba:e1:flashbet:h2h:home", 110, now)))),
+                provider("secondary", query -> Mono.just(List.of(
+                        row("nba:other-id:flashbet:h2h:home", 120, now),
+                        row("nba:other-id:northstar:h2h:home", 130, now)))));
+
+        StepVerifier.create(composite.fetchOdds(QUERY))
+                .assertNext(rows -> assertThat(rows)
+                        .extracting(OddsRow::book, OddsRow::price)
+                        .containsExactlyInAnyOrder(
+                                tuple("FlashBet", 110),
+                                tuple("NorthStar", 130)))
+                .verifyComplete();
+    }
+
+    @Test
+    void staleRowsLoseToFresherOnes() {
+        var now = Instant.now();
+        var composite = composite(
+                provider("primary", query -> Mono.just(List.of(
+                        row("nba:e1:flashbet:h2h:home", 110, now.minus(Duration.ofMinutes(5)))))),
+                provider("secondary", query -> Mono.just(List.of(row("nba:e1:flashbet:h2h:home", 120, now)))));
+
+        StepVerifier.create(composite.fetchOdds(QUERY))
+                .assertNext(rows -> assertThat(rows).singleElement()
+                        .satisfies(row -> assertThat(row.price()).isEqualTo(120)))
+                .verifyComplete();
+    }
+
+    @Test
+    void slowProviderIsCutOffAtTheDeadline() {
+        var now = Instant.now();
+        var composite = composite(
+                provider("primary", query -> Mono.<List<OddsRow>>never()),
+                provider("secondary", query -> Mono.just(List.of(row("nba:e1:flashbet:h2h:home", 120, now)))));
+
+        StepVerifier.create(composite.fetchOdds(QUERY))
+                .assertNext(rows -> assertThat(rows).singleElement()
+                        .satisfies(row -> assertThat(row.price()).isEqualTo(120)))
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+
+        var failing = composite(provider("primary", query -> Mono.error(new IllegalStateException("down"))));
+        StepVerifier.create(failing.fetchOdds(QUERY))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    @Test
+    void registryRegistersTheCompositeAndRejectsUnknownMembers() {
+        var primary = provider("primary", query -> Mono.just(List.of()));
+        var secondary = provider("secondary", query -> Mono.just(List.of()));
+
+        var registry = new OddsProviderRegistry(List.of(primary, secondary), properties(SETTINGS),
+                new SimpleMeterRegistry());
+        assertThat(registry.get("composite")).isInstanceOf(CompositeOddsProvider.class);
+
+        assertThatThrownBy(() -> new OddsProviderRegistry(List.of(primary), properties(SETTINGS),
+                new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("secondary");
+        assertThatThrownBy(() -> new OddsProviderRegistry(List.of(primary, secondary),
+                properties(new OddsProperties.Composite(null, null, null)), new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static OddsProperties properties(OddsProperties.Composite composite) {
+        return new OddsProperties("composite", "", "us", List.of("nba"), List.of("h2h"), false, null, null, null,
+                null, null, null, null, composite, null, null, null, null);
+    }
+
+    private static CompositeOddsProvider composite(OddsProvider... providers) {
+        return new CompositeOddsProvider(List.of(providers), SETTINGS, new SimpleMeterRegistry());
+    }
+
+    private static OddsProvider provider(String name, Function<OddsQuery, Mono<List<OddsRow>>> fetch) {
+        return new OddsProvider() {
+            @Override
+            public Mono<List<OddsRow>> fetchOdds(OddsQuery query) {
+                return fetch.apply(query);
+            }
+
+            @Override
+            public String name() {
+                return name;
+            }
+        };
+    }
+
+    private static OddsRow row(String id, int price, Instant updatedAt) {
+        var book = id.contains("northstar") ? "NorthStar" : "FlashBet";
+        return new OddsRow(id, "nba", "Boston Celtics vs Denver Nuggets", "h2h", null, price, book,
+                updatedAt.plus(Duration.ofHours(2)), updatedAt, Map.of());
+    }
+}
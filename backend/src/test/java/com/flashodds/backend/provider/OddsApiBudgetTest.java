@@ -0,0 +1,91 @@
+package com.flashodds.backend.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.flashodds.backend.config.OddsProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class OddsApiBudgetTest {
+
+    // Ten days before the quota renews on the 1st.
+    private static final Instant NOW = Instant.parse("2025-02-19T00:00:00Z");
+
+    private final OddsProperties properties = properties(new OddsProperties.Budget(50, 1));
+
+    @Test
+    void admitsEverythingUntilHeadersArrive() {
+        var budget = new OddsApiBudget(properties, new SimpleMeterRegistry());
+
+        assertThat(budget.untilReset(NOW)).isEqualTo(Duration.ofDays(10));
+        for (int i = 0; i < 100; i++) {
+            assertThat(budget.admit(3, false, NOW)).isTrue();
+        }
+    }
+
+    @Test
+    void pacesOrdinaryCallsAndKeepsTheReserveForPriority() {
+        var meterRegistry = new SimpleMeterRegistry();
+        var budget = new OddsApiBudget(properties, meterRegistry);
+        // 864 spendable credits over 10 days: one 3-credit call every 3000 seconds.
+        budget.record(headers(914, 86, 3), NOW);
+
+        assertThat(budget.admit(3, false, NOW)).isTrue();
+        assertThat(budget.admit(3, false, NOW)).isFalse();
+        // Priority skips pacing but still pushes ordinary calls back by another ~3000 seconds.
+        assertThat(budget.admit(3, true, NOW)).isTrue();
+        assertThat(budget.admit(3, false, NOW.plusSeconds(5000))).isFalse();
+        assertThat(budget.admit(3, false, NOW.plusSeconds(5800))).isTrue();
+
+        budget.record(headers(52, 948, 3), NOW.plus(Duration.ofDays(1)));
+
+        assertThat(budget.admit(3, false, NOW.plus(Duration.ofDays(2)))).isFalse();
+        assertThat(budget.admit(3, true, NOW.plus(Duration.ofDays(2)))).isTrue();
+        assertThat(meterRegistry.counter("flashodds.provider.throttled").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void rateLimitedResponsesFailTheFetchInsteadOfEmptyingIt() {
+        var budget = new OddsApiBudget(properties, new SimpleMeterRegistry());
+        var webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                        .headers(headers -> headers.addAll(headers(0, 500, 3)))
+                        .build()))
+                .build();
+        var provider = new TheOddsApiProvider(webClient, properties, budget);
+
+        StepVerifier.create(provider.fetchOdds(new OddsQuery(List.of("basketball_nba"), List.of("h2h"), "us")))
+                .expectError(ProviderThrottledException.class)
+                .verify();
+        assertThat(budget.remaining()).isZero();
+        StepVerifier.create(provider.fetchOdds(new OddsQuery(List.of("basketball_nba"), List.of("h2h"), "us", true)))
+                .expectError(ProviderThrottledException.class)
+                .verify();
+    }
+
+    private static HttpHeaders headers(int remaining, int used, int last) {
+        var headers = new HttpHeaders();
+        headers.add("x-requests-remaining", Integer.toString(remaining));
+        headers.add("x-requests-used", Integer.toString(used));
+        headers.add("x-requests-last", Integer.toString(last));
+        return headers;
+    }
+
+    private static OddsProperties properties(OddsProperties.Budget budget) {
+        return new OddsProperties("theoddsapi", "key", "us", List.of("basketball_nba"), List.of("h2h"), false,
+                Duration.ofSeconds(15), Duration.ofSeconds(60), DataSize.ofMegabytes(2), null, null, null, budget, null, null, null, null, null);
+    }
+}
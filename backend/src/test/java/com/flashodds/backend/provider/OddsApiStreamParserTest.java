@@ -0,0 +1,116 @@
+package com.flashodds.backend.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import com.flashodds.backend.domain.OddsRow;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class OddsApiStreamParserTest {
+
+    private static final String PAYLOAD = """
+            [
+              {
+                "id": "evt1",
+                "sport_key": "basketball_nba",
+                "commence_time": 1739143800,
+                "home_team": "Boston Celtics",
+                "away_team": "Denver Nuggets",
+                "bookmakers": [
+                  {
+                    "key": "flashbet",
+                    "title": "FlashBet",
+                    "last_update": "2025-02-09T20:00:00Z",
+                    "markets": [
+                      {"key": "h2h", "outcomes": [
+                        {"name": "Boston Celtics", "price": -135},
+                        {"name": "Denver Nuggets", "price": 115}]},
+                      {"key": "spreads", "outcomes": [
+                        {"name": "Boston Celtics", "price": -110, "point": -3.5, "description": null}]}
+                    ]
+                  }
+                ]
+              },
+              {
+                "bookmakers": [
+                  {"markets": [{"outcomes": [{"price": 150.4, "name": "Over"}], "key": "totals"}], "key": "northstar"}
+                ],
+                "unknown": {"nested": [1, {"deep": true}]},
+                "id": "evt2",
+                "sport_title": "NHL",
+                "commence_time": "2025-02-10T00:00:00Z"
+              },
+              {"id": "evt3", "home_team": "No", "away_team": "Books"}
+            ]
+            """;
+
+    @Test
+    void decodesRowsWithoutBuildingTheDocument() {
+        var rows = OddsApiStreamParser.rows("basketball_nba", Flux.just(buffer(PAYLOAD))).collectList().block();
+
+        assertThat(rows)
+                .extracting(OddsRow::id)
+                .containsExactly(
+                        "basketball_nba:evt1:flashbet:h2h:boston-celtics",
+                        "basketball_nba:evt1:flashbet:h2h:denver-nuggets",
+                        "basketball_nba:evt1:flashbet:spreads:boston-celtics",
+                        "basketball_nba:evt2:northstar:totals:over");
+        assertThat(rows.get(2)).satisfies(row -> {
+            assertThat(row.event()).isEqualTo("Boston Celtics vs Denver Nuggets");
+            assertThat(row.line()).isEqualTo(-3.5);
+            assertThat(row.price()).isEqualTo(-110);
+            assertThat(row.book()).isEqualTo("FlashBet");
+            assertThat(row.startsAt()).isEqualTo(Instant.ofEpochSecond(1739143800));
+        });
+        // Event fields that trail the bookmakers still apply to their rows.
+        assertThat(rows.get(3)).satisfies(row -> {
+            assertThat(row.event()).isEqualTo("NHL");
+            assertThat(row.book()).isEqualTo("northstar");
+            assertThat(row.price()).isEqualTo(150);
+            assertThat(row.startsAt()).isEqualTo(Instant.parse("2025-02-10T00:00:00Z"));
+        });
+    }
+
+    @Test
+    void yieldsTheSameRowsForAnyChunking() {
+        var whole = OddsApiStreamParser.rows("nba", Flux.just(buffer(PAYLOAD))).collectList().block();
+        var bytes = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+
+        for (int chunk : new int[] {1, 2, 7, 64}) {
+            var buffers = new ArrayList<DataBuffer>();
+            for (int offset = 0; offset < bytes.length; offset += chunk) {
+                buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(bytes, offset, Math.min(bytes.length, offset + chunk))));
+            }
+            var chunked = OddsApiStreamParser.rows("nba", Flux.fromIterable(buffers)).collectList().block();
+
+            assertThat(chunked)
+                    .usingRecursiveFieldByFieldElementComparatorIgnoringFields("updatedAt")
+                    .containsExactlyElementsOf(whole);
+        }
+    }
+
+    @Test
+    void failsOnTruncatedPayload() {
+        var truncated = PAYLOAD.substring(0, PAYLOAD.indexOf("evt2"));
+
+        StepVerifier.create(OddsApiStreamParser.rows("nba", Flux.just(buffer(truncated))))
+                .expectNextCount(3)
+                .expectError()
+                .verify();
+    }
+
+    private static DataBuffer buffer(String json) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
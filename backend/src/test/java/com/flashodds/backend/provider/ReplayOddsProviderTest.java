@@ -0,0 +1,153 @@
+package com.flashodds.backend.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.flashodds.backend.config.CacheConfig;
+import com.flashodds.backend.config.HistoryProperties;
+import com.flashodds.backend.config.OddsProperties;
+import com.flashodds.backend.config.StreamProperties;
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.history.TickCapture;
+import com.flashodds.backend.history.TickLog;
+import com.flashodds.backend.service.OddsService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class ReplayOddsProviderTest {
+
+    private static final Instant STARTS_AT = Instant.parse("2025-06-05T00:30:00Z");
+    private static final Instant WALL = Instant.parse("2030-01-01T12:00:00Z");
+    private static final OddsQuery ALL = new OddsQuery(List.of("nba"), List.of("h2h"), "us");
+
+    @TempDir
+    static Path capture;
+
+    private static final List<Instant> recorded = new ArrayList<>();
+    private static final HistoryProperties NO_HISTORY =
+            new HistoryProperties(false, null, null, null, null, null, 0);
+
+    /** Records a snapshot at +110 and two deltas moving it to +111 and +112. */
+    @BeforeAll
+    static void record() throws Exception {
+        var board = new AtomicReference<List<OddsRow>>();
+        var props = properties(1.0, false);
+        var service = new OddsService(new OddsProviderRegistry(List.of(new OddsProvider() {
+            @Override
+            public Mono<List<OddsRow>> fetchOdds(OddsQuery query) {
+                return Mono.just(board.get());
+            }
+
+            @Override
+            public String name() {
+                return "test";
+            }
+        }), props, new SimpleMeterRegistry()), props, new StreamProperties(4, 2, 100), new CacheConfig().cacheManager(props), new SimpleMeterRegistry());
+        var history = new HistoryProperties(true, capture.toString(), DataSize.ofKilobytes(64), DataSize.ofMegabytes(1),
+                Duration.ofDays(1), Duration.ofHours(1), 64);
+        var tickLog = new TickLog(history, service, new SimpleMeterRegistry());
+        tickLog.start();
+        for (int price = 110; price <= 112; price++) {
+            board.set(List.of(new OddsRow("nba:e1:test:h2h:home", "nba", "Celtics vs Nuggets", "h2h", null, price,
+                    "test", STARTS_AT, STARTS_AT.minusSeconds(60), Map.of())));
+            service.refreshNow().block();
+            Thread.sleep(30);
+        }
+        var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (tickLog.read(Instant.EPOCH, Instant.now()).count().block() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        tickLog.stop();
+
+        var reader = TickCapture.open(capture);
+        for (var record = reader.next(); record != null; record = reader.next()) {
+            recorded.add(record.timestamp());
+        }
+        assertThat(recorded).hasSize(3);
+    }
+
+    @Test
+    void playsRecordedChangesBackAtTheirOriginalSpacingScaledBySpeed() throws Exception {
+        var provider = new ReplayOddsProvider(properties(2.0, false), NO_HISTORY, new SimpleMeterRegistry());
+        var first = recorded.getFirst();
+
+        assertThat(price(provider.advance(ALL, WALL))).isEqualTo(110);
+        var secondAt = WALL.plus(Duration.between(first, recorded.get(1)).dividedBy(2));
+        assertThat(price(provider.advance(ALL, secondAt.minusMillis(1)))).isEqualTo(110);
+        assertThat(price(provider.advance(ALL, secondAt))).isEqualTo(111);
+
+        var rows = provider.advance(ALL, WALL.plusSeconds(60));
+        assertThat(price(rows)).isEqualTo(112);
+        assertThat(rows.getFirst().startsAt()).isEqualTo(STARTS_AT.plus(Duration.between(first, WALL)));
+        assertThat(provider.advance(new OddsQuery(List.of("nfl"), List.of("h2h"), "us"), WALL.plusSeconds(61)))
+                .isEmpty();
+    }
+
+    @Test
+    void advancesOneFramePerFetchAsFastAsPossibleAndLoops() throws Exception {
+        var provider = new ReplayOddsProvider(properties(0, true), NO_HISTORY, new SimpleMeterRegistry());
+
+        var prices = new ArrayList<Integer>();
+        for (int i = 0; i < 4; i++) {
+            prices.add(price(provider.advance(ALL, WALL)));
+        }
+
+        assertThat(prices).containsExactly(110, 111, 112, 110);
+    }
+
+    @Test
+    void slicesPolledInOneRoundSeeTheSameFrame() throws Exception {
+        var provider = new ReplayOddsProvider(properties(0, false), NO_HISTORY, new SimpleMeterRegistry());
+        var spreads = new OddsQuery(List.of("nba"), List.of("spreads"), "us");
+
+        assertThat(price(provider.advance(ALL, WALL))).isEqualTo(110);
+        assertThat(provider.advance(spreads, WALL)).isEmpty();
+        // h2h comes back for more: next round.
+        assertThat(price(provider.advance(new OddsQuery(List.of("nba"), List.of("h2h"), "us", true), WALL)))
+                .isEqualTo(111);
+        assertThat(provider.advance(spreads, WALL)).isEmpty();
+        assertThat(price(provider.advance(ALL, WALL))).isEqualTo(112);
+    }
+
+    @Test
+    void refusesToReplayWithoutACaptureOrFromTheLogBeingRecorded() {
+        var replay = new OddsProperties("replay", "", "us", List.of("nba"), List.of("h2h"), false, null, null, null,
+                null, null, null, null, null, null, null, new OddsProperties.Replay(null, 1.0, true), null);
+        assertThatThrownBy(() -> new ReplayOddsProvider(replay, NO_HISTORY, new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalStateException.class);
+
+        var sameDirectory = new OddsProperties("replay", "", "us", List.of("nba"), List.of("h2h"), false, null, null,
+                null, null, null, null, null, null, null, null,
+                new OddsProperties.Replay(capture.toString(), 1.0, true), null);
+        var recording = new HistoryProperties(true, capture.resolve(".").toString(), null, null, null, null, 0);
+        assertThatThrownBy(() -> new ReplayOddsProvider(sameDirectory, recording, new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("tick log");
+    }
+
+    private static int price(List<OddsRow> rows) {
+        assertThat(rows).hasSize(1);
+        return rows.getFirst().price();
+    }
+
+    private static OddsProperties properties(double speed, boolean loop) {
+        return new OddsProperties("test", "", "us", List.of("nba"), List.of("h2h"), false,
+                Duration.ofSeconds(5), Duration.ofSeconds(60), DataSize.ofMegabytes(2),
+                null, null, null, null, null, null, null,
+                new OddsProperties.Replay(capture == null ? null : capture.toString(), speed, loop), null);
+    }
+}
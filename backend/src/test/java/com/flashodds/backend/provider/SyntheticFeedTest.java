@@ -0,0 +1,63 @@
+package com.flashodds.backend.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.flashodds.backend.config.OddsProperties;
+import com.flashodds.backend.domain.OddsRow;
+
+class SyntheticFeedTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-05T00:00:00Z");
+    private static final List<String> SPORTS = List.of("nba", "nfl");
+    private static final List<String> MARKETS = List.of("h2h", "spreads", "totals");
+
+    @Test
+    void generatesTheConfiguredBoardReproduciblyFromTheSeed() {
+        var rows = feed(0.0, 7).rows(SPORTS, MARKETS, NOW);
+
+        // sports x events x books x markets x two outcomes
+        assertThat(rows).hasSize(2 * 250 * 5 * 3 * 2);
+        assertThat(rows).extracting(OddsRow::id).doesNotHaveDuplicates();
+        assertThat(rows).extracting(OddsRow::book).contains("FlashBet", "Book05");
+        assertThat(feed(0.0, 7).rows(SPORTS, MARKETS, NOW)).isEqualTo(rows);
+        assertThat(feed(0.0, 8).rows(SPORTS, MARKETS, NOW)).isNotEqualTo(rows);
+    }
+
+    @Test
+    void movesAboutTheChurnRateAndReusesRowsThatDidNotMove() {
+        var feed = feed(0.01, 7);
+        var before = feed.rows(SPORTS, List.of("h2h"), NOW);
+        var after = feed.rows(SPORTS, List.of("h2h"), NOW.plusSeconds(10));
+
+        // 2 sports x 1250 markets x 1% per second x 10 s = 250 moves of two rows each, some repeated.
+        var moved = IntStream.range(0, before.size()).filter(i -> before.get(i) != after.get(i)).count();
+        assertThat(moved).isBetween(400L, 500L);
+        assertThat(IntStream.range(0, before.size())
+                .filter(i -> before.get(i) != after.get(i))
+                .allMatch(i -> after.get(i).updatedAt().equals(NOW.plusSeconds(10))))
+                .isTrue();
+    }
+
+    @Test
+    void replacesEventsOnceTheyHaveRun() {
+        var feed = feed(0.0, 7);
+        var before = feed.rows(SPORTS, MARKETS, NOW);
+        var later = NOW.plus(Duration.ofHours(48 + 3));
+        var after = feed.rows(SPORTS, MARKETS, later);
+
+        assertThat(after).hasSameSizeAs(before);
+        assertThat(after).extracting(OddsRow::id).doesNotContainAnyElementsOf(before.stream().map(OddsRow::id).toList());
+        assertThat(after).allSatisfy(row -> assertThat(row.startsAt()).isAfter(later));
+    }
+
+    private static SyntheticFeed feed(double churn, long seed) {
+        return new SyntheticFeed(new OddsProperties.Mock(250, 5, churn, seed, Duration.ofHours(48), Duration.ofHours(3)));
+    }
+}
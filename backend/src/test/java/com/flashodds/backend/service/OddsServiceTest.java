@@ -1,30 +1,48 @@
 package com.flashodds.backend.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
 import org.springframework.util.unit.DataSize;
 
+import com.flashodds.backend.config.CacheConfig;
 import com.flashodds.backend.config.OddsProperties;
+import com.flashodds.backend.config.StreamProperties;
+import com.flashodds.backend.domain.OddsFrame;
 import com.flashodds.backend.domain.OddsFrameType;
 import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.OddsRowChange;
+import com.flashodds.backend.domain.SubscriptionFilter;
 import com.flashodds.backend.provider.OddsProvider;
 import com.flashodds.backend.provider.OddsProviderRegistry;
+import com.flashodds.backend.provider.ProviderThrottledException;
 
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
 
 class OddsServiceTest {
 
+    private static final Instant STARTS_AT = Instant.parse("2025-06-05T00:30:00Z");
+
     private TestProvider provider;
     private OddsService service;
+    private SimpleMeterRegistry meters;
 
     @BeforeEach
     void setUp() {
@@ -38,9 +56,20 @@ class OddsServiceTest {
                 false,
                 Duration.ofSeconds(5),
                 Duration.ofSeconds(60),
-                DataSize.ofMegabytes(2));
-        var registry = new OddsProviderRegistry(List.of(provider));
-        service = new OddsService(registry, props, new SimpleMeterRegistry());
+                DataSize.ofMegabytes(2),
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null);
+        meters = new SimpleMeterRegistry();
+        var registry = new OddsProviderRegistry(List.of(provider), props, meters);
+        service = new OddsService(registry, props, new StreamProperties(4, 2, 100),
+                new CacheConfig().cacheManager(props), meters);
     }
 
     @Test
@@ -62,6 +91,10 @@ class OddsServiceTest {
         service.currentOdds()
                 .doOnNext(rows -> assertThat(rows).hasSize(2))
                 .block();
+        assertThat(service.readModel().block().version())
+                .isEqualTo(service.latestSnapshot().block().sequence());
+        assertThat(service.readModel().block()).isSameAs(service.readModel().block());
+        assertThat(service.latestSnapshot().block()).isSameAs(service.latestSnapshot().block());
 
         service.latestSnapshot()
                 .doOnNext(snapshot -> {
@@ -71,6 +104,246 @@ class OddsServiceTest {
                 .block();
     }
 
+    @Test
+    void resumesFromMissedDeltasWithinWindow() {
+        provider.setRows(List.of(row("nba:event1:mock:h2h:home", "Boston Celtics vs Denver Nuggets", "h2h", 110)));
+        service.refreshNow().block();
+        var initial = service.latestSnapshot().block();
+
+        provider.setRows(List.of(row("nba:event1:mock:h2h:home", "Boston Celtics vs Denver Nuggets", "h2h", 125)));
+        service.refreshNow().block();
+
+        StepVerifier.create(service.streamFrames(initial.sequence()).take(1))
+                .assertNext(frame -> {
+                    assertThat(frame.type()).isEqualTo(OddsFrameType.DELTA);
+                    assertThat(frame.sequence()).isEqualTo(initial.sequence() + 1);
+                    assertThat(frame.rows()).singleElement()
+                            .satisfies(change -> assertThat(change.row().price()).isEqualTo(125));
+                })
+                .verifyComplete();
+
+        StepVerifier.create(service.streamFrames(initial.sequence() - 100).take(1))
+                .assertNext(frame -> {
+                    assertThat(frame.type()).isEqualTo(OddsFrameType.SNAPSHOT);
+                    assertThat(frame.sequence()).isEqualTo(initial.sequence() + 1);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void deliversLiveFramesAfterBacklogWithoutGaps() {
+        provider.setRows(List.of(row("nba:event1:mock:h2h:home", "Boston Celtics vs Denver Nuggets", "h2h", 110)));
+        service.refreshNow().block();
+        var initial = service.latestSnapshot().block();
+
+        StepVerifier.create(service.streamFrames(initial.sequence()).take(1))
+                .then(() -> {
+                    provider.setRows(List.of(
+                            row("nba:event1:mock:h2h:home", "Boston Celtics vs Denver Nuggets", "h2h", 120)));
+                    service.refreshNow().block();
+                })
+                .assertNext(frame -> assertThat(frame.sequence()).isEqualTo(initial.sequence() + 1))
+                .verifyComplete();
+    }
+
+    @Test
+    void slowSubscriberIsConflatedWithoutHoldingBackFastOnes() {
+        provider.setRows(List.of(row("nba:event1:mock:h2h:home", "Boston Celtics vs Denver Nuggets", "h2h", 100)));
+        service.refreshNow().block();
+
+        var fast = new ArrayList<OddsFrame>();
+        var slow = new ArrayList<OddsFrame>();
+        var fastSubscription = service.streamFrames().subscribe(fast::add);
+        var slowSubscriber = new BaseSubscriber<OddsFrame>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(OddsFrame frame) {
+                slow.add(frame);
+            }
+        };
+        service.streamFrames().subscribe(slowSubscriber);
+
+        for (int price = 101; price <= 110; price++) {
+            provider.setRows(List.of(
+                    row("nba:event1:mock:h2h:home", "Boston Celtics vs Denver Nuggets", "h2h", price),
+                    row("nba:event1:mock:h2h:away" + price, "Boston Celtics vs Denver Nuggets", "h2h", -price)));
+            service.refreshNow().block();
+        }
+
+        assertThat(fast).hasSize(11);
+        assertThat(slow).singleElement()
+                .satisfies(frame -> assertThat(frame.type()).isEqualTo(OddsFrameType.SNAPSHOT));
+
+        slowSubscriber.request(Long.MAX_VALUE);
+
+        assertThat(slow).hasSizeLessThanOrEqualTo(3);
+        var last = slow.get(slow.size() - 1);
+        assertThat(last.sequence()).isEqualTo(fast.get(fast.size() - 1).sequence());
+        var replayed = new HashMap<String, OddsRow>();
+        for (var frame : slow) {
+            if (frame.type() == OddsFrameType.SNAPSHOT) {
+                replayed.clear();
+            }
+            for (var change : frame.rows()) {
+                if (!change.op().isRemove()) {
+                    replayed.put(change.id(), change.row());
+                } else {
+                    replayed.remove(change.id());
+                }
+            }
+        }
+        assertThat(replayed.keySet()).containsExactlyInAnyOrder(
+                "nba:event1:mock:h2h:home", "nba:event1:mock:h2h:away110");
+        assertThat(replayed.get("nba:event1:mock:h2h:home").price()).isEqualTo(110);
+
+        fastSubscription.dispose();
+        slowSubscriber.dispose();
+    }
+
+    @Test
+    void routesOnlyMatchingRowsToFilteredSubscribers() {
+        provider.setRows(List.of(
+                boardRow("nba:bos-den:flashbet:h2h:home", "nba", "FlashBet", 110),
+                boardRow("nba:bos-den:northstar:h2h:home", "nba", "NorthStar", 112),
+                boardRow("nhl:nyr-bos:flashbet:h2h:home", "nhl", "FlashBet", -130)));
+        service.refreshNow().block();
+
+        var nba = new ArrayList<OddsFrame>();
+        var flashBetHockey = new ArrayList<OddsFrame>();
+        var everything = new ArrayList<OddsFrame>();
+        var subscriptions = List.of(
+                service.streamFrames(SubscriptionFilter.of(List.of("NBA"), null, null, null), null)
+                        .subscribe(nba::add),
+                service.streamFrames(SubscriptionFilter.of(List.of("nhl"), null, List.of("flashbet"), null), null)
+                        .subscribe(flashBetHockey::add),
+                service.streamFrames().subscribe(everything::add));
+
+        assertThat(nba).singleElement().satisfies(frame -> assertThat(frame.rows()).hasSize(2));
+        assertThat(flashBetHockey).singleElement().satisfies(frame -> assertThat(frame.rows()).hasSize(1));
+
+        provider.setRows(List.of(
+                boardRow("nba:bos-den:flashbet:h2h:home", "nba", "FlashBet", 115),
+                boardRow("nhl:nyr-bos:flashbet:h2h:home", "nhl", "FlashBet", -130)));
+        service.refreshNow().block();
+
+        assertThat(nba).hasSize(2);
+        assertThat(nba.get(1).rows())
+                .extracting(OddsRowChange::op, OddsRowChange::id)
+                .containsExactlyInAnyOrder(
+                        tuple(OddsRowChange.Operation.PATCH, "nba:bos-den:flashbet:h2h:home"),
+                        tuple(OddsRowChange.Operation.REMOVE, "nba:bos-den:northstar:h2h:home"));
+        assertThat(flashBetHockey).hasSize(1);
+        assertThat(everything).hasSize(2);
+        assertThat(everything.get(1)).isSameAs(nba.get(1));
+
+        subscriptions.forEach(Disposable::dispose);
+    }
+
+    @Test
+    void stampsEachStageOnEmittedFramesAndKeepsThemThroughRouting() {
+        provider.setRows(List.of(
+                boardRow("nba:bos-den:flashbet:h2h:home", "nba", "FlashBet", 110),
+                boardRow("nhl:nyr-bos:flashbet:h2h:home", "nhl", "FlashBet", -130)));
+        service.refreshNow().block();
+        var nba = new ArrayList<OddsFrame>();
+        var subscription = service.streamFrames(SubscriptionFilter.of(List.of("nba"), null, null, null), null)
+                .subscribe(nba::add);
+
+        provider.setRows(List.of(
+                boardRow("nba:bos-den:flashbet:h2h:home", "nba", "FlashBet", 115),
+                boardRow("nhl:nyr-bos:flashbet:h2h:home", "nhl", "FlashBet", -135)));
+        service.refreshNow().block();
+
+        assertThat(nba).hasSize(2);
+        var trace = nba.get(1).trace();
+        assertThat(trace.isTraced()).isTrue();
+        assertThat(trace.fetchStarted()).isLessThanOrEqualTo(trace.fetched());
+        assertThat(trace.fetched()).isLessThanOrEqualTo(trace.diffed());
+        // The catch-up snapshot is cut from the read side and carries no trace.
+        assertThat(service.latestSnapshot().block().trace().isTraced()).isFalse();
+        for (var stage : List.of("fetch", "diff", "emit")) {
+            assertThat(meters.get("flashodds.frame.stage").tag("stage", stage).timer().count()).isEqualTo(2);
+        }
+
+        subscription.dispose();
+    }
+
+    @Test
+    void sliceRefreshOnlyReplacesRowsInItsScope() {
+        provider.setRows(List.of(
+                row("nba:event1:mock:h2h:home", "Boston Celtics vs Denver Nuggets", "h2h", 110),
+                row("nba:event1:mock:spreads:home", "Boston Celtics vs Denver Nuggets", "spreads", -110)));
+        service.refreshNow().block();
+
+        provider.setRows(List.of(
+                row("nba:event1:mock:h2h:home", "Boston Celtics vs Denver Nuggets", "h2h", 120)));
+        service.refreshSlice(new RefreshScheduler.Slice("nba", "h2h")).block();
+
+        assertThat(service.currentOdds().block())
+                .extracting(OddsRow::id, OddsRow::price)
+                .containsExactly(
+                        tuple("nba:event1:mock:h2h:home", 120),
+                        tuple("nba:event1:mock:spreads:home", -110));
+    }
+
+    @Test
+    void keepsLastRowsWhenTheProviderIsThrottled() {
+        provider.setRows(List.of(row("nba:event1:mock:h2h:home", "Boston Celtics vs Denver Nuggets", "h2h", 110)));
+        service.refreshNow().block();
+        var frames = new ArrayList<OddsFrame>();
+        var subscription = service.streamFrames().subscribe(frames::add);
+
+        provider.failWith(new ProviderThrottledException("quota"));
+        service.refreshSlice(new RefreshScheduler.Slice("nba", "h2h")).block();
+
+        assertThat(service.currentOdds().block()).hasSize(1);
+        assertThat(frames).singleElement()
+                .satisfies(frame -> assertThat(frame.type()).isEqualTo(OddsFrameType.SNAPSHOT));
+        subscription.dispose();
+    }
+
+    @Test
+    void concurrentRefreshesShareOneProviderFetch() {
+        var release = Sinks.<List<OddsRow>>one();
+        provider.holdUntil(release.asMono());
+
+        var first = service.refreshNow().toFuture();
+        var second = service.refreshNow().toFuture();
+        release.tryEmitValue(List.of(row("nba:event1:mock:h2h:home", "Boston Celtics vs Denver Nuggets", "h2h", 110)));
+        first.join();
+        second.join();
+
+        assertThat(provider.calls()).isEqualTo(1);
+        assertThat(service.currentOdds().block()).hasSize(1);
+
+        // With no fetch TTL a completed fetch is not reused.
+        service.refreshNow().block();
+        assertThat(provider.calls()).isEqualTo(2);
+    }
+
+    @Test
+    void manualRefreshJoinsASliceFetchInFlight() {
+        var release = Sinks.<List<OddsRow>>one();
+        provider.holdUntil(release.asMono());
+
+        var slice = service.refreshSlice(new RefreshScheduler.Slice("nba", "h2h")).toFuture();
+        var manual = service.refreshNow().toFuture();
+        release.tryEmitValue(List.of(row("nba:event1:mock:h2h:home", "Boston Celtics vs Denver Nuggets", "h2h", 110)));
+        slice.join();
+        manual.join();
+
+        assertThat(provider.calls()).isEqualTo(1);
+        assertThat(service.currentOdds().block()).hasSize(1);
+    }
+
+    private OddsRow boardRow(String id, String sport, String book, int price) {
+        return new OddsRow(id, sport, "Event", "h2h", null, price, book, STARTS_AT, Instant.now(), Map.of());
+    }
+
     private OddsRow row(String id, String event, String market, int price) {
         return new OddsRow(
                 id,
@@ -80,7 +353,7 @@ class OddsServiceTest {
                 null,
                 price,
                 "FlashBet",
-                Instant.now(),
+                STARTS_AT,
                 Instant.now(),
                 Map.of());
     }
@@ -88,16 +361,38 @@ class OddsServiceTest {
     private static class TestProvider implements OddsProvider {
 
         private final AtomicReference<List<OddsRow>> rows = new AtomicReference<>(List.of());
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private final AtomicReference<Mono<List<OddsRow>>> pending = new AtomicReference<>();
+        private final AtomicInteger calls = new AtomicInteger();
 
         @Override
         public Mono<List<OddsRow>> fetchOdds(com.flashodds.backend.provider.OddsQuery query) {
-            return Mono.just(rows.get());
+            calls.incrementAndGet();
+            var held = pending.getAndSet(null);
+            if (held != null) {
+                return held;
+            }
+            var error = failure.get();
+            return error != null ? Mono.error(error) : Mono.just(rows.get());
+        }
+
+        void holdUntil(Mono<List<OddsRow>> result) {
+            pending.set(result);
+        }
+
+        int calls() {
+            return calls.get();
         }
 
         void setRows(List<OddsRow> nextRows) {
+            failure.set(null);
             rows.set(nextRows);
         }
 
+        void failWith(RuntimeException error) {
+            failure.set(error);
+        }
+
         @Override
         public String name() {
             return "mock";
@@ -0,0 +1,60 @@
+package com.flashodds.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.flashodds.backend.config.OddsProperties;
+
+class RefreshSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2025-02-09T20:00:00Z");
+    private static final RefreshScheduler.Slice NBA = new RefreshScheduler.Slice("nba", "h2h");
+    private static final RefreshScheduler.Slice MLB = new RefreshScheduler.Slice("mlb", "h2h");
+
+    private final RefreshScheduler scheduler = new RefreshScheduler(
+            List.of(NBA, MLB),
+            Duration.ofSeconds(15),
+            new OddsProperties.Schedule(Duration.ofSeconds(5), Duration.ofSeconds(60), 0.5, Duration.ofHours(6)));
+
+    @Test
+    void everySliceStartsDueAndIsNotHandedOutTwice() {
+        assertThat(scheduler.interval(NBA)).isEqualTo(Duration.ofSeconds(15));
+        assertThat(scheduler.due(NOW)).containsExactly(NBA, MLB);
+        assertThat(scheduler.due(NOW.plusSeconds(120))).isEmpty();
+
+        scheduler.failed(MLB, NOW);
+
+        assertThat(scheduler.due(NOW.plusSeconds(14))).isEmpty();
+        assertThat(scheduler.due(NOW.plusSeconds(15))).containsExactly(MLB);
+    }
+
+    @Test
+    void adaptsToChangeRateAndStartProximity() {
+        scheduler.due(NOW);
+        scheduler.completed(MLB, 0, NOW.plus(Duration.ofDays(2)), NOW);
+        scheduler.completed(NBA, 0, NOW.plus(Duration.ofHours(3)), NOW);
+
+        assertThat(scheduler.interval(MLB)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(scheduler.interval(NBA)).isEqualTo(Duration.ofMillis(32_500));
+
+        // A busy slice speeds up, and slows down again as the EWMA decays.
+        scheduler.due(NOW.plusSeconds(60));
+        scheduler.completed(MLB, 9, NOW.plus(Duration.ofDays(2)), NOW.plusSeconds(60));
+        var busy = scheduler.interval(MLB);
+        scheduler.due(NOW.plusSeconds(120));
+        scheduler.completed(MLB, 0, NOW.plus(Duration.ofDays(2)), NOW.plusSeconds(120));
+
+        assertThat(busy).isLessThan(Duration.ofSeconds(20));
+        assertThat(scheduler.interval(MLB)).isGreaterThan(busy).isLessThan(Duration.ofSeconds(60));
+
+        // In play: polled at the fastest cadence regardless of activity.
+        scheduler.due(NOW.plusSeconds(60));
+        scheduler.completed(NBA, 0, NOW.minus(Duration.ofMinutes(20)), NOW.plusSeconds(60));
+        assertThat(scheduler.interval(NBA)).isEqualTo(Duration.ofSeconds(5));
+    }
+}
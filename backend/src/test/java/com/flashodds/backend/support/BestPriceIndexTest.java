@@ -0,0 +1,120 @@
+package com.flashodds.backend.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.flashodds.backend.domain.MarketSummary;
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.OddsRowChange;
+import com.flashodds.backend.domain.SubscriptionFilter;
+
+class BestPriceIndexTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-05T00:00:00Z");
+    private static final String EVENT = "Boston Celtics vs Denver Nuggets";
+
+    @Test
+    void snapshotSummarizesEachOutcomeAcrossBooks() {
+        var index = new BestPriceIndex();
+
+        var frame = index.apply(snapshot(
+                row("nba:e1:flashbet:h2h:home", "FlashBet", "h2h", null, 110),
+                row("nba:e1:northstar:h2h:home", "NorthStar", "h2h", null, 120),
+                row("nba:e1:edgeplay:h2h:home", "EdgePlay", "h2h", null, 120),
+                row("nba:e1:flashbet:h2h:away", "FlashBet", "h2h", null, -130)));
+
+        assertThat(frame.type()).isEqualTo(OddsFrameType.SNAPSHOT);
+        assertThat(frame.summaries()).hasSize(2);
+        var home = summary(index, "home");
+        assertThat(home.bestPrice()).isEqualTo(120);
+        assertThat(home.bestBooks()).containsExactly("EdgePlay", "NorthStar");
+        assertThat(home.books()).isEqualTo(3);
+        assertThat(home.consensusPrice()).isBetween(110, 120);
+    }
+
+    @Test
+    void deltaOnlyReportsOutcomesWhoseSummaryMoved() {
+        var index = new BestPriceIndex();
+        index.apply(snapshot(
+                row("nba:e1:flashbet:h2h:home", "FlashBet", "h2h", null, 110),
+                row("nba:e1:northstar:h2h:home", "NorthStar", "h2h", null, 120),
+                row("nba:e1:flashbet:h2h:away", "FlashBet", "h2h", null, -130)));
+
+        var moved = index.apply(delta(2,
+                new OddsRowChange(OddsRowChange.Operation.UPSERT,
+                        row("nba:e1:flashbet:h2h:home", "FlashBet", "h2h", null, 125), null)));
+
+        assertThat(moved.summaries()).singleElement()
+                .satisfies(summary -> {
+                    assertThat(summary.outcome()).isEqualTo("home");
+                    assertThat(summary.bestPrice()).isEqualTo(125);
+                    assertThat(summary.bestBooks()).containsExactly("FlashBet");
+                });
+
+        var removed = index.apply(delta(3,
+                new OddsRowChange(OddsRowChange.Operation.REMOVE, null, "nba:e1:flashbet:h2h:away")));
+
+        assertThat(removed.summaries()).isEmpty();
+        assertThat(removed.removed()).containsExactly("nba:boston-celtics-vs-denver-nuggets:h2h:away");
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.version()).isEqualTo(3);
+    }
+
+    @Test
+    void bestPriceIsTakenAtTheConsensusLine() {
+        var index = new BestPriceIndex();
+        index.apply(snapshot(
+                row("nba:e1:flashbet:spreads:home", "FlashBet", "spreads", -3.5, -110),
+                row("nba:e1:northstar:spreads:home", "NorthStar", "spreads", -3.5, -105),
+                row("nba:e1:edgeplay:spreads:home", "EdgePlay", "spreads", -4.5, 120)));
+
+        var home = index.select(SubscriptionFilter.of(null, List.of("spreads"), null, null)).getFirst();
+
+        assertThat(home.consensusLine()).isEqualTo(-3.5);
+        assertThat(home.bestPrice()).isEqualTo(-105);
+        assertThat(home.bestBooks()).containsExactly("NorthStar");
+    }
+
+    @Test
+    void consensusPriceIgnoresBooksOffTheConsensusLine() {
+        var index = new BestPriceIndex();
+        index.apply(snapshot(
+                row("nba:e1:flashbet:spreads:home", "FlashBet", "spreads", -3.5, -110),
+                row("nba:e1:northstar:spreads:home", "NorthStar", "spreads", -3.5, -105),
+                row("nba:e1:edgeplay:spreads:home", "EdgePlay", "spreads", -4.5, 120)));
+
+        var home = summary(index, "home");
+
+        // -110 and -105 average to 51.8% implied; the +120 at -4.5 is a different bet.
+        assertThat(home.consensusPrice()).isEqualTo(-107);
+        assertThat(home.books()).isEqualTo(3);
+    }
+
+    private static MarketSummary summary(BestPriceIndex index, String outcome) {
+        return index.select(SubscriptionFilter.ALL).stream()
+                .filter(summary -> summary.outcome().equals(outcome))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static OddsFrame snapshot(OddsRow... rows) {
+        return new OddsFrame(OddsFrameType.SNAPSHOT, 1, NOW, List.of(rows).stream()
+                .map(row -> new OddsRowChange(OddsRowChange.Operation.UPSERT, row, row.id()))
+                .toList());
+    }
+
+    private static OddsFrame delta(long sequence, OddsRowChange... changes) {
+        return new OddsFrame(OddsFrameType.DELTA, sequence, NOW, List.of(changes));
+    }
+
+    private static OddsRow row(String id, String book, String market, Double line, int price) {
+        return new OddsRow(id, "nba", EVENT, market, line, price, book, NOW.plusSeconds(3600), NOW, Map.of());
+    }
+}
@@ -0,0 +1,102 @@
+package com.flashodds.backend.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.flashodds.backend.domain.FrameTrace;
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.OddsRowChange;
+
+class FrameConflatorTest {
+
+    private static final Instant STARTS_AT = Instant.parse("2025-02-09T23:30:00Z");
+
+    @Test
+    void lastChangePerRowWins() {
+        var first = delta(10, upsert("key-a", 100), upsert("key-b", 110));
+        var second = delta(11, upsert("key-a", 105), remove("key-b"));
+        var third = delta(12, upsert("key-c", -120), remove("key-a"), upsert("key-b", 115));
+
+        var conflated = FrameConflator.conflate(List.of(first, second, third));
+
+        assertThat(conflated.type()).isEqualTo(OddsFrameType.DELTA);
+        assertThat(conflated.sequence()).isEqualTo(12);
+        assertThat(conflated.rows())
+                .extracting(OddsRowChange::id, OddsRowChange::op)
+                .containsExactlyInAnyOrder(
+                        tuple("key-a", OddsRowChange.Operation.REMOVE),
+                        tuple("key-b", OddsRowChange.Operation.UPSERT),
+                        tuple("key-c", OddsRowChange.Operation.UPSERT));
+        assertThat(conflated.rows())
+                .filteredOn(change -> change.id().equals("key-b"))
+                .singleElement()
+                .satisfies(change -> assertThat(change.row().price()).isEqualTo(115));
+    }
+
+    @Test
+    void foldsPatchesIntoTheirPredecessor() {
+        var initial = row("key-a", 100, null);
+        var priced = row("key-a", 105, null);
+        var lined = row("key-a", 105, 1.5);
+        var first = delta(10, OddsRowChange.patch(initial, priced), OddsRowChange.patch(row("key-b", 110, null),
+                row("key-b", 115, null)));
+        var second = delta(11, OddsRowChange.patch(priced, lined), upsert("key-b", 120));
+        var third = delta(12, OddsRowChange.patch(row("key-b", 120, null), row("key-b", 125, null)));
+
+        var conflated = FrameConflator.conflate(List.of(first, second, third));
+
+        assertThat(conflated.rows())
+                .filteredOn(change -> change.id().equals("key-a"))
+                .singleElement()
+                .satisfies(change -> {
+                    assertThat(change.op()).isEqualTo(OddsRowChange.Operation.PATCH);
+                    assertThat(change.fields())
+                            .containsExactlyInAnyOrder(OddsRowChange.Field.PRICE, OddsRowChange.Field.LINE);
+                    assertThat(change.row()).isEqualTo(lined);
+                });
+        // A patch on top of an upsert must stay an upsert: the client may never have seen the base row.
+        assertThat(conflated.rows())
+                .filteredOn(change -> change.id().equals("key-b"))
+                .singleElement()
+                .satisfies(change -> {
+                    assertThat(change.op()).isEqualTo(OddsRowChange.Operation.UPSERT);
+                    assertThat(change.row().price()).isEqualTo(125);
+                });
+    }
+
+    @Test
+    void keepsTheTraceOfTheOldestFrame() {
+        var oldest = new FrameTrace(1, 2, 3);
+        var first = new OddsFrame(OddsFrameType.DELTA, 10, Instant.now(), List.of(upsert("key-a", 100)), oldest);
+        var second = new OddsFrame(OddsFrameType.DELTA, 11, Instant.now(), List.of(upsert("key-a", 105)),
+                new FrameTrace(5, 6, 7));
+
+        assertThat(FrameConflator.conflate(List.of(first, second)).trace()).isEqualTo(oldest);
+    }
+
+    private OddsFrame delta(long sequence, OddsRowChange... changes) {
+        return new OddsFrame(OddsFrameType.DELTA, sequence, Instant.now(), List.of(changes));
+    }
+
+    private OddsRowChange upsert(String id, int price) {
+        var row = new OddsRow(id, "nba", "Game", "h2h", null, price, "FlashBet",
+                Instant.now(), Instant.now(), Map.of());
+        return new OddsRowChange(OddsRowChange.Operation.UPSERT, row, id);
+    }
+
+    private OddsRow row(String id, int price, Double line) {
+        return new OddsRow(id, "nba", "Game", "h2h", line, price, "FlashBet", STARTS_AT, STARTS_AT, Map.of());
+    }
+
+    private OddsRowChange remove(String id) {
+        return new OddsRowChange(OddsRowChange.Operation.REMOVE, null, id);
+    }
+}
@@ -0,0 +1,110 @@
+package com.flashodds.backend.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.OddsRowChange;
+import com.flashodds.backend.domain.RowHistory;
+
+class LineHistoryTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-05T00:00:00Z");
+    private static final Instant STARTS_AT = NOW.plus(Duration.ofDays(1));
+    private static final String ID = "nfl:e1:flashbet:spreads:home";
+
+    @Test
+    void recordsOnlyPriceAndLineMoves() {
+        var history = new LineHistory(512);
+        history.apply(snapshot(row(ID, -110, -3.5, STARTS_AT)));
+        history.apply(delta(NOW.plusSeconds(30), row(ID, -110, -3.5, STARTS_AT)));
+        history.apply(delta(NOW.plusSeconds(60), row(ID, -115, -3.5, STARTS_AT)));
+        history.apply(delta(NOW.plusSeconds(95), row(ID, -105, -3.0, STARTS_AT)));
+        history.apply(delta(NOW.plusSeconds(95), row(ID, 0, null, STARTS_AT)));
+
+        assertThat(history.history(ID).points())
+                .extracting(RowHistory.Point::timestamp, RowHistory.Point::price, RowHistory.Point::line)
+                .containsExactly(
+                        tuple(NOW, -110, -3.5),
+                        tuple(NOW.plusSeconds(60), -115, -3.5),
+                        tuple(NOW.plusSeconds(95), -105, -3.0),
+                        tuple(NOW.plusSeconds(95), null, null));
+    }
+
+    @Test
+    void keepsADayOfMovesInAFewHundredBytes() {
+        var history = new LineHistory(512);
+        history.apply(snapshot(row(ID, -110, -3.5, STARTS_AT)));
+        // A move roughly every half hour for a day, with irregular spacing.
+        var at = NOW;
+        for (int i = 1; i <= 48; i++) {
+            at = at.plusSeconds(1_740 + (i * 37) % 120);
+            history.apply(delta(at, row(ID, -110 - (i % 7), -3.5 + (i % 3) * 0.5, STARTS_AT)));
+        }
+
+        assertThat(history.history(ID).points()).hasSize(49).last()
+                .satisfies(point -> assertThat(point.price()).isEqualTo(-110 - 48 % 7));
+        assertThat(history.bytes()).isLessThan(300);
+    }
+
+    @Test
+    void dropsTheOldestHalfAtTheCap() {
+        var history = new LineHistory(8);
+        history.apply(snapshot(row(ID, 100, null, STARTS_AT)));
+        for (int i = 1; i < 10; i++) {
+            history.apply(delta(NOW.plusSeconds(i * 60L), row(ID, 100 + i, null, STARTS_AT)));
+        }
+
+        assertThat(history.history(ID).points()).extracting(RowHistory.Point::price)
+                .containsExactly(104, 105, 106, 107, 108, 109);
+        assertThat(history.history(ID).points().getFirst().timestamp()).isEqualTo(NOW.plusSeconds(240));
+    }
+
+    @Test
+    void evictsRowsThatLeaveTheBoardOrWhoseEventStarts() {
+        var history = new LineHistory(512);
+        var soon = NOW.plusSeconds(120);
+        history.apply(snapshot(
+                row(ID, -110, -3.5, STARTS_AT),
+                row("nfl:e2:flashbet:h2h:home", 150, null, soon),
+                row("nfl:e3:flashbet:h2h:home", 200, null, STARTS_AT)));
+
+        history.apply(new OddsFrame(OddsFrameType.DELTA, 2, NOW.plusSeconds(60),
+                List.of(new OddsRowChange(OddsRowChange.Operation.REMOVE, null, "nfl:e3:flashbet:h2h:home"))));
+        assertThat(history.history("nfl:e3:flashbet:h2h:home")).isNull();
+        assertThat(history.size()).isEqualTo(2);
+
+        history.apply(delta(NOW.plusSeconds(180), row(ID, -112, -3.5, STARTS_AT)));
+        assertThat(history.history("nfl:e2:flashbet:h2h:home")).isNull();
+        assertThat(history.history(ID).points()).hasSize(2);
+    }
+
+    private static OddsFrame snapshot(OddsRow... rows) {
+        return new OddsFrame(OddsFrameType.SNAPSHOT, 1, NOW, changes(rows));
+    }
+
+    private static OddsFrame delta(Instant at, OddsRow... rows) {
+        return new OddsFrame(OddsFrameType.DELTA, 2, at, changes(rows));
+    }
+
+    private static List<OddsRowChange> changes(OddsRow... rows) {
+        return Arrays.stream(rows)
+                .map(row -> new OddsRowChange(OddsRowChange.Operation.UPSERT, row, row.id()))
+                .toList();
+    }
+
+    private static OddsRow row(String id, Integer price, Double line, Instant startsAt) {
+        return new OddsRow(id, "nfl", "Chiefs vs Bills", "spreads", line, price == 0 ? null : price, "FlashBet",
+                startsAt, NOW, Map.of());
+    }
+}
@@ -13,8 +13,10 @@ import com.flashodds.backend.domain.OddsRowChange;
 
 class OddsDiffCalculatorTest {
 
+    private static final Instant STARTS_AT = Instant.parse("2025-02-09T23:30:00Z");
+
     @Test
-    void detectsUpsertsAndRemovals() {
+    void detectsPatchesUpsertsAndRemovals() {
         var previous = Map.of(
                 "key-a", row("key-a", 100),
                 "key-b", row("key-b", -110));
@@ -29,9 +31,62 @@ class OddsDiffCalculatorTest {
                 .hasSize(3)
                 .extracting(OddsRowChange::op, OddsRowChange::id)
                 .containsExactlyInAnyOrder(
-                        tuple(OddsRowChange.Operation.UPSERT, "key-a"),
+                        tuple(OddsRowChange.Operation.PATCH, "key-a"),
                         tuple(OddsRowChange.Operation.UPSERT, "key-c"),
                         tuple(OddsRowChange.Operation.REMOVE, "key-b"));
+        assertThat(changes)
+                .filteredOn(change -> change.id().equals("key-a"))
+                .singleElement()
+                .satisfies(change -> {
+                    assertThat(change.fields()).contains(OddsRowChange.Field.PRICE)
+                            .doesNotContain(OddsRowChange.Field.LINE, OddsRowChange.Field.STARTS_AT);
+                    assertThat(change.row().price()).isEqualTo(105);
+                });
+    }
+
+    @Test
+    void ignoresRowsThatOnlyDifferInBookkeepingFields() {
+        var previous = Map.of("key-a", row("key-a", 100));
+        var refetched = new OddsRow("key-a", "nba", "Game", "h2h", null, 100, "FlashBet",
+                STARTS_AT, Instant.now().plusSeconds(15), Map.of("source", "mock"));
+
+        var changes = OddsDiffCalculator.diff(previous, Map.of("key-a", refetched));
+
+        assertThat(changes).isEmpty();
+    }
+
+    @Test
+    void sendsRowsThatChangeRoutingAsFullUpserts() {
+        var previous = Map.of("key-a", row("key-a", 100), "key-b", row("key-b", 100));
+        var renamed = new OddsRow("key-a", "nba", "Game (renamed)", "h2h", null, 100, "FlashBet",
+                STARTS_AT, Instant.now(), Map.of());
+        var remarketed = new OddsRow("key-b", "nba", "Game", "spreads", null, 100, "FlashBet",
+                STARTS_AT, Instant.now(), Map.of());
+
+        var changes = OddsDiffCalculator.diff(previous, Map.of("key-a", renamed, "key-b", remarketed),
+                new DiffThresholds(10, 0.5));
+
+        assertThat(changes)
+                .extracting(OddsRowChange::op, OddsRowChange::id)
+                .containsExactlyInAnyOrder(
+                        tuple(OddsRowChange.Operation.UPSERT, "key-a"),
+                        tuple(OddsRowChange.Operation.UPSERT, "key-b"));
+    }
+
+    @Test
+    void suppressesMovesBelowThresholds() {
+        var previous = Map.of(
+                "key-a", row("key-a", -105),
+                "key-b", row("key-b", 120));
+        var fresh = Map.of(
+                "key-a", row("key-a", 105),
+                "key-b", row("key-b", 150));
+
+        var changes = OddsDiffCalculator.diff(previous, fresh, new DiffThresholds(10, 0.5));
+
+        assertThat(changes)
+                .extracting(OddsRowChange::id)
+                .containsExactly("key-b");
     }
 
     private OddsRow row(String id, int price) {
@@ -43,7 +98,7 @@ class OddsDiffCalculatorTest {
                 null,
                 price,
                 "FlashBet",
-                Instant.now(),
+                STARTS_AT,
                 Instant.now(),
                 Map.of());
     }
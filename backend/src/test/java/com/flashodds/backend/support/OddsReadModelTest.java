@@ -0,0 +1,78 @@
+package com.flashodds.backend.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.SubscriptionFilter;
+
+class OddsReadModelTest {
+
+    private static final Instant STARTS_AT = Instant.parse("2025-02-09T23:30:00Z");
+
+    private final OddsReadModel model = OddsReadModel.of(7, List.of(
+            row("nhl:nyr-bos:flashbet:h2h:home", "nhl", "Rangers vs Bruins", "h2h", "FlashBet"),
+            row("nba:bos-den:northstar:spreads:home", "nba", "Celtics vs Nuggets", "spreads", "NorthStar"),
+            row("NBA:bos-den:flashbet:h2h:away", "nba", "Celtics vs Nuggets", "h2h", "FlashBet"),
+            row("nba:bos-den:flashbet:h2h:home", "nba", "Celtics vs Nuggets", "h2h", "FlashBet")));
+
+    @Test
+    void keepsRowsSortedByIdIgnoringCase() {
+        assertThat(model.version()).isEqualTo(7);
+        assertThat(model.rows())
+                .extracting(OddsRow::id)
+                .containsExactly(
+                        "NBA:bos-den:flashbet:h2h:away",
+                        "nba:bos-den:flashbet:h2h:home",
+                        "nba:bos-den:northstar:spreads:home",
+                        "nhl:nyr-bos:flashbet:h2h:home");
+        assertThat(model.select(SubscriptionFilter.ALL)).isSameAs(model.rows());
+    }
+
+    @Test
+    void intersectsDimensionsAndUnionsValues() {
+        var flashBetHoops = model.select(SubscriptionFilter.of(List.of("NBA"), List.of("h2h"), List.of("flashbet"), null));
+        var eitherSport = model.select(SubscriptionFilter.of(List.of("nhl", "nba"), List.of("h2h"), null, null));
+        var unknown = model.select(SubscriptionFilter.of(List.of("mlb"), null, null, null));
+
+        assertThat(flashBetHoops)
+                .extracting(OddsRow::id)
+                .containsExactly("NBA:bos-den:flashbet:h2h:away", "nba:bos-den:flashbet:h2h:home");
+        assertThat(eitherSport)
+                .extracting(OddsRow::id)
+                .containsExactly(
+                        "NBA:bos-den:flashbet:h2h:away",
+                        "nba:bos-den:flashbet:h2h:home",
+                        "nhl:nyr-bos:flashbet:h2h:home");
+        assertThat(unknown).isEmpty();
+    }
+
+    @Test
+    void pagesByIdSoCursorsSurviveRefreshes() {
+        var first = model.page(SubscriptionFilter.ALL, null, 2);
+        assertThat(first.rows()).extracting(OddsRow::id)
+                .containsExactly("NBA:bos-den:flashbet:h2h:away", "nba:bos-den:flashbet:h2h:home");
+        assertThat(first.nextAfter()).isEqualTo("nba:bos-den:flashbet:h2h:home");
+
+        // The next state drops a row from the first page and adds one before the cursor.
+        var refreshed = OddsReadModel.of(8, List.of(
+                row("mlb:nyy-bos:flashbet:h2h:home", "mlb", "Yankees vs Red Sox", "h2h", "FlashBet"),
+                row("nba:bos-den:flashbet:h2h:home", "nba", "Celtics vs Nuggets", "h2h", "FlashBet"),
+                row("nba:bos-den:northstar:spreads:home", "nba", "Celtics vs Nuggets", "spreads", "NorthStar"),
+                row("nhl:nyr-bos:flashbet:h2h:home", "nhl", "Rangers vs Bruins", "h2h", "FlashBet")));
+        var second = refreshed.page(SubscriptionFilter.ALL, first.nextAfter(), 2);
+
+        assertThat(second.rows()).extracting(OddsRow::id)
+                .containsExactly("nba:bos-den:northstar:spreads:home", "nhl:nyr-bos:flashbet:h2h:home");
+        assertThat(second.nextAfter()).isNull();
+    }
+
+    private OddsRow row(String id, String sport, String event, String market, String book) {
+        return new OddsRow(id, sport, event, market, null, 110, book, STARTS_AT, STARTS_AT, Map.of());
+    }
+}
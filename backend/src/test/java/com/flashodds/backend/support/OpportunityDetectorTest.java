@@ -0,0 +1,75 @@
+package com.flashodds.backend.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.flashodds.backend.domain.MarketSummary;
+import com.flashodds.backend.domain.MarketSummaryFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.domain.Opportunity;
+import com.flashodds.backend.domain.OpportunityEvent;
+import com.flashodds.backend.domain.SubscriptionFilter;
+
+class OpportunityDetectorTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-05T00:00:00Z");
+
+    @Test
+    void opensAndClosesAnArbitrageAsBestPricesMove() {
+        var detector = new OpportunityDetector(0.0, 1.0);
+        var events = detector.apply(snapshot(
+                summary("home", 110, 100, "FlashBet"),
+                summary("away", 105, -120, "NorthStar")));
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.type()).isEqualTo(OpportunityEvent.Type.OPEN);
+            assertThat(event.opportunity().kind()).isEqualTo(Opportunity.Kind.ARBITRAGE);
+            assertThat(event.opportunity().edge()).isPositive();
+            assertThat(event.opportunity().legs()).extracting(Opportunity.Leg::book)
+                    .containsExactly("FlashBet", "NorthStar");
+        });
+
+        var closed = detector.apply(delta(2, summary("away", -130, -120, "NorthStar")));
+
+        assertThat(closed).singleElement()
+                .satisfies(event -> assertThat(event.type()).isEqualTo(OpportunityEvent.Type.CLOSE));
+        assertThat(detector.open(SubscriptionFilter.ALL)).isEmpty();
+    }
+
+    @Test
+    void flagsPricesAboveTheNoVigConsensus() {
+        var detector = new OpportunityDetector(1.0, 0.02);
+        // Consensus -110/-110 is a fair 50%: +120 returns 10% in expectation, -105 loses.
+        var events = detector.apply(snapshot(
+                summary("home", 120, -110, "EdgePlay"),
+                summary("away", -105, -110, "FlashBet")));
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.opportunity().kind()).isEqualTo(Opportunity.Kind.POSITIVE_EV);
+            assertThat(event.opportunity().legs()).extracting(Opportunity.Leg::outcome).containsExactly("home");
+            assertThat(event.opportunity().edge()).isCloseTo(0.10, offset(1e-9));
+        });
+
+        var updated = detector.apply(delta(2, summary("home", 125, -110, "EdgePlay")));
+        assertThat(updated).singleElement()
+                .satisfies(event -> assertThat(event.type()).isEqualTo(OpportunityEvent.Type.UPDATE));
+    }
+
+    private static MarketSummaryFrame snapshot(MarketSummary... summaries) {
+        return new MarketSummaryFrame(OddsFrameType.SNAPSHOT, 1, NOW, List.of(summaries), List.of());
+    }
+
+    private static MarketSummaryFrame delta(long sequence, MarketSummary... summaries) {
+        return new MarketSummaryFrame(OddsFrameType.DELTA, sequence, NOW, List.of(summaries), List.of());
+    }
+
+    private static MarketSummary summary(String outcome, int best, int consensus, String book) {
+        return new MarketSummary("nba:celtics-vs-nuggets:h2h:" + outcome, "nba", "Celtics vs Nuggets", "h2h",
+                outcome, best, List.of(book), consensus, null, 3, NOW);
+    }
+}
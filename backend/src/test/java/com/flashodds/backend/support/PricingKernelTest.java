@@ -0,0 +1,87 @@
+package com.flashodds.backend.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.Test;
+
+import com.flashodds.backend.domain.OddsRow;
+
+class PricingKernelTest {
+
+    private final PricingKernel scalar = new ScalarPricingKernel();
+    private final PricingKernel vector = new VectorPricingKernel();
+
+    @Test
+    void vectorKernelMatchesScalarKernelExactly() {
+        var random = RandomGenerator.of("Xoshiro256PlusPlus");
+        // An odd length so every loop has a scalar tail.
+        int n = 1037;
+        var american = new int[n];
+        for (int i = 0; i < n; i++) {
+            american[i] = i % 17 == 0 ? 0 : random.nextBoolean() ? random.nextInt(100, 2000) : -random.nextInt(100, 2000);
+        }
+
+        var scalarImplied = new double[n];
+        var vectorImplied = new double[n];
+        scalar.impliedProbabilities(american, scalarImplied, n);
+        vector.impliedProbabilities(american, vectorImplied, n);
+        assertThat(vectorImplied).containsExactly(scalarImplied);
+
+        int markets = n / 2;
+        var outcomes = new double[][] {
+                Arrays.copyOfRange(scalarImplied, 0, markets),
+                Arrays.copyOfRange(scalarImplied, markets, 2 * markets)};
+        var scalarOut = new double[2][markets];
+        var vectorOut = new double[2][markets];
+        var scalarVig = new double[markets];
+        var vectorVig = new double[markets];
+        scalar.removeVig(outcomes, scalarOut, scalarVig, markets);
+        vector.removeVig(outcomes, vectorOut, vectorVig, markets);
+        assertThat(vectorOut[0]).containsExactly(scalarOut[0]);
+        assertThat(vectorOut[1]).containsExactly(scalarOut[1]);
+        assertThat(vectorVig).containsExactly(scalarVig);
+
+        var scalarFair = new int[markets];
+        var vectorFair = new int[markets];
+        scalar.fairAmerican(scalarOut[0], scalarFair, markets);
+        vector.fairAmerican(scalarOut[0], vectorFair, markets);
+        assertThat(vectorFair).containsExactly(scalarFair);
+    }
+
+    @Test
+    void removesTheVigFromEachBooksMarket() {
+        var now = Instant.parse("2025-06-05T00:00:00Z");
+        var rows = List.of(
+                row("nba:e1:flashbet:h2h:away", "FlashBet", -110, now),
+                row("nba:e1:flashbet:h2h:home", "FlashBet", -110, now),
+                row("nba:e1:northstar:h2h:home", "NorthStar", 150, now));
+
+        for (var kernel : List.of(scalar, vector)) {
+            var prices = FairPrices.of(rows, kernel);
+
+            var home = prices.quote(1);
+            assertThat(home.impliedProbability()).isCloseTo(110.0 / 210.0, offset(1e-12));
+            assertThat(home.noVigProbability()).isCloseTo(0.5, offset(1e-12));
+            assertThat(home.fairPrice()).isEqualTo(-100);
+            assertThat(home.overround()).isCloseTo(2 * 110.0 / 210.0 - 1, offset(1e-12));
+
+            // Alone in its market: implied only.
+            var lonely = prices.quote(2);
+            assertThat(lonely.impliedProbability()).isCloseTo(0.4, offset(1e-12));
+            assertThat(lonely.noVigProbability()).isNull();
+            assertThat(lonely.fairPrice()).isNull();
+        }
+        assertThat(ScalarPricingKernel.fair(0.4)).isEqualTo(150);
+    }
+
+    private static OddsRow row(String id, String book, int price, Instant now) {
+        return new OddsRow(id, "nba", "Celtics vs Nuggets", "h2h", null, price, book, now, now, Map.of());
+    }
+}
@@ -0,0 +1,167 @@
+package com.flashodds.backend.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.flashodds.backend.config.JacksonConfig;
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.OddsRowChange;
+
+class BinaryFrameWriterTest {
+
+    private static final Instant STARTS_AT = Instant.parse("2025-02-09T23:30:00Z");
+
+    @Test
+    void sendsDictionariesOnceThenHandlesOnly() throws Exception {
+        var writer = new BinaryFrameWriter();
+        var decoder = new Decoder();
+
+        var snapshot = new OddsFrame(OddsFrameType.SNAPSHOT, 100, Instant.now(), List.of(
+                upsert(row("nba:bos-den:flashbet:spreads:home", -110, -3.5)),
+                upsert(row("nba:bos-den:flashbet:spreads:away", -110, 3.5))));
+        decoder.read(writer.write(snapshot));
+
+        assertThat(decoder.rows).hasSize(2);
+        assertThat(decoder.rows.get("nba:bos-den:flashbet:spreads:home"))
+                .containsExactly("nba", "Boston Celtics vs Denver Nuggets", "spreads", "FlashBet", -110L, -3.5);
+
+        var move = new OddsFrame(OddsFrameType.DELTA, 101, Instant.now(), List.of(
+                upsert(row("nba:bos-den:flashbet:spreads:home", -105, -4.0)),
+                new OddsRowChange(OddsRowChange.Operation.REMOVE, null, "nba:bos-den:flashbet:spreads:away")));
+        var bytes = writer.write(move);
+        decoder.read(bytes);
+
+        assertThat(decoder.lastStringDefinitions).isZero();
+        assertThat(decoder.lastRowDefinitions).isZero();
+        assertThat(decoder.reset).isFalse();
+        assertThat(decoder.sequence).isEqualTo(101);
+        assertThat(decoder.rows).containsOnlyKeys("nba:bos-den:flashbet:spreads:home");
+        assertThat(decoder.rows.get("nba:bos-den:flashbet:spreads:home")).endsWith(-105L, -4.0);
+
+        var json = new JacksonConfig().objectMapper().writeValueAsBytes(new OddsMapper().toDto(move));
+        assertThat(bytes.length * 5).isLessThan(json.length);
+    }
+
+    @Test
+    void resetsDictionariesOnSnapshotsAndOnceTheyOutgrowTheBoard() {
+        var writer = new BinaryFrameWriter(16);
+        var decoder = new Decoder();
+        decoder.read(writer.write(new OddsFrame(OddsFrameType.SNAPSHOT, 1, Instant.now(), List.of(
+                upsert(row("nba:e0:flashbet:spreads:home", -110, -3.5))))));
+        assertThat(decoder.reset).isTrue();
+
+        // Every delta replaces the previous event with a new one, as a churning board does.
+        var resets = 0;
+        for (int i = 1; i <= 40; i++) {
+            decoder.read(writer.write(new OddsFrame(OddsFrameType.DELTA, 1 + i, Instant.now(), List.of(
+                    upsert(row("nba:e" + i + ":flashbet:spreads:home", -110 - i, -3.5)),
+                    new OddsRowChange(OddsRowChange.Operation.REMOVE, null, "nba:e" + (i - 1) + ":flashbet:spreads:home")))));
+            resets += decoder.reset ? 1 : 0;
+            assertThat(decoder.rows).containsOnlyKeys("nba:e" + i + ":flashbet:spreads:home");
+            assertThat(decoder.strings.size() + decoder.definitions.size()).isLessThan(40);
+        }
+        assertThat(resets).isPositive();
+
+        decoder.read(writer.write(new OddsFrame(OddsFrameType.SNAPSHOT, 50, Instant.now(), List.of(
+                upsert(row("nba:e40:flashbet:spreads:home", -150, -3.5))))));
+        assertThat(decoder.reset).isTrue();
+        assertThat(decoder.rows.get("nba:e40:flashbet:spreads:home")).endsWith(-150L, -3.5);
+    }
+
+    private OddsRowChange upsert(OddsRow row) {
+        return new OddsRowChange(OddsRowChange.Operation.UPSERT, row, row.id());
+    }
+
+    private OddsRow row(String id, int price, double line) {
+        return new OddsRow(id, "nba", "Boston Celtics vs Denver Nuggets", "spreads", line, price, "FlashBet",
+                STARTS_AT, Instant.now(), Map.of("source", "mock"));
+    }
+
+    // Minimal reference decoder for the wire format documented on BinaryFrameWriter.
+    private static final class Decoder {
+
+        private final Map<Long, String> strings = new HashMap<>(Map.of(0L, ""));
+        private final Map<Long, Object[]> definitions = new HashMap<>();
+        private final Map<String, List<Object>> rows = new HashMap<>();
+        private long sequence;
+        private boolean reset;
+        private int lastStringDefinitions;
+        private int lastRowDefinitions;
+
+        void read(byte[] bytes) {
+            var in = ByteBuffer.wrap(bytes);
+            var kind = in.get();
+            reset = (kind & 0x80) != 0;
+            if (reset) {
+                strings.keySet().removeIf(handle -> handle != 0L);
+                definitions.clear();
+            }
+            kind &= 0x7F;
+            sequence = unsigned(in);
+            unsigned(in);
+            if (kind == 1) {
+                rows.clear();
+            }
+            lastStringDefinitions = (int) unsigned(in);
+            for (int i = 0; i < lastStringDefinitions; i++) {
+                var handle = unsigned(in);
+                var utf8 = new byte[(int) unsigned(in)];
+                in.get(utf8);
+                strings.put(handle, new String(utf8, StandardCharsets.UTF_8));
+            }
+            lastRowDefinitions = (int) unsigned(in);
+            for (int i = 0; i < lastRowDefinitions; i++) {
+                var handle = unsigned(in);
+                definitions.put(handle, new Object[] {
+                        strings.get(unsigned(in)), strings.get(unsigned(in)), strings.get(unsigned(in)),
+                        strings.get(unsigned(in)), strings.get(unsigned(in)), signed(in) });
+            }
+            var changes = unsigned(in);
+            for (int i = 0; i < changes; i++) {
+                var op = in.get();
+                var definition = definitions.get(unsigned(in));
+                var id = (String) definition[0];
+                if (op == 2) {
+                    rows.remove(id);
+                    continue;
+                }
+                var flags = in.get();
+                Long price = (flags & 1) != 0 ? signed(in) : null;
+                Double line = (flags & 2) != 0 ? signed(in) / 100.0 : null;
+                var values = new ArrayList<Object>(List.of(definition[1], definition[2], definition[3], definition[4]));
+                values.add(price);
+                values.add(line);
+                rows.put(id, values);
+            }
+            assertThat(in.hasRemaining()).isFalse();
+        }
+
+        private static long unsigned(ByteBuffer in) {
+            long value = 0;
+            int shift = 0;
+            byte next;
+            do {
+                next = in.get();
+                value |= (long) (next & 0x7F) << shift;
+                shift += 7;
+            } while ((next & 0x80) != 0);
+            return value;
+        }
+
+        private static long signed(ByteBuffer in) {
+            var raw = unsigned(in);
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.flashodds.backend.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+
+import com.flashodds.backend.config.JacksonConfig;
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.OddsRowChange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+class OddsFrameEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OddsFrameEncoder encoder =
+            new OddsFrameEncoder(new OddsMapper(), new JacksonConfig().objectMapper(), meterRegistry);
+
+    @Test
+    void encodesEachFrameOnce() {
+        var frame = frame();
+
+        var first = encoder.encode(frame);
+        var second = encoder.encode(frame);
+
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.counter("flashodds.frames.encoded").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void sharesBytesAcrossTransports() {
+        var encoded = encoder.encode(frame());
+        var netty = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+
+        var json = encoded.json(netty);
+        var sse = encoded.serverSentEvent(DefaultDataBufferFactory.sharedInstance);
+
+        var jsonText = json.toString(StandardCharsets.UTF_8);
+        assertThat(jsonText).startsWith("{\"type\":\"delta\"").contains("\"op\":\"upsert\"");
+        assertThat(sse.toString(StandardCharsets.UTF_8)).isEqualTo("id:42\nevent:delta\ndata:" + jsonText + "\n\n");
+
+        DataBufferUtils.release(json);
+        DataBufferUtils.release(sse);
+    }
+
+    @Test
+    void encodesPatchesOnlyForClientsThatOptIn() {
+        var startsAt = Instant.parse("2025-02-09T23:30:00Z");
+        var before = new OddsRow("nba:test:flashbet:spreads:home", "nba", "Team A vs Team B", "spreads", -3.5, -110,
+                "FlashBet", startsAt, startsAt, Map.of());
+        var after = new OddsRow(before.id(), "nba", "Team A vs Team B", "spreads", -4.0, -110,
+                "FlashBet", startsAt, startsAt, Map.of());
+        var frame = new OddsFrame(OddsFrameType.DELTA, 43, Instant.now(), List.of(OddsRowChange.patch(before, after)));
+
+        var full = encoder.encode(frame, false);
+        var patched = encoder.encode(frame, true);
+
+        assertThat(encoder.encode(frame)).isSameAs(full);
+        assertThat(patched).isNotSameAs(full);
+        var fullJson = full.json(DefaultDataBufferFactory.sharedInstance);
+        var patchJson = patched.json(DefaultDataBufferFactory.sharedInstance);
+        assertThat(fullJson.toString(StandardCharsets.UTF_8))
+                .contains("\"op\":\"upsert\"", "\"row\":{")
+                .doesNotContain("\"fields\"");
+        assertThat(patchJson.toString(StandardCharsets.UTF_8))
+                .contains("\"op\":\"patch\"", "\"fields\":{\"line\":-4.0}")
+                .doesNotContain("\"row\":{");
+        var upsertsOnly = frame();
+        assertThat(encoder.encode(upsertsOnly, true)).isSameAs(encoder.encode(upsertsOnly));
+
+        DataBufferUtils.release(fullJson);
+        DataBufferUtils.release(patchJson);
+    }
+
+    private OddsFrame frame() {
+        var row = new OddsRow("nba:test:flashbet:h2h:home", "nba", "Team A vs Team B", "h2h", null, 110,
+                "FlashBet", Instant.now(), Instant.now(), Map.of());
+        return new OddsFrame(OddsFrameType.DELTA, 42, Instant.now(),
+                List.of(new OddsRowChange(OddsRowChange.Operation.UPSERT, row, row.id())));
+    }
+}
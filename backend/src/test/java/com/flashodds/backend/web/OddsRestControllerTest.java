@@ -1,5 +1,6 @@
 package com.flashodds.backend.web;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
@@ -9,15 +10,20 @@ import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import com.flashodds.backend.config.JacksonConfig;
 import com.flashodds.backend.domain.OddsFrame;
 import com.flashodds.backend.domain.OddsFrameType;
 import com.flashodds.backend.domain.OddsRow;
 import com.flashodds.backend.domain.OddsRowChange;
+import com.flashodds.backend.domain.RowHistory;
 import com.flashodds.backend.service.OddsService;
+import com.flashodds.backend.support.OddsReadModel;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import reactor.core.publisher.Mono;
 
 class OddsRestControllerTest {
@@ -27,6 +33,7 @@ class OddsRestControllerTest {
     }
 
     private OddsService oddsService;
+    private SimpleMeterRegistry meterRegistry;
     private WebTestClient client;
 
     @BeforeEach
@@ -34,12 +41,15 @@ class OddsRestControllerTest {
         oddsService = Mockito.mock(OddsService.class);
         when(oddsService.refreshNow()).thenReturn(Mono.empty());
         var mapper = new OddsMapper();
-        client = WebTestClient.bindToController(new OddsRestController(oddsService, mapper)).build();
+        meterRegistry = new SimpleMeterRegistry();
+        var responses = new OddsResponseCache(
+                new ConcurrentMapCacheManager(), new JacksonConfig().objectMapper(), meterRegistry);
+        client = WebTestClient.bindToController(new OddsRestController(oddsService, mapper, responses)).build();
     }
 
     @Test
     void returnsOddsList() {
-        when(oddsService.currentOdds()).thenReturn(Mono.just(List.of(sampleRow())));
+        when(oddsService.readModel()).thenReturn(Mono.just(OddsReadModel.of(3, List.of(sampleRow()))));
 
         client.get()
                 .uri("/api/odds")
@@ -50,9 +60,172 @@ class OddsRestControllerTest {
                 .jsonPath("$[0].id").isEqualTo("nba:test:flashbet:h2h:home");
     }
 
+    @Test
+    void filtersOddsListThroughReadModel() {
+        when(oddsService.readModel()).thenReturn(Mono.just(OddsReadModel.of(3, List.of(sampleRow()))));
+
+        client.get()
+                .uri("/api/odds?sport=NBA&book=NorthStar")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(0);
+        client.get()
+                .uri("/api/odds?sport=NBA&market=h2h&book=flashbet")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    void answersUnchangedStateWithNotModified() {
+        when(oddsService.readModel()).thenReturn(Mono.just(OddsReadModel.of(3, List.of(sampleRow()))));
+
+        var etag = client.get()
+                .uri("/api/odds?sport=nba")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"3\"")
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+        client.get()
+                .uri("/api/odds?sport=NBA")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo("nba:test:flashbet:h2h:home");
+        client.get()
+                .uri("/api/odds?sport=nba")
+                .header("If-None-Match", etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", etag)
+                .expectBody().isEmpty();
+
+        assertThat(meterRegistry.counter("flashodds.http.responses.encoded").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("flashodds.http.not-modified").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void pagesAndProjectsOddsList() {
+        var second = new OddsRow("nba:test:flashbet:h2h:away", "nba", "Team A vs Team B", "h2h", null, -130,
+                "FlashBet", Instant.now(), Instant.now(), Map.of("source", "mock"));
+        when(oddsService.readModel()).thenReturn(Mono.just(OddsReadModel.of(3, List.of(sampleRow(), second))));
+
+        var cursor = client.get()
+                .uri("/api/odds?limit=1&fields=price,book")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo("nba:test:flashbet:h2h:away")
+                .jsonPath("$[0].price").isEqualTo(-130)
+                .jsonPath("$[0].book").isEqualTo("FlashBet")
+                .jsonPath("$[0].extra").doesNotExist()
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(OddsRestController.NEXT_CURSOR_HEADER);
+
+        client.get()
+                .uri("/api/odds?limit=1&cursor=" + cursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(OddsRestController.NEXT_CURSOR_HEADER)
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo("nba:test:flashbet:h2h:home");
+        client.get()
+                .uri("/api/odds?fields=colour")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void pagesHistoriesLikeTheOddsList() {
+        var second = new OddsRow("nba:test:flashbet:h2h:away", "nba", "Team A vs Team B", "h2h", null, -130,
+                "FlashBet", Instant.now(), Instant.now(), Map.of());
+        when(oddsService.readModel()).thenReturn(Mono.just(OddsReadModel.of(3, List.of(sampleRow(), second))));
+        when(oddsService.histories(Mockito.anyList())).thenAnswer(invocation -> {
+            List<OddsRow> rows = invocation.getArgument(0);
+            return Mono.just(rows.stream()
+                    .map(row -> new RowHistory(row.id(), List.of(new RowHistory.Point(row.updatedAt(), row.price(), null))))
+                    .toList());
+        });
+
+        var cursor = client.get()
+                .uri("/api/odds/history?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo("nba:test:flashbet:h2h:away")
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(OddsRestController.NEXT_CURSOR_HEADER);
+
+        client.get()
+                .uri("/api/odds/history?limit=1&cursor=" + cursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(OddsRestController.NEXT_CURSOR_HEADER)
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo("nba:test:flashbet:h2h:home")
+                .jsonPath("$[0].points[0].price").isEqualTo(110);
+    }
+
+    @Test
+    void streamsOddsListAsNdjson() {
+        var second = new OddsRow("nba:test:flashbet:h2h:away", "nba", "Team A vs Team B", "h2h", null, -130,
+                "FlashBet", Instant.now(), Instant.now(), Map.of());
+        when(oddsService.readModel()).thenReturn(Mono.just(OddsReadModel.of(3, List.of(sampleRow(), second))));
+
+        var body = client.get()
+                .uri("/api/odds?fields=price")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(body.lines()).containsExactly(
+                "{\"id\":\"nba:test:flashbet:h2h:away\",\"price\":-130}",
+                "{\"id\":\"nba:test:flashbet:h2h:home\",\"price\":110}");
+    }
+
+    @Test
+    void keepsJsonAndNdjsonValidatorsApart() {
+        when(oddsService.readModel()).thenReturn(Mono.just(OddsReadModel.of(3, List.of(sampleRow()))));
+
+        var etag = client.get()
+                .uri("/api/odds")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("Vary", "Accept")
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+        client.get()
+                .uri("/api/odds")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .header("If-None-Match", etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"3-ndjson\"")
+                .expectHeader().valueEquals("Vary", "Accept");
+        client.get()
+                .uri("/api/odds")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .header("If-None-Match", "\"3-ndjson\"")
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
     @Test
     void returnsSnapshotFrame() {
-        var frame = new OddsFrame(OddsFrameType.SNAPSHOT, Instant.now(),
+        var frame = new OddsFrame(OddsFrameType.SNAPSHOT, 7, Instant.now(),
                 List.of(new OddsRowChange(OddsRowChange.Operation.UPSERT, sampleRow(), "nba:test:flashbet:h2h:home")));
         when(oddsService.latestSnapshot()).thenReturn(Mono.just(frame));
 
@@ -61,7 +234,8 @@ class OddsRestControllerTest {
                 .exchange()
                 .expectStatus().isOk()
                 .expectBody()
-                .jsonPath("$.type").isEqualTo("snapshot");
+                .jsonPath("$.type").isEqualTo("snapshot")
+                .jsonPath("$.seq").isEqualTo(7);
     }
 
     @Test
@@ -0,0 +1,210 @@
+package com.flashodds.backend.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.socket.HandshakeInfo;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flashodds.backend.config.JacksonConfig;
+import com.flashodds.backend.domain.OddsFrame;
+import com.flashodds.backend.domain.OddsFrameType;
+import com.flashodds.backend.domain.OddsRow;
+import com.flashodds.backend.domain.OddsRowChange;
+import com.flashodds.backend.domain.SubscriptionFilter;
+import com.flashodds.backend.service.OddsService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+class OddsWebSocketHandlerTest {
+
+    static {
+        System.setProperty("net.bytebuddy.experimental", "true");
+    }
+
+    private static final Instant STARTS_AT = Instant.parse("2025-06-05T00:30:00Z");
+    private static final List<String> BOARD = List.of(
+            "nba:bos-den:flashbet:h2h:home",
+            "nba:bos-den:flashbet:spreads:home",
+            "nhl:nyr-bos:flashbet:h2h:home",
+            "nhl:nyr-bos:flashbet:spreads:home");
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final Sinks.Many<WebSocketMessage> inbound = Sinks.many().unicast().onBackpressureBuffer();
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private OddsWebSocketHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        var snapshot = new OddsFrame(OddsFrameType.SNAPSHOT, 7, Instant.now(), BOARD.stream()
+                .map(id -> new OddsRowChange(OddsRowChange.Operation.UPSERT, row(id), id))
+                .toList());
+        var oddsService = Mockito.mock(OddsService.class);
+        when(oddsService.latestSnapshot()).thenReturn(Mono.just(snapshot));
+        when(oddsService.streamFrames(any(SubscriptionFilter.class), isNull())).thenAnswer(invocation -> {
+            SubscriptionFilter filter = invocation.getArgument(0);
+            return Flux.just(filter.apply(snapshot)).concatWith(Flux.never());
+        });
+        var meterRegistry = new SimpleMeterRegistry();
+        handler = new OddsWebSocketHandler(oddsService,
+                new OddsFrameEncoder(new OddsMapper(), objectMapper, meterRegistry), objectMapper, meterRegistry);
+    }
+
+    @Test
+    void unsubscribingTheLastValueOfADimensionFollowsNothing() throws Exception {
+        var connection = handler.handle(session("/ws/odds?sport=nba")).subscribe();
+
+        assertThat(lastSnapshot()).containsExactlyInAnyOrder(BOARD.get(0), BOARD.get(1));
+        send("{\"type\":\"unsubscribe\",\"sports\":[\"nba\"]}");
+
+        assertThat(sent).hasSize(2);
+        assertThat(lastSnapshot()).isEmpty();
+        connection.dispose();
+    }
+
+    @Test
+    void subscribingToAnotherDimensionAddsToTheStream() throws Exception {
+        var connection = handler.handle(session("/ws/odds?sport=nba")).subscribe();
+
+        send("{\"type\":\"subscribe\",\"markets\":[\"h2h\"]}");
+
+        assertThat(sent).hasSize(2);
+        assertThat(lastSnapshot()).containsExactlyInAnyOrder(BOARD.get(0), BOARD.get(1), BOARD.get(2));
+
+        // Removing h2h keeps the NBA filter, whose markets were never listed, and drops the h2h one.
+        send("{\"type\":\"unsubscribe\",\"markets\":[\"h2h\"]}");
+        assertThat(lastSnapshot()).containsExactlyInAnyOrder(BOARD.get(0), BOARD.get(1));
+        connection.dispose();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", BinaryFrameWriter.PROTOCOL})
+    void survivesASocketThatStopsTakingWritesPastSeveralHeartbeats(String protocol) {
+        var time = VirtualTimeScheduler.getOrSet();
+        try {
+            var stalled = new StalledSend();
+            var session = session("/ws/odds?sport=nba", protocol.isEmpty() ? null : protocol);
+            Mockito.doAnswer(invocation -> stalled.attach(invocation.getArgument(0))).when(session).send(any());
+            var failure = new AtomicReference<Throwable>();
+            var connection = handler.handle(session).subscribe(null, failure::set);
+
+            assertThat(stalled.received).isEqualTo(1);
+            time.advanceTimeBy(Duration.ofSeconds(90));
+            assertThat(failure.get()).isNull();
+            assertThat(connection.isDisposed()).isFalse();
+
+            // Once the socket drains, heartbeats resume instead of the missed ones piling up.
+            stalled.request(10);
+            time.advanceTimeBy(Duration.ofSeconds(20));
+            assertThat(stalled.received).isBetween(2, 3);
+            assertThat(failure.get()).isNull();
+            connection.dispose();
+        } finally {
+            VirtualTimeScheduler.reset();
+        }
+    }
+
+    private void send(String command) {
+        inbound.tryEmitNext(new WebSocketMessage(WebSocketMessage.Type.TEXT,
+                DefaultDataBufferFactory.sharedInstance.wrap(command.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private List<String> lastSnapshot() throws Exception {
+        var frame = objectMapper.readTree(sent.getLast());
+        assertThat(frame.get("type").asText()).isEqualTo("snapshot");
+        var ids = new ArrayList<String>();
+        frame.get("rows").forEach(change -> ids.add(change.get("id").asText()));
+        return ids;
+    }
+
+    private WebSocketSession session(String path) {
+        return session(path, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private WebSocketSession session(String path, String protocol) {
+        var session = Mockito.mock(WebSocketSession.class);
+        when(session.getHandshakeInfo()).thenReturn(
+                new HandshakeInfo(URI.create("ws://localhost" + path), new HttpHeaders(), Mono.empty(), protocol));
+        when(session.bufferFactory()).thenReturn(DefaultDataBufferFactory.sharedInstance);
+        when(session.receive()).thenReturn(inbound.asFlux());
+        when(session.textMessage(any())).thenAnswer(invocation -> new WebSocketMessage(WebSocketMessage.Type.TEXT,
+                DefaultDataBufferFactory.sharedInstance.wrap(((String) invocation.getArgument(0)).getBytes(StandardCharsets.UTF_8))));
+        when(session.binaryMessage(any())).thenAnswer(invocation -> new WebSocketMessage(WebSocketMessage.Type.BINARY,
+                ((Function<DataBufferFactory, DataBuffer>) invocation.getArgument(0))
+                        .apply(DefaultDataBufferFactory.sharedInstance)));
+        when(session.send(any())).thenAnswer(invocation -> Flux.from((Publisher<WebSocketMessage>) invocation.getArgument(0))
+                .doOnNext(message -> sent.add(message.getPayloadAsText()))
+                .then());
+        return session;
+    }
+
+    /** A socket that takes the first message and then nothing until asked. */
+    private static final class StalledSend extends BaseSubscriber<WebSocketMessage> {
+
+        private volatile int received;
+        private Sinks.Empty<Void> done;
+
+        Mono<Void> attach(Publisher<WebSocketMessage> messages) {
+            done = Sinks.empty();
+            messages.subscribe(this);
+            return done.asMono();
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            request(1);
+        }
+
+        @Override
+        protected void hookOnNext(WebSocketMessage message) {
+            received++;
+        }
+
+        @Override
+        protected void hookOnError(Throwable error) {
+            done.tryEmitError(error);
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            done.tryEmitEmpty();
+        }
+    }
+
+    private static OddsRow row(String id) {
+        var parts = id.split(":");
+        return new OddsRow(id, parts[0], parts[1], parts[3], null, 110, "FlashBet", STARTS_AT, STARTS_AT, Map.of());
+    }
+}
@@ -12,13 +12,15 @@ export type OddsRow = {
 };
 
 export type OddsRowChange = {
-  op: "upsert" | "remove";
+  op: "upsert" | "patch" | "remove";
   id: string;
   row: OddsRow | null;
+  fields?: Partial<Pick<OddsRow, "price" | "line" | "startsAt" | "updatedAt" | "extra">>;
 };
 
 export type OddsFrame = {
   type: "snapshot" | "delta";
+  seq: number;
   ts: string;
   rows: OddsRowChange[];
 };